@@ -9,6 +9,7 @@ import com.sun.javafx.event.EventUtil;
 import javafx.animation.Animation;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleBooleanProperty;
@@ -30,6 +31,12 @@ import javafx.util.Duration;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.BiConsumer;
 
 
 /**
@@ -55,6 +62,11 @@ public abstract class AbstractIntelliHints<T> implements IntelliHints<T> {
     private ObjectProperty<Duration> _showHintsDelayProperty;
     private List<KeyCombination> _showHintsKeyStrokes;
 
+    // the pending asynchronous hints request. Only the latest one will be applied.
+    private CompletableFuture<List<T>> _hintsFuture;
+
+    private static ExecutorService _hintsExecutor;
+
     /**
      * Creates an IntelliHints object for a given TextInputControl such as TextField or TextArea.
      *
@@ -168,19 +180,114 @@ public abstract class AbstractIntelliHints<T> implements IntelliHints<T> {
             });
         }
 
-        if (updateHints(getContext())) {
-            TextInputControl control = getTextInputControl();
-            Bounds bounds = control.getBoundsInLocal();
-            Point2D d = control.localToScreen(bounds.getMinX(), bounds.getMaxY());
-            if (!_popup.isShowing()) {
-                _popup.show(control, d.getX(), d.getY());
-            }
+        cancelHintsFuture(); // latest wins, a pending result must not replace the hints computed below
+        Object context = getContext();
+        final CompletableFuture<List<T>> future = updateHintsAsync(context);
+        if (future != null) {
+            _hintsFuture = future;
+            future.whenComplete(new BiConsumer<List<T>, Throwable>() {
+                @Override
+                public void accept(final List<T> hints, final Throwable throwable) {
+                    Platform.runLater(new Runnable() {
+                        @Override
+                        public void run() {
+                            if (_hintsFuture != future) {
+                                return; // a newer request has been made or the popup was hidden
+                            }
+                            _hintsFuture = null;
+                            if (throwable == null && _popup != null && applyHints(hints)) {
+                                showPopupAtControl();
+                            }
+                            else {
+                                hideHintsPopup();
+                            }
+                        }
+                    });
+                }
+            });
+            return;
+        }
+
+        if (updateHints(context)) {
+            showPopupAtControl();
         }
         else {
             hideHintsPopup();
         }
     }
 
+    private void showPopupAtControl() {
+        TextInputControl control = getTextInputControl();
+        Bounds bounds = control.getBoundsInLocal();
+        Point2D d = control.localToScreen(bounds.getMinX(), bounds.getMaxY());
+        if (!_popup.isShowing()) {
+            _popup.show(control, d.getX(), d.getY());
+        }
+    }
+
+    /**
+     * Computes the hints asynchronously. If this method returns a future, {@link #showHints()} will not call {@link
+     * #updateHints(Object)}. Instead, when the future completes, the hints are passed to {@link #applyHints(List)} on
+     * the JavaFX application thread and the popup is shown if it returns true. If the user keeps typing, each new
+     * request cancels the pending one and the result of a cancelled request is discarded, so only the hints of the
+     * latest context are shown.
+     * <p>
+     * The default implementation returns null which means the hints are updated synchronously by {@link
+     * #updateHints(Object)}. Subclasses whose hints are slow to compute can override it, for example:
+     * <pre>{@code
+     * protected CompletableFuture<List<String>> updateHintsAsync(final Object context) {
+     *     return CompletableFuture.supplyAsync(() -> lookUp(context), getHintsExecutor());
+     * }
+     * }</pre>
+     * This method is called on the JavaFX application thread, so the context should be read here, not in the
+     * background thread.
+     *
+     * @param context the context returned from {@link #getContext()}
+     * @return the future of the hints. Null to update the hints synchronously.
+     */
+    protected CompletableFuture<List<T>> updateHintsAsync(Object context) {
+        return null;
+    }
+
+    /**
+     * Applies the hints computed by {@link #updateHintsAsync(Object)}. It is called on the JavaFX application thread.
+     * The default implementation does nothing but returns true if there is any hint. Subclasses that support {@link
+     * #updateHintsAsync(Object)} should override it to show the hints.
+     *
+     * @param hints the hints
+     * @return true if the hints popup should be shown. Otherwise false.
+     */
+    protected boolean applyHints(List<T> hints) {
+        return hints != null && !hints.isEmpty();
+    }
+
+    /**
+     * Gets the executor shared by all the IntelliHints to compute the hints in the background threads. The threads are
+     * daemon threads.
+     *
+     * @return the executor.
+     */
+    protected static synchronized Executor getHintsExecutor() {
+        if (_hintsExecutor == null) {
+            _hintsExecutor = Executors.newCachedThreadPool(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "IntelliHints"); //NON-NLS
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return _hintsExecutor;
+    }
+
+    private void cancelHintsFuture() {
+        if (_hintsFuture != null) {
+            _hintsFuture.cancel(true);
+            _hintsFuture = null;
+        }
+    }
+
     /**
      * Gets the context for hints. The context is the information that IntelliHints needs in order to generate a list of
      * hints. For example, for code-completion, the context is current word the cursor is on. for file completion, the
@@ -213,6 +320,7 @@ public abstract class AbstractIntelliHints<T> implements IntelliHints<T> {
      * Hides the hints popup.
      */
     protected void hideHintsPopup() {
+        cancelHintsFuture();
         if (_popup != null) {
             _popup.hide();
             _popup = null;
@@ -5,13 +5,23 @@
  */
 package jidefx.scene.control.hints;
 
+import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.IntegerProperty;
+import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.scene.Node;
+import javafx.scene.control.Label;
 import javafx.scene.control.ListView;
 import javafx.scene.control.TextInputControl;
 import javafx.scene.input.KeyCombination;
 import javafx.scene.layout.BorderPane;
 
+import java.text.MessageFormat;
+import java.util.List;
+import java.util.Locale;
+
 
 /**
  * {@code AbstractListIntelliHints} extends AbstractIntelliHints and further implement most of the methods in
@@ -20,6 +30,11 @@ import javafx.scene.layout.BorderPane;
  */
 public abstract class AbstractListIntelliHints<T> extends AbstractIntelliHints<T> {
     private ListView<T> _listView;
+    private BorderPane _hintsPane;
+    private Label _moreLabel;
+    private ObservableList<T> _items;
+    private IntegerProperty _maximumHintCountProperty;
+    private BooleanProperty _moreIndicatorVisibleProperty;
 
     /**
      * Creates a Completion for a TextInputControl
@@ -36,9 +51,23 @@ public abstract class AbstractListIntelliHints<T> extends AbstractIntelliHints<T
         _listView = createListView();
         pane.setCenter(_listView);
 
+        _hintsPane = pane;
+        _moreLabel = null;
+        _items = null;
         return pane;
     }
 
+    /**
+     * Creates the label below the list to indicate how many hints are not shown because of the maximum hint count.
+     *
+     * @return the label.
+     */
+    protected Label createMoreLabel() {
+        Label label = new Label();
+        label.getStyleClass().add("more-hints"); //NON-NLS
+        return label;
+    }
+
     /**
      * Creates the list to display the hints. By default, we create a ListView using the code below.
      *
@@ -65,11 +94,140 @@ public abstract class AbstractListIntelliHints<T> extends AbstractIntelliHints<T
      * @param hints the list of hints
      */
     protected void setAvailableHints(ObservableList<T> hints) {
+        setAvailableHints(hints, hints == null ? 0 : hints.size());
+    }
+
+    /**
+     * Sets the available hints. If {@link #getMaximumHintCount()} is not negative, only that many hints are shown and
+     * the ListView keeps the same items list, which is only updated if the hints are different. An updateHints
+     * implementation can stop looking for more hints once it has found more than the maximum hint count, and pass -1
+     * as the total count if it doesn't know how many there are.
+     *
+     * @param hints      the list of hints
+     * @param totalCount the total number of hints, which could be more than the hints in the list. -1 if unknown.
+     */
+    protected void setAvailableHints(List<T> hints, int totalCount) {
         if (getListView() == null) {
             return;
         }
         resetSelection();
-        getListView().setItems(hints);
+        int maximumHintCount = getMaximumHintCount();
+        if (hints == null || maximumHintCount < 0) {
+            getListView().setItems(hints == null || hints instanceof ObservableList ? (ObservableList<T>) hints : FXCollections.observableList(hints));
+            updateMoreIndicator(0);
+            return;
+        }
+
+        List<T> shownHints = hints.size() > maximumHintCount ? hints.subList(0, maximumHintCount) : hints;
+        if (_items == null) {
+            _items = FXCollections.observableArrayList();
+        }
+        if (getListView().getItems() != _items) {
+            getListView().setItems(_items);
+        }
+        if (!_items.equals(shownHints)) {
+            _items.setAll(shownHints);
+        }
+        if (totalCount >= 0) {
+            updateMoreIndicator(totalCount - shownHints.size());
+        }
+        else {
+            updateMoreIndicator(hints.size() > shownHints.size() ? -1 : 0);
+        }
+    }
+
+    private void updateMoreIndicator(int more) {
+        if (_hintsPane == null) {
+            return;
+        }
+        if (more == 0 || !isMoreIndicatorVisible()) {
+            _hintsPane.setBottom(null);
+            return;
+        }
+        if (_moreLabel == null) {
+            _moreLabel = createMoreLabel();
+        }
+        _moreLabel.setText(more > 0 ? MessageFormat.format(getResourceString("IntelliHints.more"), more) : getResourceString("IntelliHints.moreUnknown"));
+        _hintsPane.setBottom(_moreLabel);
+    }
+
+    /**
+     * Gets the localized string from resource bundle. Subclass can override it to provide its own string. Available
+     * keys are defined in hints.properties that begin with "IntelliHints.".
+     *
+     * @param key the resource key
+     * @return the localized string.
+     */
+    protected String getResourceString(String key) {
+        return Resource.getResourceBundle(Locale.getDefault()).getString(key);
+    }
+
+    public IntegerProperty maximumHintCountProperty() {
+        if (_maximumHintCountProperty == null) {
+            _maximumHintCountProperty = new SimpleIntegerProperty(this, "maximumHintCount", -1); //NON-NLS
+        }
+        return _maximumHintCountProperty;
+    }
+
+    /**
+     * Gets the maximum number of hints shown in the list.
+     *
+     * @return the maximum hint count. -1 means no limit.
+     */
+    public int getMaximumHintCount() {
+        return maximumHintCountProperty().get();
+    }
+
+    /**
+     * Sets the maximum number of hints shown in the list. Since the user can only see a few rows in the popup, it
+     * bounds the work done on each keystroke when a short text such as a single letter matches a lot of hints. By
+     * default, it is -1 which means no limit.
+     *
+     * @param maximumHintCount the maximum hint count. -1 means no limit.
+     */
+    public void setMaximumHintCount(int maximumHintCount) {
+        maximumHintCountProperty().set(maximumHintCount);
+    }
+
+    public BooleanProperty moreIndicatorVisibleProperty() {
+        if (_moreIndicatorVisibleProperty == null) {
+            _moreIndicatorVisibleProperty = new SimpleBooleanProperty(this, "moreIndicatorVisible", true); //NON-NLS
+        }
+        return _moreIndicatorVisibleProperty;
+    }
+
+    /**
+     * Checks if a label showing how many hints are not shown is displayed below the list.
+     *
+     * @return true if the label is displayed when some hints are not shown.
+     */
+    public boolean isMoreIndicatorVisible() {
+        return moreIndicatorVisibleProperty().get();
+    }
+
+    /**
+     * Sets whether to display a label such as "20 more..." below the list when some hints are not shown because of
+     * the maximum hint count. By default, it's true.
+     *
+     * @param moreIndicatorVisible true to display the label.
+     */
+    public void setMoreIndicatorVisible(boolean moreIndicatorVisible) {
+        moreIndicatorVisibleProperty().set(moreIndicatorVisible);
+    }
+
+    /**
+     * Shows the hints computed by {@link #updateHintsAsync(Object)} in the list.
+     *
+     * @param hints the hints
+     * @return true if there is any hint.
+     */
+    @Override
+    protected boolean applyHints(List<T> hints) {
+        if (hints == null) {
+            return false;
+        }
+        setAvailableHints(hints instanceof ObservableList ? (ObservableList<T>) hints : FXCollections.observableList(hints));
+        return !hints.isEmpty();
     }
 
     private void resetSelection() {
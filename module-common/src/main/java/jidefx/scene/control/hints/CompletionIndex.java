@@ -0,0 +1,317 @@
+/*
+ * @(#)CompletionIndex.java 10/18/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+package jidefx.scene.control.hints;
+
+import jidefx.utils.CommonUtils;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code CompletionIndex} is an immutable index of completion items sorted by their strings, so that the items that
+ * start with a prefix are found by binary search. The strings are compared ignoring the case unless the index is
+ * created as case sensitive.
+ * <p>
+ * Because it never changes after it is created, one index can be shared by many {@link ListDataIntelliHints}, for
+ * example all the fields of a form that complete the same customer names. When the data is refreshed, create a new
+ * index and set it to an {@code ObjectProperty} that the {@link ListDataIntelliHints#completionIndexProperty()} of
+ * those fields are bound to. The fields will switch to the new index at once.
+ * <p>
+ * An index can optionally carry usage data, see {@link #withUsage(Map, List)}. If so, the recently used items and then
+ * the frequently used items are found before the other items.
+ *
+ * @param <T> the type of the completion items.
+ */
+@SuppressWarnings("Convert2Lambda")
+public class CompletionIndex<T> {
+    private final boolean _caseSensitive;
+    private final Object[] _items; // sorted
+    private final String[] _texts; // sorted
+    private final List<T> _itemList;
+
+    // usage data, in the sorted order
+    private final int[] _frequencies;
+    private final int[] _recentRanks;
+    private final int[] _usedPositions;
+
+    /**
+     * Creates a case insensitive index. The string of an item is its {@code toString()}.
+     *
+     * @param items the completion items.
+     */
+    public CompletionIndex(Collection<? extends T> items) {
+        this(items, false);
+    }
+
+    /**
+     * Creates an index. The string of an item is its {@code toString()}.
+     *
+     * @param items         the completion items.
+     * @param caseSensitive true to compare the strings with the case. Otherwise the case is ignored.
+     */
+    public CompletionIndex(Collection<? extends T> items, final boolean caseSensitive) {
+        _caseSensitive = caseSensitive;
+        final Object[] unsorted = items.toArray();
+        final String[] texts = new String[unsorted.length];
+        Integer[] order = new Integer[unsorted.length];
+        for (int i = 0; i < unsorted.length; i++) {
+            texts[i] = unsorted[i] == null ? "" : unsorted[i].toString();
+            order[i] = i;
+        }
+        Arrays.sort(order, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer o1, Integer o2) {
+                int result = caseSensitive ? texts[o1].compareTo(texts[o2]) : CommonUtils.compareIgnoreCase(texts[o1], texts[o2]);
+                return result != 0 ? result : o1 - o2; // keep the original order of the same strings
+            }
+        });
+        _items = new Object[unsorted.length];
+        _texts = new String[unsorted.length];
+        for (int i = 0; i < unsorted.length; i++) {
+            _items[i] = unsorted[order[i]];
+            _texts[i] = texts[order[i]];
+        }
+        _itemList = createItemList(_items);
+        _frequencies = null;
+        _recentRanks = null;
+        _usedPositions = null;
+    }
+
+    private CompletionIndex(CompletionIndex<T> index, int[] frequencies, int[] recentRanks, int[] usedPositions) {
+        _caseSensitive = index._caseSensitive;
+        _items = index._items;
+        _texts = index._texts;
+        _itemList = index._itemList;
+        _frequencies = frequencies;
+        _recentRanks = recentRanks;
+        _usedPositions = usedPositions;
+    }
+
+    private static <T> List<T> createItemList(final Object[] items) {
+        return new AbstractList<T>() {
+            @SuppressWarnings("unchecked")
+            @Override
+            public T get(int index) {
+                return (T) items[index];
+            }
+
+            @Override
+            public int size() {
+                return items.length;
+            }
+        };
+    }
+
+    /**
+     * Creates an index that has the same items as this index and the usage data.
+     *
+     * @param frequencies  the number of times each item was used. The items that are not in the map were never used.
+     *                     It could be null.
+     * @param recentlyUsed the recently used items, the most recent first. It could be null.
+     * @return the new index.
+     */
+    public CompletionIndex<T> withUsage(Map<? super T, Integer> frequencies, List<? extends T> recentlyUsed) {
+        int[] frequencyArray = new int[_items.length];
+        int[] recentRanks = new int[_items.length];
+        Arrays.fill(recentRanks, Integer.MAX_VALUE);
+        Map<Object, Integer> ranks = new HashMap<>();
+        if (recentlyUsed != null) {
+            for (int i = recentlyUsed.size() - 1; i >= 0; i--) {
+                ranks.put(recentlyUsed.get(i), i);
+            }
+        }
+        int used = 0;
+        int[] usedPositions = new int[16];
+        for (int i = 0; i < _items.length; i++) {
+            Integer frequency = frequencies == null ? null : frequencies.get(_items[i]);
+            Integer rank = ranks.get(_items[i]);
+            if (frequency != null && frequency > 0 || rank != null) {
+                frequencyArray[i] = frequency == null ? 0 : frequency;
+                recentRanks[i] = rank == null ? Integer.MAX_VALUE : rank;
+                if (used == usedPositions.length) {
+                    usedPositions = Arrays.copyOf(usedPositions, used * 2);
+                }
+                usedPositions[used++] = i;
+            }
+        }
+        return new CompletionIndex<>(this, frequencyArray, recentRanks, Arrays.copyOf(usedPositions, used));
+    }
+
+    /**
+     * Checks if the strings are compared with the case.
+     *
+     * @return true if the index is case sensitive.
+     */
+    public boolean isCaseSensitive() {
+        return _caseSensitive;
+    }
+
+    /**
+     * Gets the number of items.
+     *
+     * @return the number of items.
+     */
+    public int size() {
+        return _items.length;
+    }
+
+    /**
+     * Gets all the items in the sorted order.
+     *
+     * @return an unmodifiable list of the items.
+     */
+    public List<T> getItems() {
+        return _itemList;
+    }
+
+    /**
+     * Counts the items whose strings start with the prefix.
+     *
+     * @param prefix        the prefix
+     * @param caseSensitive true to match the case. Otherwise the case is ignored.
+     * @return the number of items.
+     */
+    public int count(String prefix, boolean caseSensitive) {
+        int from = lowerBound(prefix);
+        int to = upperBound(prefix, from);
+        if (caseSensitive == _caseSensitive) {
+            return to - from;
+        }
+        int count = 0;
+        for (int i = caseSensitive ? from : 0, end = caseSensitive ? to : _texts.length; i < end; i++) {
+            if (matches(_texts[i], prefix, caseSensitive)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Finds the items whose strings start with the prefix.
+     *
+     * @param prefix        the prefix
+     * @param caseSensitive true to match the case. Otherwise the case is ignored.
+     * @return the items. If the case sensitivity is the same as the index and there is no usage data, it is a view of
+     *         the sorted items so nothing is copied.
+     */
+    public List<T> find(String prefix, boolean caseSensitive) {
+        return find(prefix, caseSensitive, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Finds the items whose strings start with the prefix. If the index has usage data, the recently used items come
+     * first, then the frequently used items, then the others in the sorted order.
+     *
+     * @param prefix        the prefix
+     * @param caseSensitive true to match the case. Otherwise the case is ignored.
+     * @param limit         the maximum number of items to find
+     * @return the items.
+     */
+    public List<T> find(String prefix, boolean caseSensitive, int limit) {
+        int from = lowerBound(prefix);
+        int to = upperBound(prefix, from);
+        if (caseSensitive == _caseSensitive && _usedPositions == null) {
+            return _itemList.subList(from, to - from > limit ? from + limit : to);
+        }
+
+        // if the index ignores the case but the case should be matched, the matching items are a subset of the range.
+        // Otherwise all the items have to be checked.
+        int start = caseSensitive || caseSensitive == _caseSensitive ? from : 0;
+        int end = caseSensitive || caseSensitive == _caseSensitive ? to : _texts.length;
+        List<T> items = new ArrayList<>();
+        boolean[] added = null;
+        if (_usedPositions != null && limit > 0) {
+            // the used items first
+            List<Integer> used = new ArrayList<>();
+            int first = Arrays.binarySearch(_usedPositions, start);
+            for (int i = first < 0 ? -first - 1 : first; i < _usedPositions.length && _usedPositions[i] < end; i++) {
+                if (caseSensitive == _caseSensitive || matches(_texts[_usedPositions[i]], prefix, caseSensitive)) {
+                    used.add(_usedPositions[i]);
+                }
+            }
+            Collections.sort(used, new Comparator<Integer>() {
+                @Override
+                public int compare(Integer o1, Integer o2) {
+                    int result = Integer.compare(_recentRanks[o1], _recentRanks[o2]);
+                    if (result == 0) {
+                        result = Integer.compare(_frequencies[o2], _frequencies[o1]);
+                    }
+                    return result != 0 ? result : o1 - o2;
+                }
+            });
+            added = new boolean[end - start];
+            for (int i = 0; i < used.size() && items.size() < limit; i++) {
+                items.add(_itemList.get(used.get(i)));
+                added[used.get(i) - start] = true;
+            }
+        }
+
+        for (int i = start; i < end && items.size() < limit; i++) {
+            if (added != null && added[i - start]) {
+                continue;
+            }
+            if (caseSensitive == _caseSensitive || matches(_texts[i], prefix, caseSensitive)) {
+                items.add(_itemList.get(i));
+            }
+        }
+        return items;
+    }
+
+    private static boolean matches(String text, String prefix, boolean caseSensitive) {
+        return caseSensitive ? text.startsWith(prefix) : CommonUtils.startsWithIgnoreCase(text, prefix);
+    }
+
+    private int comparePrefix(String text, String prefix) {
+        if (!_caseSensitive) {
+            return CommonUtils.comparePrefixIgnoreCase(text, prefix);
+        }
+        for (int i = 0, length = Math.min(text.length(), prefix.length()); i < length; i++) {
+            char c1 = text.charAt(i);
+            char c2 = prefix.charAt(i);
+            if (c1 != c2) {
+                return c1 - c2;
+            }
+        }
+        return text.length() >= prefix.length() ? 0 : -1;
+    }
+
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = _texts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparePrefix(_texts[mid], prefix) < 0) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int upperBound(String prefix, int from) {
+        int low = from;
+        int high = _texts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparePrefix(_texts[mid], prefix) <= 0) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
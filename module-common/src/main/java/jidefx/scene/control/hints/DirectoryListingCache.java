@@ -0,0 +1,330 @@
+/*
+ * @(#)DirectoryListingCache.java 10/18/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+package jidefx.scene.control.hints;
+
+import jidefx.utils.CommonUtils;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code DirectoryListingCache} caches the entries of the recently listed directories for {@link FileIntelliHints}.
+ * A directory is read in one pass of a {@link DirectoryStream} that gets the name and the type of each entry, and the
+ * names are sorted ignoring the case so that the entries starting with a prefix are found by binary search.
+ * <p>
+ * A cached directory is watched by a {@link WatchService} and dropped from the cache as soon as an entry is created or
+ * deleted in it. If the directory cannot be watched, the listing expires after {@link #getUnwatchedTimeout()}
+ * milliseconds instead. When there are more than {@link #getMaximumSize()} directories in the cache, the least
+ * recently used one is evicted.
+ */
+@SuppressWarnings("Convert2Lambda")
+public class DirectoryListingCache {
+    private static DirectoryListingCache _sharedInstance;
+
+    private final Map<Path, Listing> _listings;
+    private final Map<FileSystem, WatchService> _watchServices = new HashMap<>();
+    private int _maximumSize;
+    private long _unwatchedTimeout = 2000;
+
+    private static final Comparator<String> NAME_COMPARATOR = new Comparator<String>() {
+        @Override
+        public int compare(String o1, String o2) {
+            int result = CommonUtils.compareIgnoreCase(o1, o2);
+            return result != 0 ? result : o1.compareTo(o2);
+        }
+    };
+
+    /**
+     * The entries of a directory.
+     */
+    public static class Listing {
+        private final String[] _names;
+        private final BitSet _directories;
+        private final long _time = System.currentTimeMillis();
+        private WatchKey _watchKey;
+
+        Listing(String[] names, BitSet directories) {
+            _names = names;
+            _directories = directories;
+        }
+
+        /**
+         * Gets the number of entries.
+         *
+         * @return the number of entries.
+         */
+        public int size() {
+            return _names.length;
+        }
+
+        /**
+         * Finds the names of the entries that start with the prefix ignoring the case.
+         *
+         * @param prefix     the prefix. Null or empty to find all the entries.
+         * @param folderOnly true to find the directories only.
+         * @return the names in the order of the names ignoring the case.
+         */
+        public List<String> find(String prefix, boolean folderOnly) {
+            int from = 0;
+            int to = _names.length;
+            if (prefix != null && prefix.length() > 0) {
+                from = bound(prefix, 0, false);
+                to = bound(prefix, from, true);
+            }
+            List<String> names = new ArrayList<>(to - from);
+            for (int i = from; i < to; i++) {
+                if (!folderOnly || _directories.get(i)) {
+                    names.add(_names[i]);
+                }
+            }
+            return names;
+        }
+
+        private int bound(String prefix, int low, boolean upper) {
+            int high = _names.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                int result = CommonUtils.comparePrefixIgnoreCase(_names[mid], prefix);
+                if (result < 0 || upper && result == 0) {
+                    low = mid + 1;
+                }
+                else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Creates a DirectoryListingCache.
+     *
+     * @param maximumSize the maximum number of directories in the cache.
+     */
+    public DirectoryListingCache(int maximumSize) {
+        _maximumSize = maximumSize;
+        _listings = new LinkedHashMap<Path, Listing>(16, 0.75f, true) {
+            private static final long serialVersionUID = 4315082339405837616L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Path, Listing> eldest) {
+                if (size() > getMaximumSize()) {
+                    cancel(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Gets the cache shared by all the FileIntelliHints by default.
+     *
+     * @return the shared cache.
+     */
+    public static synchronized DirectoryListingCache getSharedInstance() {
+        if (_sharedInstance == null) {
+            _sharedInstance = new DirectoryListingCache(32);
+        }
+        return _sharedInstance;
+    }
+
+    /**
+     * Gets the maximum number of directories in the cache.
+     *
+     * @return the maximum size.
+     */
+    public int getMaximumSize() {
+        return _maximumSize;
+    }
+
+    /**
+     * Sets the maximum number of directories in the cache.
+     *
+     * @param maximumSize the maximum size.
+     */
+    public void setMaximumSize(int maximumSize) {
+        _maximumSize = maximumSize;
+    }
+
+    /**
+     * Gets how long in milliseconds the listing of a directory that cannot be watched is kept.
+     *
+     * @return the timeout in milliseconds.
+     */
+    public long getUnwatchedTimeout() {
+        return _unwatchedTimeout;
+    }
+
+    /**
+     * Sets how long in milliseconds the listing of a directory that cannot be watched is kept.
+     *
+     * @param unwatchedTimeout the timeout in milliseconds.
+     */
+    public void setUnwatchedTimeout(long unwatchedTimeout) {
+        _unwatchedTimeout = unwatchedTimeout;
+    }
+
+    /**
+     * Gets the listing of the directory, from the cache if possible.
+     *
+     * @param dir the directory
+     * @return the listing. Null if the directory cannot be read.
+     */
+    public Listing getListing(Path dir) {
+        dir = dir.toAbsolutePath().normalize();
+        synchronized (_listings) {
+            Listing listing = _listings.get(dir);
+            if (listing != null && (listing._watchKey != null && listing._watchKey.isValid()
+                    || System.currentTimeMillis() - listing._time < getUnwatchedTimeout())) {
+                return listing;
+            }
+        }
+
+        // watch before reading so that a change made while the directory is being read is not lost
+        WatchKey watchKey = watch(dir);
+        Listing listing = readListing(dir);
+        if (listing == null) {
+            if (watchKey != null) {
+                watchKey.cancel();
+            }
+            return null;
+        }
+        listing._watchKey = watchKey;
+        synchronized (_listings) {
+            Listing old = _listings.put(dir, listing);
+            if (old != null && old._watchKey != watchKey) { // registering the same directory again returns the same key
+                cancel(old);
+            }
+            if (watchKey != null && !watchKey.isValid()) {
+                _listings.remove(dir); // the directory changed while it was being read
+            }
+        }
+        return listing;
+    }
+
+    /**
+     * Drops the listing of the directory from the cache.
+     *
+     * @param dir the directory
+     */
+    public void invalidate(Path dir) {
+        synchronized (_listings) {
+            Listing listing = _listings.remove(dir.toAbsolutePath().normalize());
+            if (listing != null) {
+                cancel(listing);
+            }
+        }
+    }
+
+    /**
+     * Drops all the listings from the cache.
+     */
+    public void clear() {
+        synchronized (_listings) {
+            for (Listing listing : _listings.values()) {
+                cancel(listing);
+            }
+            _listings.clear();
+        }
+    }
+
+    private static Listing readListing(Path dir) {
+        List<String> names = new ArrayList<>();
+        Map<String, Boolean> directories = new HashMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(dir)) {
+            for (Path entry : stream) {
+                String name = entry.getFileName().toString();
+                boolean directory;
+                try {
+                    // it is one more file system call per entry because DirectoryStream doesn't expose the file
+                    // type, but it is only done when the listing is read rather than each time the hints are updated
+                    directory = Files.readAttributes(entry, BasicFileAttributes.class).isDirectory();
+                }
+                catch (IOException e) {
+                    directory = Files.isDirectory(entry, LinkOption.NOFOLLOW_LINKS);
+                }
+                names.add(name);
+                directories.put(name, directory);
+            }
+        }
+        catch (IOException | SecurityException e) {
+            return null;
+        }
+
+        String[] sortedNames = names.toArray(new String[names.size()]);
+        Arrays.sort(sortedNames, NAME_COMPARATOR);
+        BitSet bits = new BitSet(sortedNames.length);
+        for (int i = 0; i < sortedNames.length; i++) {
+            if (directories.get(sortedNames[i])) {
+                bits.set(i);
+            }
+        }
+        return new Listing(sortedNames, bits);
+    }
+
+    private WatchKey watch(Path dir) {
+        try {
+            WatchService watchService;
+            synchronized (_watchServices) {
+                watchService = _watchServices.get(dir.getFileSystem());
+                if (watchService == null) {
+                    watchService = dir.getFileSystem().newWatchService();
+                    _watchServices.put(dir.getFileSystem(), watchService);
+                    startWatching(watchService);
+                }
+            }
+            return dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE);
+        }
+        catch (IOException | UnsupportedOperationException | SecurityException e) {
+            return null;
+        }
+    }
+
+    private void startWatching(final WatchService watchService) {
+        Thread thread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    while (true) {
+                        WatchKey key = watchService.take();
+                        key.pollEvents();
+                        key.cancel();
+                        invalidate((Path) key.watchable());
+                    }
+                }
+                catch (InterruptedException | ClosedWatchServiceException e) {
+                    // stop watching
+                }
+            }
+        }, "DirectoryListingCache"); //NON-NLS
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private static void cancel(Listing listing) {
+        if (listing._watchKey != null) {
+            listing._watchKey.cancel();
+        }
+    }
+}
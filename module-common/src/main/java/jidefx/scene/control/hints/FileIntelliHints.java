@@ -13,6 +13,10 @@ import javafx.util.Callback;
 
 import java.io.File;
 import java.io.FilenameFilter;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.util.Iterator;
+import java.util.List;
 
 /**
  * {@code FileIntelliHints} is a concrete implementation of {@link IntelliHints}. It
@@ -24,6 +28,7 @@ public class FileIntelliHints extends AbstractListIntelliHints<String> {
     private boolean _folderOnly = false;
     private boolean _showFullPath = true;
     private FilenameFilter _filter;
+    private DirectoryListingCache _directoryListingCache = DirectoryListingCache.getSharedInstance();
 
     public FileIntelliHints(TextInputControl comp) {
         super(comp);
@@ -81,23 +86,25 @@ public class FileIntelliHints extends AbstractListIntelliHints<String> {
         if (index == -1)
             return false;
         final String dir = s.substring(0, index + 1);
-        final String prefix = index == s.length() - 1 ? null : s.substring(index + 1).toLowerCase();
-        String[] files = new File(dir).list(new FilenameFilter() {
-            public boolean accept(File dir, String name) {
-                if (isFolderOnly()) {
-                    if (new File(dir.getAbsolutePath() + File.separator + name).isFile()) {
-                        return false;
-                    }
-                }
-                boolean result = prefix == null || name.toLowerCase().startsWith(prefix);
-                if (result && getFilter() != null) {
-                    return getFilter().accept(dir, name);
+        final String prefix = index == s.length() - 1 ? null : s.substring(index + 1);
+        DirectoryListingCache.Listing listing;
+        try {
+            listing = getDirectoryListingCache().getListing(Paths.get(dir));
+        }
+        catch (InvalidPathException e) {
+            listing = null;
+        }
+        List<String> files = listing == null ? null : listing.find(prefix, isFolderOnly());
+        if (files != null && getFilter() != null) {
+            File dirFile = new File(dir);
+            for (Iterator<String> iterator = files.iterator(); iterator.hasNext(); ) {
+                if (!getFilter().accept(dirFile, iterator.next())) {
+                    iterator.remove();
                 }
-                return result;
             }
-        });
+        }
 
-        if (files == null || files.length == 0 || (files.length == 1 && files[0].equalsIgnoreCase(prefix))) {
+        if (files == null || files.size() == 0 || (files.size() == 1 && files.get(0).equalsIgnoreCase(prefix))) {
             setAvailableHints(null);
             return false;
         }
@@ -117,7 +124,7 @@ public class FileIntelliHints extends AbstractListIntelliHints<String> {
                     }
                 });
             }
-            setAvailableHints(FXCollections.<String>observableArrayList(files));
+            setAvailableHints(FXCollections.observableList(files), files.size());
             return true;
         }
     }
@@ -141,6 +148,25 @@ public class FileIntelliHints extends AbstractListIntelliHints<String> {
         getTextInputControl().insertText(caretPosition, selectedValue.substring(prefixLength));
     }
 
+    /**
+     * Gets the cache of the directory listings. By default, it is {@link DirectoryListingCache#getSharedInstance()}
+     * which is shared by all the FileIntelliHints.
+     *
+     * @return the cache of the directory listings.
+     */
+    public DirectoryListingCache getDirectoryListingCache() {
+        return _directoryListingCache;
+    }
+
+    /**
+     * Sets the cache of the directory listings.
+     *
+     * @param directoryListingCache the cache of the directory listings.
+     */
+    public void setDirectoryListingCache(DirectoryListingCache directoryListingCache) {
+        _directoryListingCache = directoryListingCache;
+    }
+
     /**
      * Get FilenameFilter configured to this hints.
      * <p>
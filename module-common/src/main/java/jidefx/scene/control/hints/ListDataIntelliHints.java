@@ -5,7 +5,11 @@
  */
 package jidefx.scene.control.hints;
 
+import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
 import javafx.scene.control.TextInputControl;
 
 import java.util.AbstractList;
@@ -16,12 +20,50 @@ import java.util.List;
  * {@code ListDataIntelliHints} is a concrete implementation of {@link IntelliHints}. It provides hints from a
  * known list of data. It is similar to auto complete text field except the list will be filtered depending on what user
  * types in so far.
+ * <p>
+ * The completion list is sorted once into a {@link CompletionIndex} and the hints that start with the typed text are
+ * found by binary search, so the hints are shown in the sorted order. Instead of a completion list, an index shared by
+ * many fields can be set using {@link #completionIndexProperty()}. If a subclass overrides {@link #compare(Object,
+ * Object)}, the whole completion list is scanned using its compare method and the hints are shown in the original
+ * order, unless the subclass overrides {@link #isIndexable()} to return true.
+ * <p>
+ * If the completion list is an {@link ObservableList}, the index is built again after the list changes. If a list that
+ * is not observable is changed, call {@link #invalidateIndex()} so the index is built again.
  */
+@SuppressWarnings("Convert2Lambda")
 public class ListDataIntelliHints<T> extends AbstractListIntelliHints<T> {
 
+    /**
+     * If {@link #compare(Object, Object)} is overridden in the class. The method is protected, so the classes are
+     * searched from the subclass up to ListDataIntelliHints. The result is cached per class.
+     */
+    private static final ClassValue<Boolean> COMPARE_OVERRIDDEN = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            for (Class<?> c = type; c != null && c != ListDataIntelliHints.class; c = c.getSuperclass()) {
+                try {
+                    c.getDeclaredMethod("compare", Object.class, Object.class); //NON-NLS
+                    return true; // a generic override compare(Object, T) has a bridge method with the erased types
+                }
+                catch (NoSuchMethodException e) {
+                    // not overridden in this class
+                }
+                catch (SecurityException e) {
+                    return true; // can't tell, scan to be safe
+                }
+            }
+            return false;
+        }
+    };
+
     private boolean _caseSensitive = false;
     private List<T> _completionList;
 
+    // the prefix index of the completion list
+    private CompletionIndex<T> _index;
+    private ObjectProperty<CompletionIndex<T>> _completionIndexProperty;
+    private ListChangeListener<T> _completionListChangeListener;
+
     public ListDataIntelliHints(TextInputControl comp, List<T> completionList) {
         super(comp);
         setCompletionList(completionList);
@@ -33,12 +75,52 @@ public class ListDataIntelliHints<T> extends AbstractListIntelliHints<T> {
     }
 
     /**
-     * Gets the list of hints.
+     * Creates a ListDataIntelliHints that gets the hints from a completion index which could be shared with other
+     * ListDataIntelliHints.
+     *
+     * @param comp            the control where the intelliHints will be installed to.
+     * @param completionIndex the completion index.
+     */
+    public ListDataIntelliHints(TextInputControl comp, CompletionIndex<T> completionIndex) {
+        super(comp);
+        setCompletionIndex(completionIndex);
+    }
+
+    /**
+     * Gets the list of hints. If the hints come from {@link #getCompletionIndex()}, it is the items of the index.
      *
      * @return the list of hints.
      */
     public List<T> getCompletionList() {
-        return _completionList;
+        CompletionIndex<T> completionIndex = getCompletionIndex();
+        return completionIndex != null ? completionIndex.getItems() : _completionList;
+    }
+
+    public ObjectProperty<CompletionIndex<T>> completionIndexProperty() {
+        if (_completionIndexProperty == null) {
+            _completionIndexProperty = new SimpleObjectProperty<>(this, "completionIndex"); //NON-NLS
+        }
+        return _completionIndexProperty;
+    }
+
+    /**
+     * Gets the completion index.
+     *
+     * @return the completion index. Null if the hints come from the completion list.
+     */
+    public CompletionIndex<T> getCompletionIndex() {
+        return completionIndexProperty().get();
+    }
+
+    /**
+     * Sets the completion index. If set, the hints come from the index instead of the completion list. The index is
+     * immutable, so it can be shared by many ListDataIntelliHints. To switch all of them to a new index at once, bind
+     * their completion index properties to the same {@code ObjectProperty} and set the new index to it.
+     *
+     * @param completionIndex the completion index.
+     */
+    public void setCompletionIndex(CompletionIndex<T> completionIndex) {
+        completionIndexProperty().set(completionIndex);
     }
 
     /**
@@ -47,7 +129,64 @@ public class ListDataIntelliHints<T> extends AbstractListIntelliHints<T> {
      * @param completionList a new list of hints.
      */
     public void setCompletionList(List<T> completionList) {
+        setCompletionListImpl(completionList);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void setCompletionListImpl(List<T> completionList) {
+        if (_completionList instanceof ObservableList && _completionListChangeListener != null) {
+            ((ObservableList<T>) _completionList).removeListener(_completionListChangeListener);
+        }
         _completionList = completionList;
+        if (_completionList instanceof ObservableList) {
+            if (_completionListChangeListener == null) {
+                _completionListChangeListener = new ListChangeListener<T>() {
+                    @Override
+                    public void onChanged(Change<? extends T> c) {
+                        resetIndex(); // the index will be built again when the hints are updated next time
+                    }
+                };
+            }
+            ((ObservableList<T>) _completionList).addListener(_completionListChangeListener);
+        }
+        resetIndex();
+        buildIndex();
+    }
+
+    private void resetIndex() {
+        _index = null;
+    }
+
+    /**
+     * Drops the index of the completion list so it is built again when the hints are updated next time. The index is
+     * built again automatically when the completion list is set or when an {@link ObservableList} changes. Call this
+     * method after changing a completion list that is not observable, or the array passed to {@link
+     * #setCompletionList(Object[])}.
+     */
+    public void invalidateIndex() {
+        resetIndex();
+    }
+
+    /**
+     * Sorts the completion list into the index. The strings are compared ignoring the case, or with the case if {@link
+     * #isCaseSensitive()} is true.
+     */
+    private void buildIndex() {
+        if (_completionList != null && isIndexable()) {
+            _index = new CompletionIndex<>(_completionList, isCaseSensitive());
+        }
+    }
+
+    /**
+     * Checks if the completion list can be sorted into an index to find the hints by binary search. The index finds
+     * the hints that start with the typed text, which is what {@link #compare(Object, Object)} does by default. By
+     * default it returns false if {@link #compare(Object, Object)} is overridden, so the compare method is called for
+     * each hint. A subclass whose compare method still matches the hints by prefix can override it to return true.
+     *
+     * @return true to use the index. False to scan the completion list using {@link #compare(Object, Object)}.
+     */
+    protected boolean isIndexable() {
+        return !COMPARE_OVERRIDDEN.get(getClass());
     }
 
     /**
@@ -57,7 +196,7 @@ public class ListDataIntelliHints<T> extends AbstractListIntelliHints<T> {
      */
     public void setCompletionList(T[] completionList) {
         final T[] list = completionList;
-        _completionList = new AbstractList<T>() {
+        setCompletionListImpl(new AbstractList<T>() {
             @Override
             public T get(int index) {
                 return list[index];
@@ -67,24 +206,49 @@ public class ListDataIntelliHints<T> extends AbstractListIntelliHints<T> {
             public int size() {
                 return list.length;
             }
-        };
+        });
     }
 
     public boolean updateHints(Object context) {
         if (context == null) {
             return false;
         }
+        CompletionIndex<T> index = getCompletionIndex();
+        if (index == null) {
+            if (_index == null) {
+                buildIndex();
+            }
+            index = _index;
+        }
+        if (index != null && isIndexable()) {
+            String prefix = context.toString();
+            int count = index.count(prefix, isCaseSensitive());
+            int maximumHintCount = getMaximumHintCount();
+            // usually a view of the sorted hints, nothing is copied
+            List<T> hints = index.find(prefix, isCaseSensitive(), maximumHintCount >= 0 ? maximumHintCount : Integer.MAX_VALUE);
+            setAvailableHints(FXCollections.observableList(hints), count);
+            return count > 0;
+        }
+
+        int maximumHintCount = getMaximumHintCount();
         List<T> possibleHints = new ArrayList<>();
         for (T o : getCompletionList()) {
-            if (compare(context, o)) possibleHints.add(o);
+            if (compare(context, o)) {
+                possibleHints.add(o);
+                if (maximumHintCount >= 0 && possibleHints.size() > maximumHintCount) {
+                    break; // we know there are more hints than the list can show
+                }
+            }
         }
 
-        setAvailableHints(FXCollections.observableArrayList(possibleHints));
+        boolean more = maximumHintCount >= 0 && possibleHints.size() > maximumHintCount;
+        setAvailableHints(FXCollections.observableArrayList(possibleHints), more ? -1 : possibleHints.size());
         return possibleHints.size() > 0;
     }
 
     /**
-     * Compares the context with the object in the completion list.
+     * Compares the context with the object in the completion list. It is only called if {@link #isIndexable()} returns
+     * false.
      *
      * @param context the context returned from {@link #getContext()} method.
      * @param o       the object in the completion list.
@@ -121,7 +285,10 @@ public class ListDataIntelliHints<T> extends AbstractListIntelliHints<T> {
      * @param caseSensitive true or false.
      */
     public void setCaseSensitive(boolean caseSensitive) {
-        _caseSensitive = caseSensitive;
+        if (_caseSensitive != caseSensitive) {
+            _caseSensitive = caseSensitive;
+            resetIndex();
+        }
     }
 
 }
\ No newline at end of file
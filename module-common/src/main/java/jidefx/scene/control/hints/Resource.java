@@ -0,0 +1,20 @@
+/*
+ * @(#)Resource.java 10/18/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+
+package jidefx.scene.control.hints;
+
+import java.util.Locale;
+import java.util.ResourceBundle;
+
+class Resource {
+    static final String BASENAME = "jidefx.scene.control.hints.hints"; //NON-NLS
+
+    static final ResourceBundle RB = ResourceBundle.getBundle(BASENAME);
+
+    public static ResourceBundle getResourceBundle(Locale locale) {
+        return ResourceBundle.getBundle(BASENAME, locale);
+    }
+}
@@ -66,6 +66,7 @@ public class ChoiceBoxSearchable<T> extends Searchable<T> {
                 @Override
                 public void changed(ObservableValue<? extends ObservableList<T>> observable, ObservableList<T> oldValue, ObservableList<T> newValue) {
                     hidePopup();
+                    resetPrefixIndex();
                 }
             };
         }
@@ -127,6 +128,11 @@ public class ChoiceBoxSearchable<T> extends Searchable<T> {
         return ((ChoiceBox<T>) _node).getItems().get(index);
     }
 
+    @Override
+    protected SearchablePrefixIndex<T> createPrefixIndex() {
+        return new SearchablePrefixIndex<>(this, ((ChoiceBox<T>) _node).getItems());
+    }
+
     @Override
     protected String convertElementToString(T element) {
         ChoiceBox<T> choiceBox = (ChoiceBox<T>) _node;
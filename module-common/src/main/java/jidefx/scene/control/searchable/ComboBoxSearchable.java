@@ -66,6 +66,7 @@ public class ComboBoxSearchable<T> extends Searchable<T> {
                 @Override
                 public void changed(ObservableValue<? extends ObservableList<T>> observable, ObservableList<T> oldValue, ObservableList<T> newValue) {
                     hidePopup();
+                    resetPrefixIndex();
                 }
             };
         }
@@ -110,6 +111,10 @@ public class ComboBoxSearchable<T> extends Searchable<T> {
     @Override
     protected void setSelectedIndex(int index, boolean incremental) {
         ComboBox<T> comboBox = (ComboBox<T>) _node;
+        if (index == -1) {
+            comboBox.getSelectionModel().clearSelection();
+            return;
+        }
         comboBox.getSelectionModel().select(getElementAt(index));
         if (isShowPopup()) {
             comboBox.show();
@@ -126,6 +131,11 @@ public class ComboBoxSearchable<T> extends Searchable<T> {
         return ((ComboBox<T>) _node).getItems().get(index);
     }
 
+    @Override
+    protected SearchablePrefixIndex<T> createPrefixIndex() {
+        return new SearchablePrefixIndex<>(this, ((ComboBox<T>) _node).getItems());
+    }
+
     @Override
     protected String convertElementToString(T element) {
         ComboBox<T> comboBox = (ComboBox<T>) _node;
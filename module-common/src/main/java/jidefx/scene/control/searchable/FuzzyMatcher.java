@@ -0,0 +1,223 @@
+/*
+ * @(#)FuzzyMatcher.java 10/18/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+
+package jidefx.scene.control.searchable;
+
+import jidefx.utils.CommonUtils;
+
+import java.util.Arrays;
+
+/**
+ * {@code FuzzyMatcher} matches a text if all the characters of the searching text appear in the text in the same
+ * order, not necessarily next to each other, like the "go to file" feature of the IDEs. For example, "fzm" matches
+ * "FuzzyMatcher".
+ * <p>
+ * A matching text is also given a score by {@link #score(CharSequence)} so that the better matches can be shown first.
+ * The score is higher when the matched characters are next to each other, when they are at the beginning of a word
+ * (after a space, a punctuation, or at a lower to upper case change), and when the match starts early in the text.
+ */
+public class FuzzyMatcher extends SearchMatcher {
+    /**
+     * The score returned by {@link #score(CharSequence)} if the text doesn't match.
+     */
+    public static final int NO_MATCH = Integer.MIN_VALUE;
+
+    private static final int SCORE_MATCH = 16;
+    private static final int BONUS_CONSECUTIVE = 10;
+    private static final int BONUS_BOUNDARY = 8;
+    private static final int BONUS_FIRST_CHAR_BOUNDARY = 8;
+    private static final int PENALTY_GAP = 1;
+    private static final int MAX_PENALTY_LEADING = 10;
+
+    private final char[] _pattern;
+    private final boolean _caseSensitive;
+
+    /**
+     * Creates a FuzzyMatcher.
+     *
+     * @param searchingText the searching text
+     * @param caseSensitive true to match the case. Otherwise the case is ignored.
+     */
+    public FuzzyMatcher(String searchingText, boolean caseSensitive) {
+        _pattern = fold(searchingText, caseSensitive);
+        _caseSensitive = caseSensitive;
+    }
+
+    @Override
+    public boolean matches(CharSequence text) {
+        return indexOfEnd(text) != -1;
+    }
+
+    private char charAt(CharSequence text, int index) {
+        char c = text.charAt(index);
+        return _caseSensitive ? c : CommonUtils.foldCase(c);
+    }
+
+    /**
+     * Finds the end of the first occurrence of the pattern as a subsequence.
+     *
+     * @return the index after the last matched character. -1 if not matched.
+     */
+    private int indexOfEnd(CharSequence text) {
+        int p = 0;
+        for (int i = 0, length = text.length(); i < length && p < _pattern.length; i++) {
+            if (charAt(text, i) == _pattern[p]) {
+                p++;
+                if (p == _pattern.length) {
+                    return i + 1;
+                }
+            }
+        }
+        return p == _pattern.length ? 0 : -1;
+    }
+
+    /**
+     * Scores the text.
+     *
+     * @param text the text to be checked
+     * @return the score. The higher the better. {@link #NO_MATCH} if the text doesn't match.
+     */
+    public int score(CharSequence text) {
+        int end = indexOfEnd(text);
+        if (end == -1) {
+            return NO_MATCH;
+        }
+        if (_pattern.length == 0) {
+            return 0;
+        }
+
+        // go backward from the end to find the shortest window that still contains the pattern
+        int start = end;
+        for (int p = _pattern.length - 1; p >= 0; start--) {
+            if (charAt(text, start - 1) == _pattern[p]) {
+                p--;
+            }
+        }
+
+        int score = -Math.min(start, MAX_PENALTY_LEADING) * PENALTY_GAP;
+        boolean previousMatched = false;
+        for (int i = start, p = 0; i < end; i++) {
+            if (p < _pattern.length && charAt(text, i) == _pattern[p]) {
+                score += SCORE_MATCH;
+                if (previousMatched) {
+                    score += BONUS_CONSECUTIVE;
+                }
+                if (isBoundary(text, i)) {
+                    score += p == 0 ? BONUS_BOUNDARY + BONUS_FIRST_CHAR_BOUNDARY : BONUS_BOUNDARY;
+                }
+                previousMatched = true;
+                p++;
+            }
+            else {
+                score -= PENALTY_GAP;
+                previousMatched = false;
+            }
+        }
+        return score;
+    }
+
+    private static boolean isBoundary(CharSequence text, int index) {
+        if (index == 0) {
+            return true;
+        }
+        char previous = text.charAt(index - 1);
+        char c = text.charAt(index);
+        if (!Character.isLetterOrDigit(previous)) {
+            return Character.isLetterOrDigit(c);
+        }
+        return Character.isLowerCase(previous) && Character.isUpperCase(c)
+                || !Character.isDigit(previous) && Character.isDigit(c);
+    }
+
+    /**
+     * Keeps the best K matches in a bounded min-heap so the memory doesn't grow with the number of elements. A match is
+     * encoded in a long with the score in the high bits so that the larger long is the better match, and the smaller
+     * index wins if the scores are the same.
+     */
+    static final class TopK {
+        private final long[] _heap;
+        private int _size;
+
+        TopK(int k) {
+            _heap = new long[Math.max(k, 0)];
+        }
+
+        static long encode(int score, int index) {
+            return ((long) score << 32) | (Integer.MAX_VALUE - index);
+        }
+
+        static int decodeIndex(long match) {
+            return Integer.MAX_VALUE - (int) (match & 0xFFFFFFFFL);
+        }
+
+        void offer(long match) {
+            if (_size < _heap.length) {
+                _heap[_size] = match;
+                siftUp(_size++);
+            }
+            else if (_size > 0 && match > _heap[0]) {
+                _heap[0] = match;
+                siftDown(0);
+            }
+        }
+
+        void offerAll(long[] matches) {
+            for (long match : matches) {
+                offer(match);
+            }
+        }
+
+        /**
+         * Gets the best K matches.
+         *
+         * @return the matches, the best first.
+         */
+        long[] toSortedArray() {
+            long[] matches = Arrays.copyOf(_heap, _size);
+            Arrays.sort(matches);
+            for (int i = 0, j = matches.length - 1; i < j; i++, j--) {
+                long match = matches[i];
+                matches[i] = matches[j];
+                matches[j] = match;
+            }
+            return matches;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(_heap, _size);
+        }
+
+        private void siftUp(int index) {
+            long match = _heap[index];
+            while (index > 0) {
+                int parent = (index - 1) >>> 1;
+                if (_heap[parent] <= match) {
+                    break;
+                }
+                _heap[index] = _heap[parent];
+                index = parent;
+            }
+            _heap[index] = match;
+        }
+
+        private void siftDown(int index) {
+            long match = _heap[index];
+            int half = _size >>> 1;
+            while (index < half) {
+                int child = 2 * index + 1;
+                if (child + 1 < _size && _heap[child + 1] < _heap[child]) {
+                    child++;
+                }
+                if (match <= _heap[child]) {
+                    break;
+                }
+                _heap[index] = _heap[child];
+                index = child;
+            }
+            _heap[index] = match;
+        }
+    }
+}
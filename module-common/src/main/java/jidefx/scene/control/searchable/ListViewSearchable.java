@@ -64,6 +64,7 @@ public class ListViewSearchable<T> extends Searchable<T> {
                 @Override
                 public void changed(ObservableValue<? extends ObservableList<T>> observable, ObservableList<T> oldValue, ObservableList<T> newValue) {
                     hidePopup();
+                    resetPrefixIndex();
                 }
             };
         }
@@ -97,12 +98,21 @@ public class ListViewSearchable<T> extends Searchable<T> {
             listView.scrollTo(index);
         }
         else {
-            listView.getSelectionModel().clearSelection(index);
-            listView.getSelectionModel().select(index);
-            listView.scrollTo(index);
+            listView.getSelectionModel().clearSelection();
+            if (index != -1) {
+                listView.getSelectionModel().select(index);
+                listView.scrollTo(index);
+            }
         }
     }
 
+    @Override
+    protected void addSelectedIndex(int index) {
+        ListView<T> listView = (ListView<T>) _node;
+        listView.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        listView.getSelectionModel().select(index);
+    }
+
     @Override
     protected int getElementCount() {
         return ((ListView<T>) _node).getItems().size();
@@ -113,6 +123,11 @@ public class ListViewSearchable<T> extends Searchable<T> {
         return ((ListView<T>) _node).getItems().get(index);
     }
 
+    @Override
+    protected SearchablePrefixIndex<T> createPrefixIndex() {
+        return new SearchablePrefixIndex<>(this, ((ListView<T>) _node).getItems());
+    }
+
     @Override
     protected String convertElementToString(T element) {
         return element != null ? element.toString() : "";
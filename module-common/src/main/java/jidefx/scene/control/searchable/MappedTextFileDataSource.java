@@ -0,0 +1,179 @@
+/*
+ * @(#)MappedTextFileDataSource.java 10/18/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+
+package jidefx.scene.control.searchable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * {@code MappedTextFileDataSource} is a {@link SearchDataSource} whose elements are the lines of a text file. The file
+ * is memory-mapped, so only the pages being searched are read from the disk and decoded. When it is created, the file
+ * is scanned once to find where the lines start. The line terminator could be "\n" or "\r\n".
+ * <p>
+ * The charset must encode '\n' as the single byte 10 and never use the byte 10 for anything else, such as UTF-8 or
+ * ISO-8859-1. The file should not be changed while it is mapped.
+ */
+@SuppressWarnings("Convert2Lambda")
+public class MappedTextFileDataSource implements SearchDataSource, Closeable {
+    private static final int REGION_SIZE = 1 << 30;
+
+    private final FileChannel _channel;
+    private final MappedByteBuffer[] _regions;
+    private final Charset _charset;
+    private final int _pageSize;
+    private long[] _lineStarts; // the last one is the end of the file
+    private int _lineCount;
+
+    /**
+     * Creates a data source for a UTF-8 text file.
+     *
+     * @param file the text file
+     * @throws IOException if the file cannot be read.
+     */
+    public MappedTextFileDataSource(Path file) throws IOException {
+        this(file, StandardCharsets.UTF_8, 1024);
+    }
+
+    /**
+     * Creates a data source for a text file.
+     *
+     * @param file     the text file
+     * @param charset  the charset of the text file
+     * @param pageSize the number of lines in a page
+     * @throws IOException if the file cannot be read.
+     */
+    public MappedTextFileDataSource(Path file, Charset charset, int pageSize) throws IOException {
+        ByteBuffer newLine = charset.encode("\n");
+        if (newLine.remaining() != 1 || newLine.get(0) != '\n') {
+            throw new IllegalArgumentException("The charset " + charset + " is not supported."); //NON-NLS
+        }
+        _charset = charset;
+        _pageSize = Math.max(1, pageSize);
+        _channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            long size = _channel.size();
+            _regions = new MappedByteBuffer[(int) ((size + REGION_SIZE - 1) / REGION_SIZE)];
+            for (int i = 0; i < _regions.length; i++) {
+                long position = (long) i * REGION_SIZE;
+                _regions[i] = _channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(REGION_SIZE, size - position));
+            }
+            indexLines(size);
+        }
+        catch (IOException | RuntimeException e) {
+            _channel.close();
+            throw e;
+        }
+    }
+
+    private void indexLines(long size) {
+        long[] lineStarts = new long[1024];
+        int count = 0;
+        boolean lineStart = true;
+        for (int r = 0; r < _regions.length; r++) {
+            MappedByteBuffer region = _regions[r];
+            long offset = (long) r * REGION_SIZE;
+            for (int i = 0, limit = region.limit(); i < limit; i++) {
+                if (lineStart) {
+                    if (count + 1 >= lineStarts.length) {
+                        lineStarts = Arrays.copyOf(lineStarts, lineStarts.length * 2);
+                    }
+                    lineStarts[count++] = offset + i;
+                    lineStart = false;
+                }
+                if (region.get(i) == '\n') {
+                    lineStart = true;
+                }
+            }
+        }
+        lineStarts[count] = size;
+        _lineStarts = lineStarts;
+        _lineCount = count;
+    }
+
+    private byte getByte(long position) {
+        return _regions[(int) (position / REGION_SIZE)].get((int) (position % REGION_SIZE));
+    }
+
+    /**
+     * Gets the line at the index.
+     *
+     * @param index the line index
+     * @return the line without the line terminator.
+     */
+    public String getLine(int index) {
+        long start = _lineStarts[index];
+        long end = _lineStarts[index + 1];
+        if (end > start && getByte(end - 1) == '\n') {
+            end--;
+        }
+        if (end > start && getByte(end - 1) == '\r') {
+            end--;
+        }
+        byte[] bytes = new byte[(int) (end - start)];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = getByte(start + i);
+        }
+        return new String(bytes, _charset);
+    }
+
+    @Override
+    public int getSize() {
+        return _lineCount;
+    }
+
+    @Override
+    public int getPageSize() {
+        return _pageSize;
+    }
+
+    @Override
+    public String[] getPage(int pageIndex) {
+        int from = pageIndex * _pageSize;
+        int to = Math.min(from + _pageSize, _lineCount);
+        String[] page = new String[Math.max(0, to - from)];
+        for (int i = 0; i < page.length; i++) {
+            page[i] = getLine(from + i);
+        }
+        return page;
+    }
+
+    /**
+     * Reads the page in the common fork-join pool.
+     *
+     * @param pageIndex the page index
+     * @return the future of the element strings of the page.
+     */
+    @Override
+    public CompletableFuture<String[]> getPageAsync(final int pageIndex) {
+        return CompletableFuture.supplyAsync(new Supplier<String[]>() {
+            @Override
+            public String[] get() {
+                return getPage(pageIndex);
+            }
+        });
+    }
+
+    /**
+     * Closes the file. The mapped memory is released when it is garbage collected.
+     *
+     * @throws IOException if the file cannot be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        _channel.close();
+    }
+}
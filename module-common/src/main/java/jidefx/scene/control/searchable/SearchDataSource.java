@@ -0,0 +1,61 @@
+/*
+ * @(#)SearchDataSource.java 10/18/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+
+package jidefx.scene.control.searchable;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@code SearchDataSource} serves the element strings of a {@link Searchable} in pages. It is used when the model is
+ * too large to be loaded into the control, for example a model backed by a database cursor or a memory-mapped file.
+ * The control only needs to hold the elements it shows while the Searchable reads the element strings page by page
+ * from the data source, see {@link Searchable#setDataSource(SearchDataSource)}.
+ * <p>
+ * The element at index {@code i} is the string at {@code i % getPageSize()} in the page {@code i / getPageSize()}. The
+ * indices must be the same as the indices used by the Searchable to select the elements in the control.
+ * <p>
+ * A data source should override either {@link #getPage(int)} for a synchronous source or {@link #getPageAsync(int)}
+ * for an asynchronous source. The default implementation of each calls the other one. The Searchable requests the next
+ * page with {@link #getPageAsync(int)} while it is searching the current page, so a synchronous source should override
+ * {@link #getPageAsync(int)} too if it wants the prefetching to happen in a background thread.
+ */
+public interface SearchDataSource {
+    /**
+     * Gets the number of elements.
+     *
+     * @return the number of elements.
+     */
+    int getSize();
+
+    /**
+     * Gets the number of elements in a page. All the pages are full except the last one.
+     *
+     * @return the page size.
+     */
+    default int getPageSize() {
+        return 1024;
+    }
+
+    /**
+     * Gets the element strings of a page synchronously.
+     *
+     * @param pageIndex the page index
+     * @return the element strings of the page.
+     */
+    default String[] getPage(int pageIndex) {
+        return getPageAsync(pageIndex).join();
+    }
+
+    /**
+     * Gets the element strings of a page asynchronously.
+     *
+     * @param pageIndex the page index
+     * @return the future of the element strings of the page.
+     */
+    default CompletableFuture<String[]> getPageAsync(int pageIndex) {
+        return CompletableFuture.completedFuture(getPage(pageIndex));
+    }
+}
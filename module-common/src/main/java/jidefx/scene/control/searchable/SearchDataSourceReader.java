@@ -0,0 +1,219 @@
+/*
+ * @(#)SearchDataSourceReader.java 10/18/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+
+package jidefx.scene.control.searchable;
+
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reads the element strings from a {@link SearchDataSource}. It caches the recently used pages and requests the next
+ * page in the search direction so that it is probably loaded by the time the search reaches it. It is thread safe so
+ * that it can be used by {@link Searchable#findAllParallel(String)}.
+ * <p>
+ * Each page is held by its own future in a concurrent map. No lock is held while a page is fetched, so the workers
+ * reading the different pages don't wait for each other, and the workers reading the same page wait for the same
+ * fetch. The workers should read a range of elements with {@link #getTexts(int, int)} so the page is looked up once
+ * per range rather than once per element.
+ * <p>
+ * A page that fails to load is logged once and its elements are treated as not matching. It is requested again after
+ * it drops out of the cache. {@link #getTextAt(int)} is called on the JavaFX application thread, so it only waits a short time
+ * for a page. If the page is still loading, its elements are treated as not matching too.
+ */
+@SuppressWarnings("Convert2Lambda")
+class SearchDataSourceReader {
+    private static final int CACHED_PAGES = 8;
+    private static final long PAGE_WAIT_MILLIS = 100;
+    private static final Logger LOGGER = Logger.getLogger(SearchDataSourceReader.class.getName());
+
+    private final SearchDataSource _dataSource;
+    private final int _pageSize;
+    private final int _cachedPages;
+    private final Map<Integer, Page> _pages = new ConcurrentHashMap<>();
+    private final AtomicLong _clock = new AtomicLong();
+    private int _lastPageIndex = -1; // only used by getTextAt which is called on one thread
+    private int _slowPageIndex = -1; // the page getTextAt stopped waiting for
+
+    private static class Page {
+        final CompletableFuture<String[]> _future = new CompletableFuture<>();
+        volatile long _lastUsed;
+    }
+
+    SearchDataSourceReader(SearchDataSource dataSource) {
+        _dataSource = dataSource;
+        _pageSize = Math.max(1, dataSource.getPageSize());
+        // each worker could be reading one page while the next one is being prefetched
+        _cachedPages = Math.max(CACHED_PAGES, 2 * ForkJoinPool.getCommonPoolParallelism() + 2);
+    }
+
+    SearchDataSource getDataSource() {
+        return _dataSource;
+    }
+
+    int getSize() {
+        return _dataSource.getSize();
+    }
+
+    /**
+     * Gets the element string at the index. It is used by the sequential search, which requests the next page in the
+     * direction of the search. It waits at most {@link #PAGE_WAIT_MILLIS} for a page, and doesn't wait again for the
+     * same page until it is loaded.
+     *
+     * @param index the index of the element
+     * @return the element string. Null if the page doesn't have the element or isn't loaded.
+     */
+    String getTextAt(int index) {
+        int pageIndex = index / _pageSize;
+        String[] page = getPage(pageIndex, pageIndex == _slowPageIndex ? 0 : PAGE_WAIT_MILLIS);
+        if (page == null && pageIndex != _slowPageIndex) {
+            _slowPageIndex = pageIndex;
+        }
+        else if (page != null && pageIndex == _slowPageIndex) {
+            _slowPageIndex = -1;
+        }
+        if (pageIndex != _lastPageIndex) {
+            prefetch(pageIndex < _lastPageIndex ? pageIndex - 1 : pageIndex + 1);
+            _lastPageIndex = pageIndex;
+        }
+        int i = index - pageIndex * _pageSize;
+        return page != null && i < page.length ? page[i] : null;
+    }
+
+    /**
+     * Gets the element strings in a range. Each page in the range is looked up once, and the page after the range is
+     * requested in advance.
+     *
+     * @param from the index of the first element, inclusive
+     * @param to   the index of the last element, exclusive
+     * @return the element strings. An element is null if the page doesn't have it.
+     */
+    String[] getTexts(int from, int to) {
+        String[] texts = new String[to - from];
+        int lastPageIndex = (to - 1) / _pageSize;
+        prefetch(lastPageIndex + 1);
+        for (int pageIndex = from / _pageSize; pageIndex <= lastPageIndex; pageIndex++) {
+            String[] page = getPage(pageIndex, -1);
+            if (page == null) {
+                continue;
+            }
+            int pageStart = pageIndex * _pageSize;
+            int start = Math.max(from, pageStart);
+            int end = Math.min(to, pageStart + Math.min(page.length, _pageSize));
+            if (start < end) {
+                System.arraycopy(page, start - pageStart, texts, start - from, end - start);
+            }
+        }
+        return texts;
+    }
+
+    private void prefetch(int pageIndex) {
+        if (pageIndex >= 0 && pageIndex * (long) _pageSize < getSize()) {
+            requestPage(pageIndex);
+        }
+    }
+
+    /**
+     * Gets the page, waiting for it to be loaded.
+     *
+     * @param pageIndex     the page index
+     * @param timeoutMillis the time to wait in milliseconds. 0 not to wait, negative to wait until the page is loaded.
+     * @return the element strings of the page. Null if it failed to load or isn't loaded in time.
+     */
+    private String[] getPage(int pageIndex, long timeoutMillis) {
+        Page page = requestPage(pageIndex);
+        if (page._future.isCompletedExceptionally() || timeoutMillis == 0 && !page._future.isDone()) {
+            return null; // failed and logged by fetch, or still loading
+        }
+        try {
+            return timeoutMillis < 0 ? page._future.get() : page._future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        catch (TimeoutException e) {
+            LOGGER.log(Level.FINE, "The page {0} is not loaded in time, its elements don''t match.", pageIndex); //NON-NLS
+            return null;
+        }
+        catch (ExecutionException | CancellationException e) {
+            return null; // logged by fetch
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Gets the page from the cache or starts to fetch it. The fetch is started outside of the map so a synchronous
+     * data source doesn't block the other pages.
+     */
+    private Page requestPage(int pageIndex) {
+        Page page = _pages.get(pageIndex);
+        if (page == null) {
+            Page newPage = new Page();
+            page = _pages.putIfAbsent(pageIndex, newPage);
+            if (page == null) {
+                page = newPage;
+                page._lastUsed = _clock.incrementAndGet();
+                evict(pageIndex);
+                fetch(pageIndex, newPage);
+                return page;
+            }
+        }
+        page._lastUsed = _clock.incrementAndGet();
+        return page;
+    }
+
+    private void fetch(final int pageIndex, final Page page) {
+        try {
+            _dataSource.getPageAsync(pageIndex).whenComplete(new BiConsumer<String[], Throwable>() {
+                @Override
+                public void accept(String[] strings, Throwable throwable) {
+                    if (throwable != null) {
+                        logFailure(pageIndex, throwable);
+                        page._future.completeExceptionally(throwable);
+                    }
+                    else {
+                        page._future.complete(strings);
+                    }
+                }
+            });
+        }
+        catch (RuntimeException e) {
+            logFailure(pageIndex, e);
+            page._future.completeExceptionally(e);
+        }
+    }
+
+    private static void logFailure(int pageIndex, Throwable throwable) {
+        LOGGER.log(Level.WARNING, "Failed to load the page " + pageIndex + ", its elements don't match.", throwable); //NON-NLS
+    }
+
+    /**
+     * Removes the least recently used pages until the cache fits. The cache is small so a scan is cheaper than keeping
+     * the pages ordered.
+     */
+    private void evict(int keepPageIndex) {
+        while (_pages.size() > _cachedPages) {
+            Map.Entry<Integer, Page> eldest = null;
+            for (Map.Entry<Integer, Page> entry : _pages.entrySet()) {
+                if (entry.getKey() != keepPageIndex && (eldest == null || entry.getValue()._lastUsed < eldest.getValue()._lastUsed)) {
+                    eldest = entry;
+                }
+            }
+            if (eldest == null || !_pages.remove(eldest.getKey(), eldest.getValue())) {
+                return;
+            }
+        }
+    }
+}
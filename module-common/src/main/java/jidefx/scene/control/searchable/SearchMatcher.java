@@ -0,0 +1,487 @@
+/*
+ * @(#)SearchMatcher.java 10/18/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+
+package jidefx.scene.control.searchable;
+
+import jidefx.utils.CommonUtils;
+import jidefx.utils.WildcardSupport;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * {@code SearchMatcher} checks if a text matches a searching text that has been compiled in advance. It works directly
+ * on the original {@code CharSequence} so that no string is created for each element during the searching, even in
+ * the case insensitive mode.
+ * <p>
+ * The case insensitive comparison folds each character using {@link CommonUtils#foldCase(char)}, the same rule used by
+ * {@link String#equalsIgnoreCase(String)}. If the searching text contains supplementary characters, the comparison is
+ * done on code points instead.
+ * <p>
+ * A searching text with wildcards is compiled by {@link #compile(String, boolean, boolean, WildcardSupport)} to the
+ * simplest matcher that can handle it. A text without wildcard, or with only '*' at the end, is matched literally.
+ * Segments separated by '*' or '+' are found one after another. Only the searching texts that need an exact number of
+ * characters between two segments, such as "a?c", go through {@link java.util.regex.Pattern}. If the WildcardSupport
+ * overrides {@link WildcardSupport#convert(String)}, the searching text always goes through the converted regular
+ * expression so that the override is respected. The compiled matchers are kept in a small LRU cache shared by all the
+ * Searchables.
+ */
+public abstract class SearchMatcher {
+    private static final int CACHE_SIZE = 64;
+
+    private static final Map<Key, SearchMatcher> CACHE = new LinkedHashMap<Key, SearchMatcher>(CACHE_SIZE, 0.75f, true) {
+        private static final long serialVersionUID = -3011539151302932315L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, SearchMatcher> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+
+    /**
+     * Whether a WildcardSupport class overrides the default {@link WildcardSupport#convert(String)}. getMethod returns
+     * the most specific public implementation, so an override in any superclass or subinterface is found as well.
+     */
+    private static final ClassValue<Boolean> CONVERT_OVERRIDDEN = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("convert", String.class).getDeclaringClass() != WildcardSupport.class; //NON-NLS
+            }
+            catch (NoSuchMethodException e) {
+                return true;
+            }
+        }
+    };
+
+    /**
+     * Checks if the text matches.
+     *
+     * @param text the text to be checked
+     * @return true if matches.
+     */
+    public abstract boolean matches(CharSequence text);
+
+    /**
+     * Creates a matcher that matches the searching text literally.
+     *
+     * @param searchingText the searching text
+     * @param caseSensitive true to match the case. Otherwise the case is ignored.
+     * @param fromStart     true to match the beginning of the text only. Otherwise, the searching text could appear
+     *                      anywhere in the text.
+     * @return the matcher.
+     */
+    public static SearchMatcher literal(String searchingText, boolean caseSensitive, boolean fromStart) {
+        if (!caseSensitive && hasSurrogate(searchingText)) {
+            return new CodePointMatcher(searchingText, fromStart);
+        }
+        return fromStart ? new PrefixMatcher(searchingText, caseSensitive) : new ContainsMatcher(searchingText, caseSensitive);
+    }
+
+    /**
+     * Compiles the searching text to a matcher, or gets it from the cache if it was compiled before.
+     *
+     * @param searchingText   the searching text
+     * @param caseSensitive   true to match the case. Otherwise the case is ignored.
+     * @param fromStart       true to match the beginning of the text only. Otherwise, the searching text could appear
+     *                        anywhere in the text.
+     * @param wildcardSupport the WildcardSupport that defines the wildcards. Null if wildcard is not enabled.
+     * @return the matcher.
+     */
+    public static SearchMatcher compile(String searchingText, boolean caseSensitive, boolean fromStart, WildcardSupport wildcardSupport) {
+        Key key = new Key(searchingText, caseSensitive, fromStart, wildcardSupport);
+        synchronized (CACHE) {
+            SearchMatcher matcher = CACHE.get(key);
+            if (matcher != null) {
+                return matcher;
+            }
+        }
+        SearchMatcher matcher;
+        if (wildcardSupport == null) {
+            matcher = literal(searchingText, caseSensitive, fromStart);
+        }
+        else if (CONVERT_OVERRIDDEN.get(wildcardSupport.getClass())) {
+            matcher = regex(searchingText, caseSensitive, fromStart, wildcardSupport);
+        }
+        else {
+            matcher = compileWildcard(searchingText, caseSensitive, fromStart, wildcardSupport);
+        }
+        synchronized (CACHE) {
+            CACHE.put(key, matcher);
+        }
+        return matcher;
+    }
+
+    private static SearchMatcher compileWildcard(String searchingText, boolean caseSensitive, boolean fromStart, WildcardSupport wildcardSupport) {
+        char zeroOrOne = wildcardSupport.getZeroOrOneQuantifier();
+        char zeroOrMore = wildcardSupport.getZeroOrMoreQuantifier();
+        char oneOrMore = wildcardSupport.getOneOrMoreQuantifier();
+
+        // split the searching text into literal segments and the gaps between them
+        List<String> segments = new ArrayList<>();
+        List<Gap> gaps = new ArrayList<>(); // gaps.get(i) is before segments.get(i), the last one is after all segments
+        Gap gap = new Gap();
+        StringBuilder segment = new StringBuilder();
+        for (int i = 0; i < searchingText.length(); i++) {
+            char c = searchingText.charAt(i);
+            boolean wildcard = c != 0 && (c == zeroOrOne || c == zeroOrMore || c == oneOrMore);
+            if (!wildcard) {
+                segment.append(c);
+                continue;
+            }
+            if (segment.length() > 0) {
+                segments.add(segment.toString());
+                gaps.add(gap);
+                gap = new Gap();
+                segment.setLength(0);
+            }
+            if (c == zeroOrOne) {
+                gap.min++;
+            }
+            else if (c == zeroOrMore) {
+                gap.unbounded = true;
+            }
+            else {
+                gap.min++;
+                gap.unbounded = true;
+            }
+        }
+        if (segment.length() > 0) {
+            segments.add(segment.toString());
+            gaps.add(gap);
+            gap = new Gap();
+        }
+        gaps.add(gap);
+
+        if (segments.isEmpty()) {
+            return new SegmentsMatcher(segments, gaps, caseSensitive, fromStart);
+        }
+        Gap leading = gaps.get(0);
+        Gap trailing = gaps.get(gaps.size() - 1);
+        if (segments.size() == 1 && leading.min == 0 && trailing.min == 0) {
+            // "abc", "abc*", "*abc" and "*abc*"
+            return literal(segments.get(0), caseSensitive, fromStart && !leading.unbounded);
+        }
+        if (!caseSensitive && hasSurrogate(searchingText)) {
+            return regex(searchingText, caseSensitive, fromStart, wildcardSupport);
+        }
+        for (int i = 1; i < segments.size(); i++) {
+            if (!gaps.get(i).unbounded) { // an exact number of characters between two segments
+                return regex(searchingText, caseSensitive, fromStart, wildcardSupport);
+            }
+        }
+        return new SegmentsMatcher(segments, gaps, caseSensitive, fromStart);
+    }
+
+    private static SearchMatcher regex(String searchingText, boolean caseSensitive, boolean fromStart, WildcardSupport wildcardSupport) {
+        String s = wildcardSupport.convert(searchingText);
+        try {
+            final Pattern pattern = Pattern.compile(fromStart ? "^" + s : s, caseSensitive ? 0 : Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+            return new SearchMatcher() {
+                @Override
+                public boolean matches(CharSequence text) {
+                    return pattern.matcher(text).find();
+                }
+            };
+        }
+        catch (PatternSyntaxException e) {
+            return new SearchMatcher() {
+                @Override
+                public boolean matches(CharSequence text) {
+                    return false;
+                }
+            };
+        }
+    }
+
+    private static boolean hasSurrogate(String s) {
+        for (int i = 0; i < s.length(); i++) {
+            if (Character.isSurrogate(s.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static char[] fold(String s, boolean caseSensitive) {
+        char[] chars = s.toCharArray();
+        if (!caseSensitive) {
+            for (int i = 0; i < chars.length; i++) {
+                chars[i] = CommonUtils.foldCase(chars[i]);
+            }
+        }
+        return chars;
+    }
+
+    /**
+     * Checks if the text has the folded pattern at the offset.
+     *
+     * @param text          the text
+     * @param offset        the offset in the text
+     * @param pattern       the pattern, already folded if case insensitive
+     * @param caseSensitive true to match the case.
+     * @return true if matches.
+     */
+    static boolean regionMatches(CharSequence text, int offset, char[] pattern, boolean caseSensitive) {
+        if (offset < 0 || offset + pattern.length > text.length()) {
+            return false;
+        }
+        for (int i = 0; i < pattern.length; i++) {
+            char c = text.charAt(offset + i);
+            if (c != pattern[i] && (caseSensitive || CommonUtils.foldCase(c) != pattern[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Finds the folded pattern in the text using the Boyer-Moore-Horspool algorithm.
+     *
+     * @param text          the text
+     * @param from          the offset to start searching
+     * @param pattern       the pattern, already folded if case insensitive
+     * @param skip          the skip table created by {@link #createSkipTable(char[])}
+     * @param caseSensitive true to match the case.
+     * @return the offset of the first occurrence at or after from. -1 if not found.
+     */
+    static int indexOf(CharSequence text, int from, char[] pattern, int[] skip, boolean caseSensitive) {
+        return indexOf(text, from, Integer.MAX_VALUE, pattern, skip, caseSensitive);
+    }
+
+    /**
+     * The same as {@link #indexOf(CharSequence, int, char[], int[], boolean)} but only finds the occurrence that starts
+     * before the to offset.
+     */
+    static int indexOf(CharSequence text, int from, int to, char[] pattern, int[] skip, boolean caseSensitive) {
+        int length = pattern.length;
+        if (length == 0) {
+            return from <= text.length() && from < to ? Math.max(from, 0) : -1;
+        }
+        int last = length - 1;
+        int max = Math.min(text.length() - length, to - 1);
+        char lastChar = pattern[last];
+        for (int i = Math.max(from, 0); i <= max; ) {
+            char c = text.charAt(i + last);
+            if (!caseSensitive) {
+                c = CommonUtils.foldCase(c);
+            }
+            if (c == lastChar && regionMatches(text, i, pattern, last, caseSensitive)) {
+                return i;
+            }
+            i += skip[c & 0xFF];
+        }
+        return -1;
+    }
+
+    private static boolean regionMatches(CharSequence text, int offset, char[] pattern, int length, boolean caseSensitive) {
+        for (int j = length - 1; j >= 0; j--) {
+            char c = text.charAt(offset + j);
+            if (c != pattern[j] && (caseSensitive || CommonUtils.foldCase(c) != pattern[j])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates the Horspool skip table for the pattern. The table is indexed by the low byte of the character. Characters
+     * sharing the same low byte share the smallest shift so the table stays small and correct for any character.
+     *
+     * @param pattern the pattern, already folded if case insensitive
+     * @return the skip table.
+     */
+    static int[] createSkipTable(char[] pattern) {
+        int[] skip = new int[256];
+        int length = pattern.length;
+        Arrays.fill(skip, Math.max(length, 1));
+        for (int i = 0; i < length - 1; i++) {
+            skip[pattern[i] & 0xFF] = length - 1 - i;
+        }
+        return skip;
+    }
+
+    private static final class Key {
+        private final String _searchingText;
+        private final boolean _caseSensitive;
+        private final boolean _fromStart;
+        private final Class<?> _wildcardSupportClass;
+        private final char[] _wildcards;
+
+        Key(String searchingText, boolean caseSensitive, boolean fromStart, WildcardSupport wildcardSupport) {
+            _searchingText = searchingText;
+            _caseSensitive = caseSensitive;
+            _fromStart = fromStart;
+            _wildcardSupportClass = wildcardSupport == null ? null : wildcardSupport.getClass();
+            _wildcards = wildcardSupport == null ? null : new char[]{wildcardSupport.getZeroOrOneQuantifier(), wildcardSupport.getZeroOrMoreQuantifier(), wildcardSupport.getOneOrMoreQuantifier()};
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return _caseSensitive == key._caseSensitive && _fromStart == key._fromStart
+                    && _searchingText.equals(key._searchingText) && _wildcardSupportClass == key._wildcardSupportClass
+                    && Arrays.equals(_wildcards, key._wildcards);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(_searchingText, _caseSensitive, _fromStart, _wildcardSupportClass) * 31 + Arrays.hashCode(_wildcards);
+        }
+    }
+
+    /**
+     * The characters a wildcard stands for. '?' adds one to the minimum, '*' makes it unbounded and '+' does both.
+     */
+    private static final class Gap {
+        int min;
+        boolean unbounded;
+    }
+
+    /**
+     * Finds the segments one after another, each at the first position after the previous one. Since the gaps between
+     * the segments are unbounded, the leftmost match of each segment leaves the most room for the rest.
+     */
+    static class SegmentsMatcher extends SearchMatcher {
+        private final char[][] _segments;
+        private final int[][] _skips;
+        private final int[] _minGaps;
+        private final boolean _anchored;
+        private final boolean _caseSensitive;
+
+        private SegmentsMatcher(List<String> segments, List<Gap> gaps, boolean caseSensitive, boolean fromStart) {
+            int count = segments.size();
+            _segments = new char[count][];
+            _skips = new int[count][];
+            _minGaps = new int[count + 1];
+            for (int i = 0; i < count; i++) {
+                _segments[i] = fold(segments.get(i), caseSensitive);
+                _skips[i] = createSkipTable(_segments[i]);
+            }
+            for (int i = 0; i <= count; i++) {
+                _minGaps[i] = gaps.get(i).min;
+            }
+            _anchored = fromStart && !gaps.get(0).unbounded;
+            _caseSensitive = caseSensitive;
+        }
+
+        @Override
+        public boolean matches(CharSequence text) {
+            int offset = _minGaps[0];
+            for (int i = 0; i < _segments.length; i++) {
+                if (i == 0 && _anchored) {
+                    if (!regionMatches(text, offset, _segments[0], _caseSensitive)) {
+                        return false;
+                    }
+                }
+                else {
+                    offset = indexOf(text, offset, _segments[i], _skips[i], _caseSensitive);
+                    if (offset == -1) {
+                        return false;
+                    }
+                }
+                offset += _segments[i].length + _minGaps[i + 1];
+            }
+            return offset <= text.length();
+        }
+    }
+
+    static class PrefixMatcher extends SearchMatcher {
+        private final String _searchingText;
+        private final char[] _pattern;
+        private final boolean _caseSensitive;
+
+        PrefixMatcher(String searchingText, boolean caseSensitive) {
+            _searchingText = searchingText;
+            _pattern = fold(searchingText, caseSensitive);
+            _caseSensitive = caseSensitive;
+        }
+
+        @Override
+        public boolean matches(CharSequence text) {
+            if (_caseSensitive && text instanceof String) {
+                return ((String) text).startsWith(_searchingText);
+            }
+            return regionMatches(text, 0, _pattern, _caseSensitive);
+        }
+    }
+
+    static class ContainsMatcher extends SearchMatcher {
+        private final String _searchingText;
+        private final char[] _pattern;
+        private final int[] _skip;
+        private final boolean _caseSensitive;
+
+        ContainsMatcher(String searchingText, boolean caseSensitive) {
+            _searchingText = searchingText;
+            _pattern = fold(searchingText, caseSensitive);
+            _skip = createSkipTable(_pattern);
+            _caseSensitive = caseSensitive;
+        }
+
+        @Override
+        public boolean matches(CharSequence text) {
+            if (_caseSensitive && text instanceof String) {
+                return ((String) text).contains(_searchingText);
+            }
+            return indexOf(text, 0, _pattern, _skip, _caseSensitive) != -1;
+        }
+    }
+
+    /**
+     * The case insensitive matcher used when the searching text contains supplementary characters. It compares code
+     * points so that the cased supplementary characters are folded correctly.
+     */
+    static class CodePointMatcher extends SearchMatcher {
+        private final int[] _pattern;
+        private final boolean _fromStart;
+
+        CodePointMatcher(String searchingText, boolean fromStart) {
+            _pattern = searchingText.codePoints().map(CodePointMatcher::foldCodePoint).toArray();
+            _fromStart = fromStart;
+        }
+
+        private static int foldCodePoint(int codePoint) {
+            return Character.toLowerCase(Character.toUpperCase(codePoint));
+        }
+
+        @Override
+        public boolean matches(CharSequence text) {
+            if (_fromStart) {
+                return matchesAt(text, 0);
+            }
+            for (int i = 0, length = text.length(); i < length; i++) {
+                if (matchesAt(text, i)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private boolean matchesAt(CharSequence text, int offset) {
+            int length = text.length();
+            for (int codePoint : _pattern) {
+                if (offset >= length) {
+                    return false;
+                }
+                int c = Character.codePointAt(text, offset);
+                if (c != codePoint && foldCodePoint(c) != codePoint) {
+                    return false;
+                }
+                offset += Character.charCount(c);
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * @(#)SearchStatistics.java 10/18/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+
+package jidefx.scene.control.searchable;
+
+import java.util.Arrays;
+
+/**
+ * {@code SearchStatistics} is an immutable snapshot of the searches measured by a {@link Searchable} when {@link
+ * Searchable#setInstrumentationEnabled(boolean)} is true. The counts cover all the searches since the instrumentation
+ * was enabled or {@link Searchable#resetStatistics()} was called. The latency percentiles are calculated from the most
+ * recent searches only.
+ */
+public class SearchStatistics {
+    /**
+     * The statistics without any search.
+     */
+    public static final SearchStatistics EMPTY = new SearchStatistics(0, 0, 0, 0, new long[0]);
+
+    private final long _searchCount;
+    private final long _cancelledCount;
+    private final long _cacheHitCount;
+    private final long _elementsScanned;
+    private final long[] _latencies;
+    private boolean _sorted;
+
+    SearchStatistics(long searchCount, long cancelledCount, long cacheHitCount, long elementsScanned, long[] latencies) {
+        _searchCount = searchCount;
+        _cancelledCount = cancelledCount;
+        _cacheHitCount = cacheHitCount;
+        _elementsScanned = elementsScanned;
+        _latencies = latencies;
+    }
+
+    /**
+     * Gets the number of searches.
+     *
+     * @return the number of searches.
+     */
+    public long getSearchCount() {
+        return _searchCount;
+    }
+
+    /**
+     * Gets the number of searches that were cancelled before they started or finished, for example because the user
+     * typed another key before the searching delay expired.
+     *
+     * @return the number of cancelled searches.
+     */
+    public long getCancelledCount() {
+        return _cancelledCount;
+    }
+
+    /**
+     * Gets the number of searches that were answered by a cache such as the prefix index without scanning the
+     * elements.
+     *
+     * @return the number of cache hits.
+     */
+    public long getCacheHitCount() {
+        return _cacheHitCount;
+    }
+
+    /**
+     * Gets the total number of elements compared by all the searches.
+     *
+     * @return the number of elements scanned.
+     */
+    public long getElementsScanned() {
+        return _elementsScanned;
+    }
+
+    /**
+     * Gets the average number of elements compared by a search.
+     *
+     * @return the average number of elements scanned per search.
+     */
+    public double getAverageElementsScanned() {
+        return _searchCount == 0 ? 0 : (double) _elementsScanned / _searchCount;
+    }
+
+    /**
+     * Gets the number of the recent searches that the latency percentiles are calculated from.
+     *
+     * @return the number of latency samples.
+     */
+    public int getSampleCount() {
+        return _latencies.length;
+    }
+
+    /**
+     * Gets the latency percentile of the recent searches.
+     *
+     * @param percentile the percentile between 0 and 100, such as 50, 90 or 99.
+     * @return the latency in nanoseconds. 0 if there is no sample.
+     */
+    public synchronized long getLatencyPercentile(double percentile) {
+        if (_latencies.length == 0) {
+            return 0;
+        }
+        if (!_sorted) {
+            Arrays.sort(_latencies);
+            _sorted = true;
+        }
+        int index = (int) Math.ceil(Math.max(0, Math.min(100, percentile)) / 100 * _latencies.length) - 1;
+        return _latencies[Math.max(0, index)];
+    }
+
+    /**
+     * Gets the median latency of the recent searches.
+     *
+     * @return the latency in nanoseconds.
+     */
+    public long getMedianLatency() {
+        return getLatencyPercentile(50);
+    }
+
+    /**
+     * Gets the maximum latency of the recent searches.
+     *
+     * @return the latency in nanoseconds.
+     */
+    public long getMaxLatency() {
+        return getLatencyPercentile(100);
+    }
+
+    @Override
+    public String toString() {
+        return "SearchStatistics{" + //NON-NLS
+                "searchCount=" + _searchCount + //NON-NLS
+                ", cancelledCount=" + _cancelledCount + //NON-NLS
+                ", cacheHitCount=" + _cacheHitCount + //NON-NLS
+                ", elementsScanned=" + _elementsScanned + //NON-NLS
+                ", p50=" + getLatencyPercentile(50) + //NON-NLS
+                ", p90=" + getLatencyPercentile(90) + //NON-NLS
+                ", p99=" + getLatencyPercentile(99) + //NON-NLS
+                ", max=" + getMaxLatency() + //NON-NLS
+                '}';
+    }
+
+    /**
+     * A measurement of one search.
+     */
+    public static class Sample {
+        private final String _operation;
+        private final String _searchingText;
+        private final long _latency;
+        private final int _elementsScanned;
+        private final boolean _cacheHit;
+
+        Sample(String operation, String searchingText, long latency, int elementsScanned, boolean cacheHit) {
+            _operation = operation;
+            _searchingText = searchingText;
+            _latency = latency;
+            _elementsScanned = elementsScanned;
+            _cacheHit = cacheHit;
+        }
+
+        /**
+         * Gets the search operation, such as "findFromCursor", "findNext" or "findAll".
+         *
+         * @return the name of the operation.
+         */
+        public String getOperation() {
+            return _operation;
+        }
+
+        /**
+         * Gets the searching text.
+         *
+         * @return the searching text.
+         */
+        public String getSearchingText() {
+            return _searchingText;
+        }
+
+        /**
+         * Gets the time the search took, including selecting the match.
+         *
+         * @return the latency in nanoseconds.
+         */
+        public long getLatency() {
+            return _latency;
+        }
+
+        /**
+         * Gets the number of elements compared by the search.
+         *
+         * @return the number of elements scanned.
+         */
+        public int getElementsScanned() {
+            return _elementsScanned;
+        }
+
+        /**
+         * Checks if the search was answered by a cache without scanning the elements.
+         *
+         * @return true if it was a cache hit.
+         */
+        public boolean isCacheHit() {
+            return _cacheHit;
+        }
+    }
+}
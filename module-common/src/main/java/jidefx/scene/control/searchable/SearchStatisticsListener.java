@@ -0,0 +1,25 @@
+/*
+ * @(#)SearchStatisticsListener.java 10/18/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+
+package jidefx.scene.control.searchable;
+
+/**
+ * The listener to be notified after each search measured by a {@link Searchable} when the instrumentation is enabled.
+ * It is called on the thread that did the search, which is the JavaFX application thread in most cases, so it should
+ * return quickly.
+ *
+ * @see Searchable#addSearchStatisticsListener(SearchStatisticsListener)
+ */
+public interface SearchStatisticsListener {
+    /**
+     * Called after a search is measured.
+     *
+     * @param searchable the Searchable
+     * @param sample     the measurement of the search
+     * @param statistics the statistics that include the search
+     */
+    void searchMeasured(Searchable<?> searchable, SearchStatistics.Sample sample, SearchStatistics statistics);
+}
@@ -7,8 +7,11 @@
 package jidefx.scene.control.searchable;
 
 import javafx.animation.Animation;
+import javafx.animation.AnimationTimer;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
 import javafx.beans.property.*;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
@@ -18,7 +21,9 @@ import javafx.geometry.Bounds;
 import javafx.geometry.Point2D;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
+import javafx.scene.control.IndexedCell;
 import javafx.scene.control.Label;
+import javafx.scene.control.ScrollBar;
 import javafx.scene.control.Tooltip;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
@@ -28,11 +33,12 @@ import jidefx.utils.WildcardSupport;
 
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Locale;
 import java.util.Set;
-import java.util.regex.Pattern;
-import java.util.regex.PatternSyntaxException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 
 /**
  * In JavaFX, ListView, TableView, TreeView, ComboBox, ChoiceBox, TextArea are six data-rich controls. They can be used
@@ -87,8 +93,12 @@ public abstract class Searchable<T> {
     protected final Node _node;
     private SearchPopup _popup;
 
-    private transient Pattern _pattern;
     private transient String _searchText;
+    private transient SearchMatcher _searchMatcher;
+    private transient boolean _searchMatcherCaseSensitive;
+    private transient boolean _searchMatcherFromStart;
+    private transient WildcardSupport _searchMatcherWildcardSupport;
+    private transient boolean _searchMatcherFuzzy;
 
     // listeners
     protected ChangeListener<Boolean> _visibleListener;
@@ -114,6 +124,7 @@ public abstract class Searchable<T> {
 
     // matching options
     private BooleanProperty _caseSensitiveProperty;
+    private BooleanProperty _fuzzyProperty;
     private BooleanProperty _fromStartProperty;
     private BooleanProperty _wildcardEnabledProperty;
     private WildcardSupport _wildcardSupport = null;
@@ -125,6 +136,37 @@ public abstract class Searchable<T> {
     // UI options
     private StringProperty _searchingLabelProperty;
 
+    // lazy highlight
+    private BooleanProperty _lazyHighlightProperty;
+    private IntegerProperty _highlightMarginProperty;
+    private ReadOnlyIntegerWrapper _highlightCountProperty;
+    private InvalidationListener _visibleRangeListener;
+    private AnimationTimer _highlightCounter;
+    private String _highlightText;
+    private int _highlightedFrom = -1;
+    private int _highlightedTo = -1;
+
+    // prefix index
+    private BooleanProperty _prefixIndexEnabledProperty;
+    private SearchablePrefixIndex<T> _prefixIndex;
+
+    // data source
+    private ObjectProperty<SearchDataSource> _dataSourceProperty;
+    private SearchDataSourceReader _dataSourceReader;
+
+    // instrumentation
+    private BooleanProperty _instrumentationEnabledProperty;
+    private ReadOnlyObjectWrapper<SearchStatistics> _statisticsProperty;
+    private java.util.List<SearchStatisticsListener> _statisticsListeners;
+    private long[] _latencySamples;
+    private long _searchCount;
+    private long _cancelledCount;
+    private long _cacheHitCount;
+    private long _elementsScanned;
+    private int _scanned;
+    private boolean _cacheHit;
+    private static final int LATENCY_SAMPLE_SIZE = 1000;
+
 
     /**
      * The client property for Searchable instance. When Searchable is installed on a control, this client property has
@@ -187,6 +229,19 @@ public abstract class Searchable<T> {
         setSelectedIndex(index, incremental);
     }
 
+    /**
+     * Adds the element at the index to the current selection without scrolling to it. It is used by the lazy highlight
+     * all mode to highlight the matches in the visible range, where scrolling would change the visible range again.
+     * <p>
+     * The default implementation calls {@link #setSelectedIndex(int, boolean)} with incremental set to true. Subclasses
+     * whose {@code setSelectedIndex} scrolls should override it.
+     *
+     * @param index the index to be added to the selection
+     */
+    protected void addSelectedIndex(int index) {
+        setSelectedIndex(index, true);
+    }
+
     /**
      * Gets the total element count in the control. Different concrete implementation could have different
      * interpretation of the count. This is totally OK as long as it's consistent in all the methods. For example, the
@@ -225,7 +280,7 @@ public abstract class Searchable<T> {
             updateText(getTypedText() + " " + getResourceString("Searchable.noMatch"));
         }
         if (index != -1) {
-            setMatchingElement(getElementAt(index));
+            setMatchingElement(index < getElementCount() ? getElementAt(index) : null);
             setMatchingIndex(index);
         }
         else {
@@ -242,6 +297,8 @@ public abstract class Searchable<T> {
             _popup.hide();
             _popup = null;
             stopHidePopupTimer();
+            stopLazyHighlight();
+            _dataSourceReader = null;
             setSearching(false);
 
             Window window = _node.getScene().getWindow();
@@ -293,6 +350,10 @@ public abstract class Searchable<T> {
             };
         }
         _node.addEventHandler(KeyEvent.ANY, _keyListener);
+
+        if (_prefixIndexEnabledProperty != null && isPrefixIndexEnabled()) {
+            resetPrefixIndex();
+        }
     }
 
     /**
@@ -315,6 +376,11 @@ public abstract class Searchable<T> {
             _node.removeEventHandler(KeyEvent.ANY, _keyListener);
             _keyListener = null;
         }
+
+        if (_prefixIndex != null) {
+            _prefixIndex.dispose();
+            _prefixIndex = null;
+        }
     }
 
     /**
@@ -326,12 +392,15 @@ public abstract class Searchable<T> {
      */
     protected boolean compare(T element, String searchingText) {
         String text = convertElementToString(element);
-        return text != null && compareAsString(isCaseSensitive() ? text : text.toLowerCase(), searchingText);
+        return text != null && compareAsString(text, searchingText);
     }
 
     /**
      * Checks if the element string matches the searching text. Different from {@link #compare(Object, String)}, this
      * method is after the element has been converted to string using {@link #convertElementToString(Object)}.
+     * <p>
+     * The text is the original element string. When {@link #isCaseSensitive()} is false, the case is ignored by
+     * folding each character during the comparison so that no lower case copy of the text is created.
      *
      * @param text          the text to be checked
      * @param searchingText the searching text
@@ -342,30 +411,42 @@ public abstract class Searchable<T> {
             return true;
         }
 
-        if (!isWildcardEnabled()) {
-            return (searchingText.equals(text) || searchingText.length() > 0 && (isFromStart() ? text.startsWith(searchingText) : text.contains(searchingText)));
+        return searchingText.equals(text) || getSearchMatcher(searchingText).matches(text);
+    }
+
+    /**
+     * The same as {@link #compareAsString(String, String)} but uses a matcher that is compiled in advance, so that it
+     * can be called from any thread.
+     */
+    private static boolean compareAsString(String text, String searchingText, SearchMatcher matcher) {
+        if (searchingText == null || searchingText.trim().length() == 0) {
+            return true;
         }
-        else {
-            // use the previous pattern since nothing changed.
-            if (_searchText != null && _searchText.equals(searchingText) && _pattern != null) {
-                return _pattern.matcher(text).find();
-            }
+        return text != null && (searchingText.equals(text) || matcher.matches(text));
+    }
 
-            WildcardSupport wildcardSupport = getWildcardSupport();
-            String s = wildcardSupport.convert(searchingText);
-            if (searchingText.equals(s)) {
-                return isFromStart() ? text.startsWith(searchingText) : text.contains(searchingText);
-            }
-            _searchText = searchingText;
+    private SearchMatcher createSearchMatcher(String searchingText) {
+        boolean caseSensitive = isCaseSensitive();
+        WildcardSupport wildcardSupport = isWildcardEnabled() ? getWildcardSupport() : null;
+        return isFuzzy() ? new FuzzyMatcher(searchingText, caseSensitive) : SearchMatcher.compile(searchingText, caseSensitive, isFromStart(), wildcardSupport);
+    }
 
-            try {
-                _pattern = Pattern.compile(isFromStart() ? "^" + s : s, isCaseSensitive() ? 0 : Pattern.CASE_INSENSITIVE);
-                return _pattern.matcher(text).find();
-            }
-            catch (PatternSyntaxException e) {
-                return false;
-            }
+    private SearchMatcher getSearchMatcher(String searchingText) {
+        boolean caseSensitive = isCaseSensitive();
+        boolean fromStart = isFromStart();
+        WildcardSupport wildcardSupport = isWildcardEnabled() ? getWildcardSupport() : null;
+        boolean fuzzy = isFuzzy();
+        // use the previous matcher since nothing changed.
+        if (_searchMatcher == null || !searchingText.equals(_searchText) || caseSensitive != _searchMatcherCaseSensitive
+                || fromStart != _searchMatcherFromStart || wildcardSupport != _searchMatcherWildcardSupport || fuzzy != _searchMatcherFuzzy) {
+            _searchMatcher = createSearchMatcher(searchingText);
+            _searchText = searchingText;
+            _searchMatcherCaseSensitive = caseSensitive;
+            _searchMatcherFromStart = fromStart;
+            _searchMatcherWildcardSupport = wildcardSupport;
+            _searchMatcherFuzzy = fuzzy;
         }
+        return _searchMatcher;
     }
 
 
@@ -412,6 +493,11 @@ public abstract class Searchable<T> {
      * huge text to search, you may want to override this method to have a lazy behavior on visible areas only.
      */
     protected void highlightAll() {
+        if (isLazyHighlight() && getVisibleRange() != null) {
+            startLazyHighlight(getTypedText());
+            return;
+        }
+
         int firstIndex = -1;
         int index = getSelectedIndex();
         String text = getTypedText();
@@ -437,6 +523,298 @@ public abstract class Searchable<T> {
         }
     }
 
+    public BooleanProperty lazyHighlightProperty() {
+        if (_lazyHighlightProperty == null) {
+            _lazyHighlightProperty = new SimpleBooleanProperty(this, "lazyHighlight") { //NON-NLS
+                @Override
+                protected void invalidated() {
+                    super.invalidated();
+                    stopLazyHighlight();
+                }
+            };
+        }
+        return _lazyHighlightProperty;
+    }
+
+    /**
+     * Checks if the highlight all is lazy.
+     *
+     * @return true if the highlight all is lazy.
+     * @see #setLazyHighlight(boolean)
+     */
+    public boolean isLazyHighlight() {
+        return lazyHighlightProperty().get();
+    }
+
+    /**
+     * Sets the lazy highlight flag. If true and the Searchable knows the visible range of the control (see {@link
+     * #getVisibleRange()}), {@link #highlightAll()} only highlights the matches in the visible range plus a margin (see
+     * {@link #setHighlightMargin(int)}). More matches are highlighted when the control is scrolled. The total number of
+     * matches is counted in small slices on the JavaFX application thread, a few milliseconds in each frame, and set to
+     * the {@link #highlightCountProperty()} when done. By default, it's false.
+     *
+     * @param lazyHighlight true to highlight lazily.
+     */
+    public void setLazyHighlight(boolean lazyHighlight) {
+        lazyHighlightProperty().set(lazyHighlight);
+    }
+
+    public IntegerProperty highlightMarginProperty() {
+        if (_highlightMarginProperty == null) {
+            _highlightMarginProperty = new SimpleIntegerProperty(this, "highlightMargin", 20); //NON-NLS
+        }
+        return _highlightMarginProperty;
+    }
+
+    /**
+     * Gets the number of elements before and after the visible range that are highlighted too in the lazy highlight
+     * mode.
+     *
+     * @return the highlight margin.
+     */
+    public int getHighlightMargin() {
+        return highlightMarginProperty().get();
+    }
+
+    /**
+     * Sets the number of elements before and after the visible range that are highlighted too in the lazy highlight
+     * mode. By default, it's 20.
+     *
+     * @param highlightMargin the highlight margin.
+     */
+    public void setHighlightMargin(int highlightMargin) {
+        highlightMarginProperty().set(highlightMargin);
+    }
+
+    private ReadOnlyIntegerWrapper highlightCountPropertyImpl() {
+        if (_highlightCountProperty == null) {
+            _highlightCountProperty = new ReadOnlyIntegerWrapper(this, "highlightCount", -1); //NON-NLS
+        }
+        return _highlightCountProperty;
+    }
+
+    /**
+     * The total number of matches of the last lazy highlight all. It is -1 while the matches are still being counted in
+     * the background thread.
+     *
+     * @return the highlight count property.
+     */
+    public ReadOnlyIntegerProperty highlightCountProperty() {
+        return highlightCountPropertyImpl().getReadOnlyProperty();
+    }
+
+    public int getHighlightCount() {
+        return highlightCountPropertyImpl().get();
+    }
+
+    /**
+     * Gets the range of the elements that are currently visible in the control. The default implementation looks up
+     * the visible non-empty cells of a virtualized control such as ListView, and uses their indices as the element
+     * indices. Subclasses whose element index is not the cell index should override it.
+     *
+     * @return an array of the first and the last visible element indices. Null if the visible range is unknown in which
+     *         case {@link #highlightAll()} will not be lazy.
+     */
+    protected int[] getVisibleRange() {
+        int first = Integer.MAX_VALUE;
+        int last = -1;
+        for (Node node : _node.lookupAll(".indexed-cell")) { //NON-NLS
+            if (node instanceof IndexedCell && node.isVisible() && !((IndexedCell) node).isEmpty()) {
+                int index = ((IndexedCell) node).getIndex();
+                if (index >= 0) {
+                    first = Math.min(first, index);
+                    last = Math.max(last, index);
+                }
+            }
+        }
+        return last == -1 ? null : new int[]{first, last};
+    }
+
+    /**
+     * Adds a listener that is notified when the visible range of the control changes. The default implementation
+     * listens to the scroll bars of the control.
+     *
+     * @param listener the listener
+     */
+    protected void addVisibleRangeListener(InvalidationListener listener) {
+        for (Node node : _node.lookupAll(".scroll-bar")) { //NON-NLS
+            if (node instanceof ScrollBar) {
+                ((ScrollBar) node).valueProperty().addListener(listener);
+            }
+        }
+        _node.layoutBoundsProperty().addListener(listener);
+    }
+
+    /**
+     * Removes the listener added by {@link #addVisibleRangeListener(InvalidationListener)}.
+     *
+     * @param listener the listener
+     */
+    protected void removeVisibleRangeListener(InvalidationListener listener) {
+        for (Node node : _node.lookupAll(".scroll-bar")) { //NON-NLS
+            if (node instanceof ScrollBar) {
+                ((ScrollBar) node).valueProperty().removeListener(listener);
+            }
+        }
+        _node.layoutBoundsProperty().removeListener(listener);
+    }
+
+    /**
+     * Highlights the matching elements whose indices are in the range. It is used by the lazy highlight all mode.
+     *
+     * @param from the first index, inclusive
+     * @param to   the last index, exclusive
+     * @param s    the searching text
+     */
+    protected void highlightRange(int from, int to, String s) {
+        String str = isCaseSensitive() ? s : s.toLowerCase();
+        for (int i = from; i < to; i++) {
+            if (compareAt(i, str)) {
+                highlight(i);
+            }
+        }
+    }
+
+    /**
+     * Highlights the matching element at the index in the lazy highlight all mode. Different from {@link #select(int)},
+     * it doesn't scroll to the element or move the cursor, so the next search still starts from the current match.
+     *
+     * @param index the index of the matching element
+     */
+    protected void highlight(int index) {
+        addSelectedIndex(index);
+        _selection.add(index);
+    }
+
+    /**
+     * Counts the matching elements whose indices are in the range. It is used by the lazy highlight all mode to count
+     * all the matches, one small range at a time on the JavaFX application thread.
+     *
+     * @param from the first index, inclusive
+     * @param to   the last index, exclusive
+     * @param s    the searching text
+     * @return the number of matching elements in the range.
+     */
+    protected int countMatches(int from, int to, String s) {
+        String str = isCaseSensitive() ? s : s.toLowerCase();
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            if (compareAt(i, str)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static final int HIGHLIGHT_COUNT_CHUNK_SIZE = 256;
+    private static final long HIGHLIGHT_COUNT_TIME_PER_FRAME = 4_000_000L; // in nanoseconds
+
+    private void startLazyHighlight(String text) {
+        stopLazyHighlight();
+        _highlightText = text;
+        highlightVisibleRange();
+        if (_visibleRangeListener == null) {
+            _visibleRangeListener = new InvalidationListener() {
+                @Override
+                public void invalidated(Observable observable) {
+                    highlightVisibleRange();
+                }
+            };
+            addVisibleRangeListener(_visibleRangeListener);
+        }
+
+        int[] indices = findAllInPrefixIndex(text);
+        if (indices != null) {
+            highlightCountFinished(indices.length);
+            return;
+        }
+
+        // counts in slices on the JavaFX application thread so that the model is never read from another thread
+        final String countText = text;
+        _highlightCounter = new AnimationTimer() {
+            private int _index = 0;
+            private int _count = 0;
+
+            @Override
+            public void handle(long now) {
+                long startTime = System.nanoTime();
+                int elementCount = getSearchElementCount();
+                while (_index < elementCount && System.nanoTime() - startTime < HIGHLIGHT_COUNT_TIME_PER_FRAME) {
+                    int to = Math.min(_index + HIGHLIGHT_COUNT_CHUNK_SIZE, elementCount);
+                    _count += countMatches(_index, to, countText);
+                    _index = to;
+                }
+                if (_index >= elementCount) {
+                    stop();
+                    if (_highlightCounter == this) {
+                        _highlightCounter = null;
+                        highlightCountFinished(_count);
+                    }
+                }
+            }
+        };
+        _highlightCounter.start();
+    }
+
+    private void highlightCountFinished(int count) {
+        highlightCountPropertyImpl().set(count);
+        updateText(getTypedText() + " " + MessageFormat.format(getResourceString("Searchable.found"), count));
+    }
+
+    private void highlightVisibleRange() {
+        int[] range = getVisibleRange();
+        if (_highlightText == null || range == null) {
+            return;
+        }
+        int from = Math.max(0, range[0] - getHighlightMargin());
+        int to = Math.min(getSearchElementCount(), range[1] + 1 + getHighlightMargin());
+        if (_highlightedFrom == -1 || to < _highlightedFrom || from > _highlightedTo) {
+            highlightRange(from, to, _highlightText);
+            _highlightedFrom = from;
+            _highlightedTo = to;
+        }
+        else {
+            // only the part that was not highlighted before
+            if (from < _highlightedFrom) {
+                highlightRange(from, _highlightedFrom, _highlightText);
+                _highlightedFrom = from;
+            }
+            if (to > _highlightedTo) {
+                highlightRange(_highlightedTo, to, _highlightText);
+                _highlightedTo = to;
+            }
+        }
+    }
+
+    /**
+     * Stops the lazy highlight all and removes the highlights, except the current match.
+     */
+    private void clearLazyHighlight() {
+        boolean highlighted = _highlightedFrom != -1;
+        stopLazyHighlight();
+        if (highlighted) {
+            int index = getMatchingIndex();
+            setSelectedIndex(index, false);
+            setCursor(index, false);
+        }
+    }
+
+    private void stopLazyHighlight() {
+        if (_visibleRangeListener != null) {
+            removeVisibleRangeListener(_visibleRangeListener);
+            _visibleRangeListener = null;
+        }
+        if (_highlightCounter != null) {
+            _highlightCounter.stop();
+            _highlightCounter = null;
+            searchCancelled();
+        }
+        _highlightText = null;
+        _highlightedFrom = -1;
+        _highlightedTo = -1;
+        highlightCountPropertyImpl().set(-1);
+    }
+
     /**
      * Select the index for the searching text.
      *
@@ -446,7 +824,7 @@ public abstract class Searchable<T> {
         if (index != -1) {
             setSelectedIndex(index, true);
             setCursor(index, true);
-            setMatchingElement(getElementAt(index));
+            setMatchingElement(index < getElementCount() ? getElementAt(index) : null);
             setMatchingIndex(index);
         }
         else {
@@ -464,25 +842,23 @@ public abstract class Searchable<T> {
      */
     public int findNext(String s) {
         String str = isCaseSensitive() ? s : s.toLowerCase();
-        int count = getElementCount();
+        int count = getSearchElementCount();
         if (count == 0)
             return s.length() > 0 ? -1 : 0;
         int selectedIndex = getCurrentIndex();
         for (int i = selectedIndex + 1; i < count; i++) {
-            T element = getElementAt(i);
-            if (compare(element, str))
+            if (compareAt(i, str))
                 return i;
         }
 
         if (isRepeats()) {
             for (int i = 0; i < selectedIndex; i++) {
-                T element = getElementAt(i);
-                if (compare(element, str))
+                if (compareAt(i, str))
                     return i;
             }
         }
 
-        return selectedIndex == -1 ? -1 : (compare(getElementAt(selectedIndex), str) ? selectedIndex : -1);
+        return selectedIndex == -1 ? -1 : (compareAt(selectedIndex, str) ? selectedIndex : -1);
     }
 
     protected int getCurrentIndex() {
@@ -503,24 +879,22 @@ public abstract class Searchable<T> {
      */
     public int findPrevious(String s) {
         String str = isCaseSensitive() ? s : s.toLowerCase();
-        int count = getElementCount();
+        int count = getSearchElementCount();
         if (count == 0)
             return s.length() > 0 ? -1 : 0;
         int selectedIndex = getCurrentIndex();
         for (int i = selectedIndex - 1; i >= 0; i--) {
-            T element = getElementAt(i);
-            if (compare(element, str))
+            if (compareAt(i, str))
                 return i;
         }
 
         if (isRepeats()) {
             for (int i = count - 1; i >= selectedIndex; i--) {
-                T element = getElementAt(i);
-                if (compare(element, str))
+                if (compareAt(i, str))
                     return i;
             }
         }
-        return selectedIndex == -1 ? -1 : (compare(getElementAt(selectedIndex), str) ? selectedIndex : -1);
+        return selectedIndex == -1 ? -1 : (compareAt(selectedIndex, str) ? selectedIndex : -1);
     }
 
     /**
@@ -540,21 +914,31 @@ public abstract class Searchable<T> {
         int selectedIndex = getCurrentIndex();
         if (selectedIndex < 0)
             selectedIndex = 0;
-        int count = getElementCount();
+        int count = getSearchElementCount();
         if (count == 0)
             return -1; // no match
 
+        int[] indices = findAllInPrefixIndex(s);
+        if (indices != null) {
+            if (indices.length == 0) {
+                return -1;
+            }
+            int found = Arrays.binarySearch(indices, selectedIndex);
+            if (found < 0) {
+                found = -found - 1;
+            }
+            return indices[found < indices.length ? found : 0];
+        }
+
         // find from cursor
         for (int i = selectedIndex; i < count; i++) {
-            T element = getElementAt(i);
-            if (compare(element, str))
+            if (compareAt(i, str))
                 return i;
         }
 
         // if not found, start over from the beginning
         for (int i = 0; i < selectedIndex; i++) {
-            T element = getElementAt(i);
-            if (compare(element, str))
+            if (compareAt(i, str))
                 return i;
         }
 
@@ -576,21 +960,31 @@ public abstract class Searchable<T> {
         int selectedIndex = getCurrentIndex();
         if (selectedIndex < 0)
             selectedIndex = 0;
-        int count = getElementCount();
+        int count = getSearchElementCount();
         if (count == 0)
             return -1; // no match
 
+        int[] indices = findAllInPrefixIndex(s);
+        if (indices != null) {
+            if (indices.length == 0) {
+                return -1;
+            }
+            int found = Arrays.binarySearch(indices, selectedIndex);
+            if (found < 0) {
+                found = -found - 2;
+            }
+            return indices[found >= 0 ? found : indices.length - 1];
+        }
+
         // find from cursor to beginning
         for (int i = selectedIndex; i >= 0; i--) {
-            T element = getElementAt(i);
-            if (compare(element, str))
+            if (compareAt(i, str))
                 return i;
         }
 
         // if not found, start over from the end
         for (int i = count - 1; i >= selectedIndex; i--) {
-            T element = getElementAt(i);
-            if (compare(element, str))
+            if (compareAt(i, str))
                 return i;
         }
 
@@ -605,14 +999,18 @@ public abstract class Searchable<T> {
      */
     public int findFirst(String s) {
         String str = isCaseSensitive() ? s : s.toLowerCase();
-        int count = getElementCount();
+        int count = getSearchElementCount();
         if (count == 0)
             return s.length() > 0 ? -1 : 0;
 
+        int[] indices = findAllInPrefixIndex(s);
+        if (indices != null) {
+            return indices.length == 0 ? -1 : indices[isReverseOrder() ? indices.length - 1 : 0];
+        }
+
         for (int i = 0; i < count; i++) {
             int index = getIndex(count, i);
-            T element = getElementAt(index);
-            if (compare(element, str))
+            if (compareAt(index, str))
                 return index;
         }
 
@@ -627,12 +1025,17 @@ public abstract class Searchable<T> {
      */
     public int findLast(String s) {
         String str = isCaseSensitive() ? s : s.toLowerCase();
-        int count = getElementCount();
+        int count = getSearchElementCount();
         if (count == 0)
             return s.length() > 0 ? -1 : 0;
+
+        int[] indices = findAllInPrefixIndex(s);
+        if (indices != null) {
+            return indices.length == 0 ? -1 : indices[indices.length - 1];
+        }
+
         for (int i = count - 1; i >= 0; i--) {
-            T element = getElementAt(i);
-            if (compare(element, str))
+            if (compareAt(i, str))
                 return i;
         }
         return -1;
@@ -1127,10 +1530,15 @@ public abstract class Searchable<T> {
 
                 protected void applyText() {
                     String text = getTypedText().trim();
+                    if (_highlightText != null && !_highlightText.trim().equals(text)) {
+                        clearLazyHighlight(); // the matches of the old text are not highlighted anymore
+                    }
                     setSearchingText(text);
                     if (text.length() != 0) {
-                        int found = findFromCursor(text);
+                        long startTime = searchStarted();
+                        int found = isFuzzy() ? findBestMatch(text) : findFromCursor(text);
                         select(found, null);
+                        searchFinished(isFuzzy() ? "findBestMatch" : "findFromCursor", text, startTime); //NON-NLS
                     }
                     else {
                         hidePopup();
@@ -1141,6 +1549,7 @@ public abstract class Searchable<T> {
                     timer.setDelay(getSearchingDelay());
                     if (!Duration.ZERO.equals(getSearchingDelay())) {
                         if (timer.getStatus() == Animation.Status.RUNNING) {
+                            searchCancelled(); // the pending search is replaced by the new text
                             timer.stop();
                             timer.play();
                         }
@@ -1228,6 +1637,11 @@ public abstract class Searchable<T> {
             String text = getTypedText();
             if (e.getEventType() == KeyEvent.KEY_PRESSED) {
                 if (isSelectAllKey(e)) {
+                    if (isLazyHighlight() && getVisibleRange() != null) {
+                        highlightAll();
+                        e.consume();
+                        return;
+                    }
                     int count = selectAll(e, text);
                     updateText(text + " " + MessageFormat.format(getResourceString("Searchable.found"), count));
                     e.consume();
@@ -1236,26 +1650,34 @@ public abstract class Searchable<T> {
 
                 int found;
                 if (isFindPreviousKey(e)) {
+                    long startTime = searchStarted();
                     found = findPrevious(text);
                     select(found, e);
+                    searchFinished("findPrevious", text, startTime); //NON-NLS
                     e.consume();
                     return;
                 }
                 else if (isFindNextKey(e)) {
+                    long startTime = searchStarted();
                     found = findNext(text);
                     select(found, e);
+                    searchFinished("findNext", text, startTime); //NON-NLS
                     e.consume();
                     return;
                 }
                 else if (isFindFirstKey(e)) {
+                    long startTime = searchStarted();
                     found = findFirst(text);
                     select(found, e);
+                    searchFinished("findFirst", text, startTime); //NON-NLS
                     e.consume();
                     return;
                 }
                 else if (isFindLastKey(e)) {
+                    long startTime = searchStarted();
                     found = findLast(text);
                     select(found, e);
+                    searchFinished("findLast", text, startTime); //NON-NLS
                     e.consume();
                     return;
                 }
@@ -1363,6 +1785,42 @@ public abstract class Searchable<T> {
         return _popup != null;
     }
 
+    public BooleanProperty fuzzyProperty() {
+        if (_fuzzyProperty == null) {
+            _fuzzyProperty = new SimpleBooleanProperty(this, "fuzzy") { //NON-NLS
+                @Override
+                protected void invalidated() {
+                    super.invalidated();
+                    hidePopup();
+                }
+            };
+        }
+        return _fuzzyProperty;
+    }
+
+    /**
+     * Checks if the fuzzy mode is on.
+     *
+     * @return true if the fuzzy mode is on.
+     * @see #setFuzzy(boolean)
+     */
+    public boolean isFuzzy() {
+        return fuzzyProperty().get();
+    }
+
+    /**
+     * Turns the fuzzy mode on or off. In the fuzzy mode, an element matches if all the characters of the searching
+     * text appear in the element string in the same order, not necessarily next to each other, see {@link
+     * FuzzyMatcher}. {@link #isFromStart()} and the wildcards are ignored. While typing in the popup, the element with
+     * the best score, not the next matching element, is selected, see {@link #findBestMatches(String, int)}. The find
+     * next/previous keys still go through the matching elements in order. By default, it's false.
+     *
+     * @param fuzzy true to turn on the fuzzy mode.
+     */
+    public void setFuzzy(boolean fuzzy) {
+        fuzzyProperty().set(fuzzy);
+    }
+
     public BooleanProperty fromStartProperty() {
         if (_fromStartProperty == null) {
             _fromStartProperty = new SimpleBooleanProperty(this, "fromStart") { //NON-NLS
@@ -1480,17 +1938,563 @@ public abstract class Searchable<T> {
      * @return the list of indices.
      */
     public java.util.List<Integer> findAll(String s) {
+        long startTime = searchStarted();
         String str = isCaseSensitive() ? s : s.toLowerCase();
         java.util.List<Integer> list = new ArrayList<>();
-        for (int i = 0, count = getElementCount(); i < count; i++) {
-            T element = getElementAt(i);
-            if (compare(element, str)) {
-                list.add(i);
+        int[] indices = findAllInPrefixIndex(s);
+        if (indices != null) {
+            for (int index : indices) {
+                list.add(index);
+            }
+        }
+        else {
+            for (int i = 0, count = getSearchElementCount(); i < count; i++) {
+                if (compareAt(i, str)) {
+                    list.add(i);
+                }
             }
         }
+        searchFinished("findAll", s, startTime); //NON-NLS
         return list;
     }
 
+    /**
+     * {@code findAllParallel} does the same as {@link #findAll(String)} but splits the elements into chunks and
+     * searches them in parallel on the common fork-join pool. It is useful for bulk operations such as exporting all
+     * the matches of a model with millions of elements. If the prefix index is ready (see {@link
+     * #setPrefixIndexEnabled(boolean)}), the element strings cached in the index are copied on the calling thread and
+     * used instead of converting each element again.
+     * <p>
+     * The searching text is compiled once before the search and all the workers share the compiled matcher. The element
+     * strings are matched using the same rule as the default {@link #compareAsString(String, String)}, so the overrides
+     * of {@link #compare(Object, String)} and {@link #compareAsString(String, String)} are not used.
+     * <p>
+     * Please note, {@link #getElementAt(int)} and {@link #convertElementToString(Object)} will be called from the
+     * fork-join worker threads, so they must be thread safe and the model should not be changed until this method
+     * returns.
+     *
+     * @param s the searching string.
+     * @return the indices of the matching elements in ascending order.
+     */
+    public int[] findAllParallel(String s) {
+        String str = isCaseSensitive() ? s : s.toLowerCase();
+        int[] indices = findAllInPrefixIndex(s);
+        if (indices != null) {
+            return indices;
+        }
+        int count = getSearchElementCount();
+        if (count == 0) {
+            return new int[0];
+        }
+        SearchMatcher matcher = createSearchMatcher(str);
+        return ForkJoinPool.commonPool().invoke(new FindAllTask(str, matcher, getPrefixIndexSnapshot(), getDataSourceReader(), 0, count));
+    }
+
+    private static final int FIND_ALL_CHUNK_SIZE = 4096;
+
+    /**
+     * Finds the element that matches the searching text with the best score in the fuzzy mode. See {@link
+     * #findBestMatches(String, int)}.
+     *
+     * @param s the searching text
+     * @return the index of the best matching element. -1 if nothing matches.
+     */
+    public int findBestMatch(String s) {
+        int[] indices = findBestMatches(s, 1);
+        return indices.length == 0 ? -1 : indices[0];
+    }
+
+    /**
+     * Finds the elements that match the searching text with the best scores of the {@link FuzzyMatcher}. The
+     * elements only keep the best matches, so the memory used is proportional to the limit, not the number of
+     * elements. If a data source is set or the prefix index is ready, the element strings are taken from them and
+     * scanned in parallel chunks on the common fork-join pool. The strings of the prefix index are copied on the calling
+     * thread first. Otherwise the elements are converted and scanned on the calling thread, because {@link
+     * #getElementAt(int)} and {@link #convertElementToString(Object)} are not safe to call from other threads.
+     * <p>
+     * It should be called on the JavaFX application thread.
+     *
+     * @param s     the searching text
+     * @param limit the maximum number of elements to find
+     * @return the indices of the best matching elements, the best first. Elements with the same score are in the order
+     *         of the indices.
+     */
+    public int[] findBestMatches(String s, int limit) {
+        int count = getSearchElementCount();
+        if (count == 0 || limit <= 0) {
+            return new int[0];
+        }
+        FuzzyMatcher matcher = new FuzzyMatcher(s, isCaseSensitive());
+        FuzzyMatcher.TopK topK = new FuzzyMatcher.TopK(limit);
+        SearchDataSourceReader dataSourceReader = getDataSourceReader();
+        String[] snapshot = dataSourceReader == null ? getPrefixIndexSnapshot() : null;
+        if (dataSourceReader != null || snapshot != null) {
+            topK.offerAll(ForkJoinPool.commonPool().invoke(new BestMatchesTask(matcher, limit, snapshot, dataSourceReader, 0, count)));
+        }
+        else {
+            // the elements can only be read on this thread
+            for (int i = 0; i < count; i++) {
+                String text = convertElementToString(getElementAt(i));
+                int score = text != null ? matcher.score(text) : FuzzyMatcher.NO_MATCH;
+                if (score != FuzzyMatcher.NO_MATCH) {
+                    topK.offer(FuzzyMatcher.TopK.encode(score, i));
+                }
+            }
+        }
+        long[] matches = topK.toSortedArray();
+        int[] indices = new int[matches.length];
+        for (int i = 0; i < matches.length; i++) {
+            indices[i] = FuzzyMatcher.TopK.decodeIndex(matches[i]);
+        }
+        _scanned += count;
+        return indices;
+    }
+
+    /**
+     * Gets the element string for a parallel task. The strings from a data source are read for the whole chunk in
+     * advance.
+     *
+     * @param index    the index of the element
+     * @param snapshot the element strings taken from the prefix index on the JavaFX application thread. Null if not
+     *                 used.
+     * @param texts    the strings read from the data source for the chunk starting at {@code from}. Null if there is
+     *                 no data source.
+     * @param from     the index of the first element in the chunk
+     * @return the element string.
+     */
+    private String getSearchTextAt(int index, String[] snapshot, String[] texts, int from) {
+        if (texts != null) {
+            return texts[index - from];
+        }
+        if (snapshot != null) {
+            return index < snapshot.length ? snapshot[index] : null;
+        }
+        return convertElementToString(getElementAt(index));
+    }
+
+    /**
+     * Takes a snapshot of the element strings from the prefix index. It must be called on the JavaFX application thread
+     * because the index is patched on that thread when the list changes.
+     *
+     * @return the element strings in the model order. Null if the prefix index is not ready.
+     */
+    private String[] getPrefixIndexSnapshot() {
+        SearchablePrefixIndex<T> prefixIndex = getPrefixIndex();
+        return prefixIndex != null ? prefixIndex.getTexts() : null;
+    }
+
+    private class BestMatchesTask extends RecursiveTask<long[]> {
+        private static final long serialVersionUID = -6150497291716532014L;
+        private final FuzzyMatcher _matcher;
+        private final int _limit;
+        private final String[] _snapshot;
+        private final SearchDataSourceReader _dataSourceReader;
+        private final int _from;
+        private final int _to;
+
+        BestMatchesTask(FuzzyMatcher matcher, int limit, String[] snapshot, SearchDataSourceReader dataSourceReader, int from, int to) {
+            _matcher = matcher;
+            _limit = limit;
+            _snapshot = snapshot;
+            _dataSourceReader = dataSourceReader;
+            _from = from;
+            _to = to;
+        }
+
+        @Override
+        protected long[] compute() {
+            if (_to - _from <= FIND_ALL_CHUNK_SIZE) {
+                FuzzyMatcher.TopK topK = new FuzzyMatcher.TopK(_limit);
+                String[] texts = _dataSourceReader != null ? _dataSourceReader.getTexts(_from, _to) : null;
+                for (int i = _from; i < _to; i++) {
+                    String text = getSearchTextAt(i, _snapshot, texts, _from);
+                    int score = text != null ? _matcher.score(text) : FuzzyMatcher.NO_MATCH;
+                    if (score != FuzzyMatcher.NO_MATCH) {
+                        topK.offer(FuzzyMatcher.TopK.encode(score, i));
+                    }
+                }
+                return topK.toArray();
+            }
+
+            int middle = (_from + _to) >>> 1;
+            BestMatchesTask left = new BestMatchesTask(_matcher, _limit, _snapshot, _dataSourceReader, _from, middle);
+            BestMatchesTask right = new BestMatchesTask(_matcher, _limit, _snapshot, _dataSourceReader, middle, _to);
+            left.fork();
+            long[] rightMatches = right.compute();
+            long[] leftMatches = left.join();
+            FuzzyMatcher.TopK topK = new FuzzyMatcher.TopK(_limit);
+            topK.offerAll(leftMatches);
+            topK.offerAll(rightMatches);
+            return topK.toArray();
+        }
+    }
+
+    private class FindAllTask extends RecursiveTask<int[]> {
+        private static final long serialVersionUID = 2384527750914521658L;
+        private final String _searchingText;
+        private final SearchMatcher _matcher;
+        private final String[] _snapshot;
+        private final SearchDataSourceReader _dataSourceReader;
+        private final int _from;
+        private final int _to;
+
+        FindAllTask(String searchingText, SearchMatcher matcher, String[] snapshot, SearchDataSourceReader dataSourceReader, int from, int to) {
+            _searchingText = searchingText;
+            _matcher = matcher;
+            _snapshot = snapshot;
+            _dataSourceReader = dataSourceReader;
+            _from = from;
+            _to = to;
+        }
+
+        @Override
+        protected int[] compute() {
+            if (_to - _from <= FIND_ALL_CHUNK_SIZE) {
+                int[] indices = new int[Math.min(_to - _from, 64)];
+                int size = 0;
+                String[] texts = _dataSourceReader != null ? _dataSourceReader.getTexts(_from, _to) : null;
+                for (int i = _from; i < _to; i++) {
+                    if (compareAsString(getSearchTextAt(i, _snapshot, texts, _from), _searchingText, _matcher)) {
+                        if (size == indices.length) {
+                            indices = Arrays.copyOf(indices, Math.min(size * 2, _to - _from));
+                        }
+                        indices[size++] = i;
+                    }
+                }
+                return size == indices.length ? indices : Arrays.copyOf(indices, size);
+            }
+
+            int middle = (_from + _to) >>> 1;
+            FindAllTask left = new FindAllTask(_searchingText, _matcher, _snapshot, _dataSourceReader, _from, middle);
+            FindAllTask right = new FindAllTask(_searchingText, _matcher, _snapshot, _dataSourceReader, middle, _to);
+            left.fork();
+            int[] rightIndices = right.compute();
+            int[] leftIndices = left.join();
+            int[] indices = Arrays.copyOf(leftIndices, leftIndices.length + rightIndices.length);
+            System.arraycopy(rightIndices, 0, indices, leftIndices.length, rightIndices.length);
+            return indices;
+        }
+    }
+
+    public BooleanProperty prefixIndexEnabledProperty() {
+        if (_prefixIndexEnabledProperty == null) {
+            _prefixIndexEnabledProperty = new SimpleBooleanProperty(this, "prefixIndexEnabled") { //NON-NLS
+                @Override
+                protected void invalidated() {
+                    super.invalidated();
+                    resetPrefixIndex();
+                }
+            };
+        }
+        return _prefixIndexEnabledProperty;
+    }
+
+    /**
+     * Checks if the prefix index is enabled.
+     *
+     * @return true if the prefix index is enabled.
+     * @see #setPrefixIndexEnabled(boolean)
+     */
+    public boolean isPrefixIndexEnabled() {
+        return prefixIndexEnabledProperty().get();
+    }
+
+    /**
+     * Enables or disables the prefix index. If enabled and the Searchable supports it (see {@link
+     * #createPrefixIndex()}), the element strings are kept in a sorted index so that when {@link #isFromStart()} is
+     * true, {@link #findFirst(String)}, {@link #findLast(String)}, {@link #findAll(String)} and {@link
+     * #findFromCursor(String)} can binary search to the matching elements instead of comparing every element. By
+     * default, it's false.
+     * <p>
+     * The index compares the strings returned from {@link #convertElementToString(Object)} using the prefix rule, so
+     * it is not used if you override {@link #compare(Object, String)} or {@link #compareAsString(String, String)} to
+     * match differently.
+     *
+     * @param prefixIndexEnabled true to enable the prefix index.
+     */
+    public void setPrefixIndexEnabled(boolean prefixIndexEnabled) {
+        prefixIndexEnabledProperty().set(prefixIndexEnabled);
+    }
+
+    /**
+     * Creates the prefix index for this Searchable. The default implementation returns null which means the prefix
+     * index is not supported. Subclasses whose elements are the items of an {@code ObservableList} at the same indices
+     * can return a {@link SearchablePrefixIndex} for that list.
+     *
+     * @return the prefix index. Null if not supported.
+     */
+    protected SearchablePrefixIndex<T> createPrefixIndex() {
+        return null;
+    }
+
+    /**
+     * Disposes the current prefix index and creates a new one if {@link #isPrefixIndexEnabled()} is true. Subclasses
+     * should call this method when the underlying list is replaced.
+     */
+    protected void resetPrefixIndex() {
+        if (_prefixIndex != null) {
+            _prefixIndex.dispose();
+            _prefixIndex = null;
+        }
+        if (isPrefixIndexEnabled()) {
+            _prefixIndex = createPrefixIndex();
+            if (_prefixIndex != null) {
+                _prefixIndex.install();
+            }
+        }
+    }
+
+    /**
+     * Gets the prefix index if it is ready to be used.
+     *
+     * @return the prefix index. Null if the prefix index is disabled, not supported, or still being built.
+     */
+    protected SearchablePrefixIndex<T> getPrefixIndex() {
+        return _prefixIndex != null && _prefixIndex.isReady() && getDataSource() == null ? _prefixIndex : null;
+    }
+
+    public ObjectProperty<SearchDataSource> dataSourceProperty() {
+        if (_dataSourceProperty == null) {
+            _dataSourceProperty = new SimpleObjectProperty<SearchDataSource>(this, "dataSource") { //NON-NLS
+                @Override
+                protected void invalidated() {
+                    super.invalidated();
+                    _dataSourceReader = null;
+                }
+            };
+        }
+        return _dataSourceProperty;
+    }
+
+    /**
+     * Gets the data source that serves the element strings.
+     *
+     * @return the data source. Null if the element strings come from the control.
+     * @see #setDataSource(SearchDataSource)
+     */
+    public SearchDataSource getDataSource() {
+        return dataSourceProperty().get();
+    }
+
+    /**
+     * Sets the data source that serves the element strings. If set, the Searchable searches the element strings read
+     * page by page from the data source instead of the elements returned from {@link #getElementAt(int)}, so the
+     * control doesn't have to hold the whole model. For example, the ListView can hold only the elements around the
+     * visible rows while the data source reads the rest from a database cursor or a {@link
+     * MappedTextFileDataSource}. The number of elements to search is {@link SearchDataSource#getSize()} and the index
+     * of a matching element is passed to {@link #setSelectedIndex(int, boolean)} as it is, so the control must map it
+     * to the element to be selected.
+     * <p>
+     * The pages are cached while the popup is visible and dropped when it is hidden, so a change in the data source
+     * will be picked up by the next search.
+     *
+     * @param dataSource the data source. Null to search the elements in the control.
+     */
+    public void setDataSource(SearchDataSource dataSource) {
+        dataSourceProperty().set(dataSource);
+    }
+
+    private SearchDataSourceReader getDataSourceReader() {
+        SearchDataSource dataSource = getDataSource();
+        if (dataSource == null) {
+            return null;
+        }
+        if (_dataSourceReader == null || _dataSourceReader.getDataSource() != dataSource) {
+            _dataSourceReader = new SearchDataSourceReader(dataSource);
+        }
+        return _dataSourceReader;
+    }
+
+    private int getSearchElementCount() {
+        SearchDataSourceReader reader = getDataSourceReader();
+        return reader != null ? reader.getSize() : getElementCount();
+    }
+
+    private boolean compareAt(int index, String searchingText) {
+        _scanned++;
+        SearchDataSourceReader reader = getDataSourceReader();
+        if (reader != null) {
+            String text = reader.getTextAt(index);
+            return text != null && compareAsString(text, searchingText);
+        }
+        return compare(getElementAt(index), searchingText);
+    }
+
+    public BooleanProperty instrumentationEnabledProperty() {
+        if (_instrumentationEnabledProperty == null) {
+            _instrumentationEnabledProperty = new SimpleBooleanProperty(this, "instrumentationEnabled") { //NON-NLS
+                @Override
+                protected void invalidated() {
+                    super.invalidated();
+                    if (get()) {
+                        resetStatistics();
+                    }
+                }
+            };
+        }
+        return _instrumentationEnabledProperty;
+    }
+
+    /**
+     * Checks if the searches are measured.
+     *
+     * @return true if the searches are measured.
+     * @see #setInstrumentationEnabled(boolean)
+     */
+    public boolean isInstrumentationEnabled() {
+        return instrumentationEnabledProperty().get();
+    }
+
+    /**
+     * Enables or disables the instrumentation. If enabled, each search started by the user from the popup as well as
+     * each {@link #findAll(String)} call is timed from the start of the search until the match is selected, together
+     * with the number of elements compared and whether a cache such as the prefix index answered it. A search is
+     * counted as cancelled if the user types another key before the searching delay expires, or if the lazy highlight
+     * all is stopped before the matches are counted. The statistics are updated after each search, see {@link
+     * #statisticsProperty()} and {@link #addSearchStatisticsListener(SearchStatisticsListener)}. By default, it's
+     * false.
+     *
+     * @param instrumentationEnabled true to measure the searches.
+     */
+    public void setInstrumentationEnabled(boolean instrumentationEnabled) {
+        instrumentationEnabledProperty().set(instrumentationEnabled);
+    }
+
+    private ReadOnlyObjectWrapper<SearchStatistics> statisticsPropertyImpl() {
+        if (_statisticsProperty == null) {
+            _statisticsProperty = new ReadOnlyObjectWrapper<>(this, "statistics", SearchStatistics.EMPTY); //NON-NLS
+        }
+        return _statisticsProperty;
+    }
+
+    /**
+     * The statistics of the searches measured since the instrumentation was enabled. A new snapshot is set after each
+     * search.
+     *
+     * @return the statistics property.
+     */
+    public ReadOnlyObjectProperty<SearchStatistics> statisticsProperty() {
+        return statisticsPropertyImpl().getReadOnlyProperty();
+    }
+
+    public SearchStatistics getStatistics() {
+        return statisticsPropertyImpl().get();
+    }
+
+    /**
+     * Clears the statistics.
+     */
+    public void resetStatistics() {
+        _latencySamples = null;
+        _searchCount = 0;
+        _cancelledCount = 0;
+        _cacheHitCount = 0;
+        _elementsScanned = 0;
+        statisticsPropertyImpl().set(SearchStatistics.EMPTY);
+    }
+
+    /**
+     * Adds a listener that is notified after each measured search.
+     *
+     * @param listener the listener
+     */
+    public void addSearchStatisticsListener(SearchStatisticsListener listener) {
+        if (_statisticsListeners == null) {
+            _statisticsListeners = new ArrayList<>();
+        }
+        _statisticsListeners.add(listener);
+    }
+
+    /**
+     * Removes a listener that was added by {@link #addSearchStatisticsListener(SearchStatisticsListener)}.
+     *
+     * @param listener the listener
+     */
+    public void removeSearchStatisticsListener(SearchStatisticsListener listener) {
+        if (_statisticsListeners != null) {
+            _statisticsListeners.remove(listener);
+        }
+    }
+
+    /**
+     * Marks the start of a search to be measured. Subclasses that search without the find methods of this class can
+     * call it and then {@link #searchFinished(String, String, long)} to include their searches in the statistics.
+     *
+     * @return the start time to be passed to {@link #searchFinished(String, String, long)}. 0 if the instrumentation
+     *         is disabled.
+     */
+    protected long searchStarted() {
+        if (!isInstrumentationEnabled()) {
+            return 0;
+        }
+        _scanned = 0;
+        _cacheHit = false;
+        return System.nanoTime();
+    }
+
+    /**
+     * Marks the end of a search to be measured and updates the statistics.
+     *
+     * @param operation     the name of the search operation
+     * @param searchingText the searching text
+     * @param startTime     the value returned from {@link #searchStarted()}
+     */
+    protected void searchFinished(String operation, String searchingText, long startTime) {
+        if (startTime == 0 || !isInstrumentationEnabled()) {
+            return;
+        }
+        long latency = System.nanoTime() - startTime;
+        if (_latencySamples == null) {
+            _latencySamples = new long[LATENCY_SAMPLE_SIZE];
+        }
+        _latencySamples[(int) (_searchCount % LATENCY_SAMPLE_SIZE)] = latency;
+        _searchCount++;
+        if (_cacheHit) {
+            _cacheHitCount++;
+        }
+        _elementsScanned += _scanned;
+        SearchStatistics statistics = new SearchStatistics(_searchCount, _cancelledCount, _cacheHitCount, _elementsScanned,
+                Arrays.copyOf(_latencySamples, (int) Math.min(_searchCount, LATENCY_SAMPLE_SIZE)));
+        statisticsPropertyImpl().set(statistics);
+        if (_statisticsListeners != null && !_statisticsListeners.isEmpty()) {
+            SearchStatistics.Sample sample = new SearchStatistics.Sample(operation, searchingText, latency, _scanned, _cacheHit);
+            for (SearchStatisticsListener listener : new ArrayList<>(_statisticsListeners)) {
+                listener.searchMeasured(this, sample, statistics);
+            }
+        }
+    }
+
+    /**
+     * Counts a search that was cancelled before it finished.
+     */
+    protected void searchCancelled() {
+        if (isInstrumentationEnabled()) {
+            _cancelledCount++;
+        }
+    }
+
+    private int[] findAllInPrefixIndex(String s) {
+        SearchablePrefixIndex<T> prefixIndex = getPrefixIndex();
+        if (prefixIndex == null || !isFromStart() || isFuzzy() || s == null || s.trim().length() == 0 || hasWildcard(s)) {
+            return null;
+        }
+        _cacheHit = true;
+        return prefixIndex.findAll(s, isCaseSensitive());
+    }
+
+    private boolean hasWildcard(String s) {
+        if (!isWildcardEnabled()) {
+            return false;
+        }
+        WildcardSupport wildcardSupport = getWildcardSupport();
+        for (char c : new char[]{wildcardSupport.getZeroOrOneQuantifier(), wildcardSupport.getZeroOrMoreQuantifier(), wildcardSupport.getOneOrMoreQuantifier()}) {
+            if (c != 0 && s.indexOf(c) != -1) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Gets the element at the specified index as string using {@link #convertElementToString(Object)} method.
      *
@@ -0,0 +1,474 @@
+/*
+ * @(#)SearchablePrefixIndex.java 10/18/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+
+package jidefx.scene.control.searchable;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.concurrent.Task;
+import javafx.concurrent.WorkerStateEvent;
+import javafx.event.EventHandler;
+import jidefx.utils.CommonUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@code SearchablePrefixIndex} is an index of the element strings of a {@link Searchable} that is backed by an
+ * {@code ObservableList}. It keeps the element strings sorted by their case folded form so that a prefix search (when
+ * {@link Searchable#isFromStart()} is true) can binary search straight to the range of matching elements instead of
+ * comparing with every element.
+ * <p>
+ * The index is built in a background thread the first time. Until it is ready, {@link #isReady()} returns false and
+ * the Searchable falls back to the regular linear search. After that, it listens to the ObservableList and patches
+ * itself incrementally. A change of a few elements is inserted into the sorted entries one by one, a larger change is
+ * sorted and merged into them in one pass. A change that is larger than {@link #getPatchLimit()} will trigger a full
+ * rebuild in the background thread again.
+ * <p>
+ * Because the element strings are converted in a background thread, {@link Searchable#convertElementToString(Object)}
+ * must be thread safe when the index is used.
+ *
+ * @param <T> the element type in the list.
+ */
+@SuppressWarnings("Convert2Lambda")
+public class SearchablePrefixIndex<T> {
+    private final Searchable<T> _searchable;
+    private final ObservableList<T> _items;
+    private ListChangeListener<T> _listChangeListener;
+
+    private List<Entry> _entriesByIndex; // in model order
+    private List<Entry> _sortedEntries; // sorted by the folded text
+    private boolean _indicesDirty; // the indices of the entries are updated lazily after elements are moved
+    private Task<Entry[]> _task;
+    private int _patchLimit = 1000;
+
+    private static final int INSERT_LIMIT = 8; // a larger change is merged instead of shifting the entries per element
+
+    private static final Comparator<Entry> ENTRY_COMPARATOR = new Comparator<Entry>() {
+        @Override
+        public int compare(Entry o1, Entry o2) {
+            int result = CommonUtils.compareIgnoreCase(o1.text, o2.text);
+            return result != 0 ? result : o1.index - o2.index;
+        }
+    };
+
+    static final class Entry {
+        final String text;
+        int index; // only valid when the index is not dirty
+
+        Entry(String text, int index) {
+            this.text = text;
+            this.index = index;
+        }
+    }
+
+    /**
+     * Creates a prefix index.
+     *
+     * @param searchable the Searchable that will use the index. Its {@code convertElementToString} method is used to
+     *                   convert the elements to strings.
+     * @param items      the list whose elements are at the same indices as the elements of the Searchable.
+     */
+    public SearchablePrefixIndex(Searchable<T> searchable, ObservableList<T> items) {
+        _searchable = searchable;
+        _items = items;
+    }
+
+    /**
+     * Starts to listen to the list and builds the index in a background thread.
+     */
+    public void install() {
+        install(true);
+    }
+
+    /**
+     * Starts to listen to the list and builds the index.
+     *
+     * @param background true to build the index in a background thread, false to build it on the calling thread.
+     */
+    void install(boolean background) {
+        if (_listChangeListener == null) {
+            _listChangeListener = new ListChangeListener<T>() {
+                @Override
+                public void onChanged(Change<? extends T> c) {
+                    listChanged(c);
+                }
+            };
+            _items.addListener(_listChangeListener);
+        }
+        if (background) {
+            rebuild();
+        }
+        else {
+            cancelTask();
+            setEntries(createEntries(_items, null));
+        }
+    }
+
+    /**
+     * Stops listening to the list and releases the index.
+     */
+    public void dispose() {
+        if (_listChangeListener != null) {
+            _items.removeListener(_listChangeListener);
+            _listChangeListener = null;
+        }
+        cancelTask();
+        _entriesByIndex = null;
+        _sortedEntries = null;
+    }
+
+    /**
+     * Checks if the index has been built and is in sync with the list.
+     *
+     * @return true if the index is ready.
+     */
+    public boolean isReady() {
+        return _sortedEntries != null;
+    }
+
+    /**
+     * Gets the maximum number of added and removed elements in a list change that will be patched into the index. A
+     * larger change will cause a full rebuild in the background thread.
+     *
+     * @return the patch limit.
+     */
+    public int getPatchLimit() {
+        return _patchLimit;
+    }
+
+    /**
+     * Sets the maximum number of added and removed elements in a list change that will be patched into the index.
+     *
+     * @param patchLimit the patch limit.
+     */
+    public void setPatchLimit(int patchLimit) {
+        _patchLimit = patchLimit;
+    }
+
+    /**
+     * Gets the element string at the specified index as it was cached in the index.
+     *
+     * @param index the index of the element.
+     * @return the element string. Null if the index is not ready.
+     */
+    public String getTextAt(int index) {
+        List<Entry> entries = _entriesByIndex;
+        return entries != null && index >= 0 && index < entries.size() ? entries.get(index).text : null;
+    }
+
+    /**
+     * Gets a copy of all the element strings cached in the index. The copy can be read from other threads, while the
+     * index itself must only be used on the JavaFX application thread.
+     *
+     * @return the element strings in the model order. Null if the index is not ready.
+     */
+    public String[] getTexts() {
+        List<Entry> entries = _entriesByIndex;
+        if (entries == null) {
+            return null;
+        }
+        String[] texts = new String[entries.size()];
+        for (int i = 0; i < texts.length; i++) {
+            texts[i] = entries.get(i).text;
+        }
+        return texts;
+    }
+
+    /**
+     * Finds all elements whose string starts with the prefix.
+     *
+     * @param prefix        the prefix.
+     * @param caseSensitive true to match the case. Otherwise the case is ignored.
+     * @return the indices of the matching elements in ascending order. Null if the index is not ready.
+     */
+    public int[] findAll(String prefix, boolean caseSensitive) {
+        if (!isReady()) {
+            return null;
+        }
+        updateIndices();
+        int from = lowerBound(prefix);
+        int to = upperBound(prefix, from);
+        int[] indices = new int[to - from];
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            Entry entry = _sortedEntries.get(i);
+            if (!caseSensitive || entry.text.startsWith(prefix)) {
+                indices[count++] = entry.index;
+            }
+        }
+        if (count != indices.length) {
+            indices = Arrays.copyOf(indices, count);
+        }
+        Arrays.sort(indices);
+        return indices;
+    }
+
+    private int lowerBound(String prefix) {
+        int low = 0;
+        int high = _sortedEntries.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (CommonUtils.comparePrefixIgnoreCase(_sortedEntries.get(mid).text, prefix) < 0) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int upperBound(String prefix, int from) {
+        int low = from;
+        int high = _sortedEntries.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (CommonUtils.comparePrefixIgnoreCase(_sortedEntries.get(mid).text, prefix) <= 0) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Rebuilds the whole index in a background thread. The index is not ready until the rebuild is done.
+     */
+    public void rebuild() {
+        cancelTask();
+        _entriesByIndex = null;
+        _sortedEntries = null;
+
+        final List<T> snapshot = new ArrayList<>(_items);
+        _task = new Task<Entry[]>() {
+            @Override
+            protected Entry[] call() throws Exception {
+                return createEntries(snapshot, this);
+            }
+        };
+        final Task<Entry[]> task = _task;
+        _task.setOnSucceeded(new EventHandler<WorkerStateEvent>() {
+            @Override
+            public void handle(WorkerStateEvent event) {
+                if (_task != task || task.getValue() == null) {
+                    return;
+                }
+                _task = null;
+                setEntries(task.getValue());
+            }
+        });
+        Thread thread = new Thread(_task, "SearchablePrefixIndex"); //NON-NLS
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Converts the elements and sorts the entries.
+     *
+     * @return the sorted entries. Null if the task is cancelled.
+     */
+    private Entry[] createEntries(List<T> elements, Task<?> task) {
+        Entry[] entries = new Entry[elements.size()];
+        for (int i = 0; i < entries.length; i++) {
+            if (task != null && task.isCancelled()) {
+                return null;
+            }
+            entries[i] = new Entry(convert(elements.get(i)), i);
+        }
+        Arrays.sort(entries, ENTRY_COMPARATOR);
+        return entries;
+    }
+
+    private void setEntries(Entry[] sorted) {
+        Entry[] entries = new Entry[sorted.length];
+        for (Entry entry : sorted) {
+            entries[entry.index] = entry;
+        }
+        _entriesByIndex = new ArrayList<>(Arrays.asList(entries));
+        _sortedEntries = new ArrayList<>(Arrays.asList(sorted));
+        _indicesDirty = false;
+    }
+
+    private void cancelTask() {
+        if (_task != null) {
+            _task.cancel(true);
+            _task = null;
+        }
+    }
+
+    private String convert(T element) {
+        String text = _searchable.convertElementToString(element);
+        return text != null ? text : "";
+    }
+
+    private void listChanged(ListChangeListener.Change<? extends T> c) {
+        if (!isReady()) {
+            if (_task != null) {
+                rebuild(); // the snapshot is out of date
+            }
+            return;
+        }
+
+        int changed = 0;
+        while (c.next()) {
+            changed += c.wasPermutated() ? 0 : c.getAddedSize() + c.getRemovedSize();
+        }
+        if (changed > getPatchLimit()) {
+            rebuild();
+            return;
+        }
+
+        // the entries that are moved keep their old indices, which are updated once before the next search
+        Set<Entry> removedEntries = null;
+        List<Entry> addedEntries = null;
+        if (changed > INSERT_LIMIT) {
+            removedEntries = Collections.newSetFromMap(new IdentityHashMap<Entry, Boolean>());
+            addedEntries = new ArrayList<>(changed);
+        }
+        c.reset();
+        while (c.next()) {
+            if (c.wasPermutated()) {
+                List<Entry> entries = new ArrayList<>(_entriesByIndex);
+                for (int i = c.getFrom(); i < c.getTo(); i++) {
+                    entries.set(c.getPermutation(i), _entriesByIndex.get(i));
+                }
+                _entriesByIndex = entries;
+                _indicesDirty = true;
+            }
+            else if (c.wasUpdated()) {
+                for (int i = c.getFrom(); i < c.getTo(); i++) {
+                    removeSorted(_entriesByIndex.get(i), removedEntries);
+                    Entry entry = new Entry(convert(_items.get(i)), i);
+                    _entriesByIndex.set(i, entry);
+                    insertSorted(entry, addedEntries);
+                }
+            }
+            else {
+                int from = c.getFrom();
+                if (c.wasRemoved()) {
+                    int removedSize = c.getRemovedSize();
+                    List<Entry> removed = _entriesByIndex.subList(from, from + removedSize);
+                    for (Entry entry : removed) {
+                        removeSorted(entry, removedEntries);
+                    }
+                    removed.clear();
+                    _indicesDirty = true;
+                }
+                if (c.wasAdded()) {
+                    int addedSize = c.getAddedSize();
+                    List<Entry> added = new ArrayList<>(addedSize);
+                    for (int i = from; i < c.getTo(); i++) {
+                        Entry entry = new Entry(convert(_items.get(i)), i);
+                        added.add(entry);
+                        insertSorted(entry, addedEntries);
+                    }
+                    _entriesByIndex.addAll(from, added);
+                    _indicesDirty = true;
+                }
+            }
+        }
+        if (removedEntries != null) {
+            mergeSorted(removedEntries, addedEntries);
+        }
+    }
+
+    /**
+     * Removes the entries and inserts the added entries into the sorted entries in one pass, instead of shifting the
+     * sorted entries for each of them.
+     */
+    private void mergeSorted(Set<Entry> removedEntries, List<Entry> addedEntries) {
+        List<Entry> kept = _sortedEntries;
+        if (!removedEntries.isEmpty()) {
+            kept = new ArrayList<>(_sortedEntries.size());
+            for (Entry entry : _sortedEntries) {
+                if (!removedEntries.contains(entry)) {
+                    kept.add(entry);
+                }
+            }
+        }
+        List<Entry> added = new ArrayList<>(addedEntries.size());
+        for (Entry entry : addedEntries) {
+            if (!removedEntries.contains(entry)) { // added by one change and removed by a later one
+                added.add(entry);
+            }
+        }
+        Collections.sort(added, ENTRY_COMPARATOR);
+
+        List<Entry> sorted = new ArrayList<>(kept.size() + added.size());
+        int from = 0;
+        for (Entry entry : added) {
+            int to = upperBound(kept, entry.text, from);
+            sorted.addAll(kept.subList(from, to));
+            sorted.add(entry);
+            from = to;
+        }
+        sorted.addAll(kept.subList(from, kept.size()));
+        _sortedEntries = sorted;
+    }
+
+    /**
+     * Updates the indices of all the entries after some elements were added, removed or moved. It is done once for
+     * all the changes since the last search instead of shifting the indices on each change.
+     */
+    private void updateIndices() {
+        if (!_indicesDirty) {
+            return;
+        }
+        for (int i = 0, size = _entriesByIndex.size(); i < size; i++) {
+            _entriesByIndex.get(i).index = i;
+        }
+        _indicesDirty = false;
+    }
+
+    /**
+     * Finds the index after the entries whose text is before or equal to the text, from the index {@code from}.
+     */
+    private static int upperBound(List<Entry> entries, String text, int from) {
+        int low = from;
+        int high = entries.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (CommonUtils.compareIgnoreCase(entries.get(mid).text, text) <= 0) {
+                low = mid + 1;
+            }
+            else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private void insertSorted(Entry entry, List<Entry> addedEntries) {
+        if (addedEntries != null) {
+            addedEntries.add(entry); // merged later
+            return;
+        }
+        // the entries with the same text are not ordered by index because the indices may be dirty. findAll sorts the
+        // matching indices anyway.
+        _sortedEntries.add(upperBound(_sortedEntries, entry.text, lowerBound(entry.text)), entry);
+    }
+
+    private void removeSorted(Entry entry, Set<Entry> removedEntries) {
+        if (removedEntries != null) {
+            removedEntries.add(entry); // removed later
+            return;
+        }
+        for (int i = lowerBound(entry.text), size = _sortedEntries.size(); i < size; i++) {
+            if (_sortedEntries.get(i) == entry) {
+                _sortedEntries.remove(i);
+                return;
+            }
+        }
+    }
+}
@@ -14,10 +14,16 @@ import javafx.collections.ObservableList;
 import javafx.scene.control.TableColumn;
 import javafx.scene.control.TablePosition;
 import javafx.scene.control.TableView;
+import javafx.scene.control.cell.PropertyValueFactory;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import jidefx.utils.CommonUtils;
 
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.WeakHashMap;
+
 /**
  * {@code TableSearchable} is an concrete implementation of {@link Searchable} that enables the search function in
  * TableView. <p>It's very simple to use it. Assuming you have a TableView, all you need to do is to call
@@ -60,6 +66,22 @@ public class TableViewSearchable<T> extends Searchable<Object> {
     private int[] _searchColumnIndices = {0};
     private ListChangeListener<T> _listChangeListener;
     private ChangeListener<ObservableList<T>> _itemsChangeListener;
+    private final Map<TableColumn, CellValueAccessor> _cellValueAccessors = new WeakHashMap<>();
+
+    /**
+     * The method that a {@code PropertyValueFactory} calls on the items of a class, cached per column.
+     */
+    private static class CellValueAccessor {
+        private final Object _factory;
+        private final Class<?> _itemClass;
+        private final Method _method; // null if the cell value factory is called
+
+        CellValueAccessor(Object factory, Class<?> itemClass, Method method) {
+            _factory = factory;
+            _itemClass = itemClass;
+            _method = method;
+        }
+    }
 
     public TableViewSearchable(TableView<T> tableView) {
         super(tableView);
@@ -107,17 +129,32 @@ public class TableViewSearchable<T> extends Searchable<Object> {
 
     @Override
     protected void setSelectedIndex(int index, boolean incremental) {
+        selectElement(index, incremental, true);
+    }
+
+    @Override
+    protected void addSelectedIndex(int index) {
+        selectElement(index, true, false);
+    }
+
+    private void selectElement(int index, boolean incremental, boolean scroll) {
         int majorIndex, minorIndex;
         TableView<T> table = ((TableView<T>) _node);
         if (isColumnSelectionAllowed(table)) {
             minorIndex = index;
             majorIndex = getMainIndex();
-            addTableSelection(table, majorIndex, minorIndex, incremental);
+            selectCell(table, majorIndex, minorIndex, incremental, scroll);
         }
         else if (isRowSelectionAllowed(table)) {
             majorIndex = index;
             minorIndex = getMainIndex();
-            addTableSelection(table, majorIndex, minorIndex, incremental);
+            selectCell(table, majorIndex, minorIndex, incremental, scroll);
+        }
+        else if (isSearchSelectedRows()) { // search on multi columns
+            int[] searchColumnIndices = getSearchColumnIndices();
+            majorIndex = index / searchColumnIndices.length;
+            minorIndex = searchColumnIndices[index % searchColumnIndices.length];
+            selectCell(table, majorIndex, minorIndex, incremental, scroll);
         }
         else { // cell selection allowed
             int columnCount = table.getColumns().size();
@@ -126,7 +163,16 @@ public class TableViewSearchable<T> extends Searchable<Object> {
             }
             majorIndex = index / columnCount;
             minorIndex = index % columnCount;
-            addTableSelection(table, majorIndex, minorIndex, incremental);
+            selectCell(table, majorIndex, minorIndex, incremental, scroll);
+        }
+    }
+
+    private void selectCell(TableView<T> table, int rowIndex, int columnIndex, boolean incremental, boolean scroll) {
+        if (scroll) {
+            addTableSelection(table, rowIndex, columnIndex, incremental); // it could be overridden
+        }
+        else {
+            addTableSelection(table, rowIndex, columnIndex, incremental, false);
         }
     }
 
@@ -140,15 +186,32 @@ public class TableViewSearchable<T> extends Searchable<Object> {
      * @param incremental false to clear all previous selection. True to keep the previous selection.
      */
     protected void addTableSelection(TableView<T> table, int rowIndex, int columnIndex, boolean incremental) {
+        addTableSelection(table, rowIndex, columnIndex, incremental, true);
+    }
+
+    /**
+     * Selects the cell at the specified row and column index. If incremental is true, the previous selection will not
+     * be cleared.
+     *
+     * @param table       the table
+     * @param rowIndex    the row index of the cell.
+     * @param columnIndex the column index of the cell
+     * @param incremental false to clear all previous selection. True to keep the previous selection.
+     * @param scroll      true to scroll to the cell and focus it. False to only add it to the selection, which is used
+     *                    by the lazy highlight all mode.
+     */
+    protected void addTableSelection(TableView<T> table, int rowIndex, int columnIndex, boolean incremental, boolean scroll) {
         if (!incremental)
             table.getSelectionModel().clearSelection();
         if (rowIndex >= 0 && columnIndex >= 0 && rowIndex < table.getItems().size() && columnIndex < table.getColumns().size()
                 && !table.getSelectionModel().isSelected(rowIndex, table.getColumns().get(columnIndex))) {
             TableColumn<T, ?> column = table.getColumns().get(columnIndex);
             table.getSelectionModel().select(rowIndex, column);
-            table.scrollTo(rowIndex);
-            table.scrollToColumnIndex(columnIndex);
-            table.getFocusModel().focus(rowIndex, column);
+            if (scroll) {
+                table.scrollTo(rowIndex);
+                table.scrollToColumnIndex(columnIndex);
+                table.getFocusModel().focus(rowIndex, column);
+            }
         }
     }
 
@@ -176,7 +239,11 @@ public class TableViewSearchable<T> extends Searchable<Object> {
     }
 
     /**
-     * Are we trying to search on multi-columns (but NOT all columns)?
+     * Are we trying to search on multi-columns (but NOT all columns)? If so, the elements are only the cells in the
+     * search columns, ordered row by row. The element index is {@code rowIndex * searchColumnIndices.length + i} where
+     * {@code i} is the position of the column in {@link #getSearchColumnIndices()}. This way the cells in the other
+     * columns are never visited. Use {@link #getRowIndex(int)} and {@link #getColumnIndex(int)} to convert an element
+     * index to the cell.
      *
      * @return true if the search is set to look at multi-columns (but NOT all columns).
      */
@@ -198,11 +265,71 @@ public class TableViewSearchable<T> extends Searchable<Object> {
         else if (isRowSelectionAllowed(table)) {
             return table.getSelectionModel().getSelectedIndex();
         }
+        else if (isSearchSelectedRows()) { // search on multi columns
+            int selectedIndex = table.getSelectionModel().getSelectedIndex();
+            if (selectedIndex < 0) {
+                return -1;
+            }
+            int[] searchColumnIndices = getSearchColumnIndices();
+            int columnIndex = getSelectedColumnIndex(table, selectedIndex);
+            int position = 0;
+            for (int i = 0; i < searchColumnIndices.length; i++) {
+                if (searchColumnIndices[i] == columnIndex) {
+                    position = i;
+                    break;
+                }
+            }
+            return selectedIndex * searchColumnIndices.length + position;
+        }
         else { // cell selection allowed
             return table.getSelectionModel().getSelectedIndex() * table.getColumns().size() + getSelectedColumnIndex(table, table.getSelectionModel().getSelectedIndex());
         }
     }
 
+    /**
+     * Gets the row index of the cell for the element index.
+     *
+     * @param index the element index
+     * @return the row index.
+     */
+    public int getRowIndex(int index) {
+        TableView<T> table = (TableView<T>) _node;
+        if (isColumnSelectionAllowed(table)) {
+            return getMainIndex();
+        }
+        else if (isRowSelectionAllowed(table)) {
+            return index;
+        }
+        else if (isSearchSelectedRows()) {
+            return index / getSearchColumnIndices().length;
+        }
+        else {
+            return table.getColumns().isEmpty() ? -1 : index / table.getColumns().size();
+        }
+    }
+
+    /**
+     * Gets the column index of the cell for the element index.
+     *
+     * @param index the element index
+     * @return the column index.
+     */
+    public int getColumnIndex(int index) {
+        TableView<T> table = (TableView<T>) _node;
+        if (isColumnSelectionAllowed(table)) {
+            return index;
+        }
+        else if (isRowSelectionAllowed(table)) {
+            return getMainIndex();
+        }
+        else if (isSearchSelectedRows()) {
+            return getSearchColumnIndices()[index % getSearchColumnIndices().length];
+        }
+        else {
+            return table.getColumns().isEmpty() ? -1 : index % table.getColumns().size();
+        }
+    }
+
     private int getSelectedColumnIndex(TableView<T> table, int selectedIndex) {
         TablePosition cell = table.getFocusModel().getFocusedCell();
         if (cell != null) {
@@ -228,20 +355,8 @@ public class TableViewSearchable<T> extends Searchable<Object> {
             return getValueAt(table, index, getMainIndex());
         }
         else if (isSearchSelectedRows()) { // search on multi columns
-            int columnIndex = index % table.getColumns().size();
-            boolean doNotSearch = true;
-            for (int i : getSearchColumnIndices()) {
-                if (i == columnIndex) {
-                    doNotSearch = false;
-                }
-            }
-
-            if (doNotSearch) {
-                return null;
-            }
-
-            int rowIndex = index / table.getColumns().size();
-            return getValueAt(table, rowIndex, columnIndex);
+            int[] searchColumnIndices = getSearchColumnIndices();
+            return getValueAt(table, index / searchColumnIndices.length, searchColumnIndices[index % searchColumnIndices.length]);
         }
         else { // cell selection allowed
             int columnIndex = index % table.getColumns().size();
@@ -251,7 +366,12 @@ public class TableViewSearchable<T> extends Searchable<Object> {
     }
 
     /**
-     * Get string value of the table.
+     * Get string value of the table. If the cell value factory of the column is a {@code PropertyValueFactory}, the
+     * default implementation calls the property method or the getter of the row item directly, the same one the
+     * factory would call, so it returns the property or the plain value and searching doesn't create any
+     * ObservableValue. For the other cell value factories, it gets the ObservableValue from the factory. If that
+     * factory creates a new ObservableValue for each call, you can override this method to read the value from the row
+     * item directly.
      *
      * @param table       the TableView
      * @param rowIndex    the row index
@@ -260,13 +380,73 @@ public class TableViewSearchable<T> extends Searchable<Object> {
      */
     protected Object getValueAt(TableView table, int rowIndex, int columnIndex) {
         if (rowIndex >= 0 && rowIndex < table.getItems().size() && columnIndex >= 0 && columnIndex < table.getColumns().size()) {
-            return ((TableColumn) table.getColumns().get(columnIndex)).getCellObservableValue(rowIndex);
+            TableColumn column = (TableColumn) table.getColumns().get(columnIndex);
+            Object item = table.getItems().get(rowIndex);
+            Method method = item == null ? null : getCellValueMethod(column, item.getClass());
+            if (method != null) {
+                try {
+                    return method.invoke(item);
+                }
+                catch (Exception e) {
+                    _cellValueAccessors.put(column, new CellValueAccessor(column.getCellValueFactory(), item.getClass(), null)); // use the factory from now on
+                }
+            }
+            return column.getCellObservableValue(rowIndex);
         }
         else {
             return null;
         }
     }
 
+    private Method getCellValueMethod(TableColumn column, Class<?> itemClass) {
+        Object factory = column.getCellValueFactory();
+        CellValueAccessor accessor = _cellValueAccessors.get(column);
+        if (accessor == null || accessor._factory != factory || accessor._itemClass != itemClass) {
+            accessor = new CellValueAccessor(factory, itemClass, findCellValueMethod(factory, itemClass));
+            _cellValueAccessors.put(column, accessor);
+        }
+        return accessor._method;
+    }
+
+    /**
+     * Finds the method that the PropertyValueFactory calls, the property method first, then the getter.
+     */
+    private static Method findCellValueMethod(Object factory, Class<?> itemClass) {
+        if (!(factory instanceof PropertyValueFactory) || !Modifier.isPublic(itemClass.getModifiers())) {
+            return null;
+        }
+        String property = ((PropertyValueFactory) factory).getProperty();
+        if (property == null || property.isEmpty()) {
+            return null;
+        }
+        String name = Character.toUpperCase(property.charAt(0)) + property.substring(1);
+        for (String methodName : new String[]{property + "Property", "get" + name, "is" + name}) { //NON-NLS
+            try {
+                Method method = itemClass.getMethod(methodName);
+                if (method.getReturnType() != void.class) {
+                    return method;
+                }
+            }
+            catch (NoSuchMethodException | SecurityException e) {
+                // try the next one
+            }
+        }
+        return null;
+    }
+
+    @Override
+    protected int[] getVisibleRange() {
+        int[] rows = super.getVisibleRange();
+        TableView<T> table = ((TableView<T>) _node);
+        if (rows == null || isColumnSelectionAllowed(table) || isRowSelectionAllowed(table)) {
+            return rows;
+        }
+        else { // cell selection allowed
+            int columnCount = isSearchSelectedRows() ? getSearchColumnIndices().length : table.getColumns().size();
+            return new int[]{rows[0] * columnCount, (rows[1] + 1) * columnCount - 1};
+        }
+    }
+
     @Override
     protected int getElementCount() {
         TableView<T> table = ((TableView<T>) _node);
@@ -276,6 +456,9 @@ public class TableViewSearchable<T> extends Searchable<Object> {
         else if (isRowSelectionAllowed(table)) {
             return table.getItems().size();
         }
+        else if (isSearchSelectedRows()) { // search on multi columns
+            return getSearchColumnIndices().length * table.getItems().size();
+        }
         else { // cell selection allowed
             return table.getColumns().size() * table.getItems().size();
         }
@@ -6,11 +6,18 @@
 
 package jidefx.scene.control.searchable;
 
+import javafx.beans.InvalidationListener;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
+import javafx.scene.control.TextArea;
 import javafx.scene.control.TextInputControl;
 import javafx.scene.input.KeyCombination;
 import javafx.scene.input.KeyEvent;
+import javafx.scene.text.Text;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * {@code TextComponentSearchable} is an concrete implementation of {@link Searchable} that enables the search
@@ -103,6 +110,12 @@ public class TextInputControlSearchable extends Searchable<String> {
         }
     }
 
+    @Override
+    protected void addSelectedIndex(int index) {
+        // a TextInputControl has only one selection, which is kept on the current match. Selecting another match would
+        // move the caret and scroll, so the other matches in the visible range are only counted.
+    }
+
     /**
      * Adds highlight to text component at specified index and text.
      *
@@ -193,13 +206,7 @@ public class TextInputControlSearchable extends Searchable<String> {
     @Override
     public int findLast(String s) {
         if (_node instanceof TextInputControl) {
-            String text = getDocumentText();
-            if (isCaseSensitive()) {
-                return text.lastIndexOf(s);
-            }
-            else {
-                return lastIndexOf(text, s, text.length());
-            }
+            return getSearchEngine(s).lastIndexOf(getDocumentText().length());
         }
         else {
             return super.findLast(s);
@@ -207,6 +214,7 @@ public class TextInputControlSearchable extends Searchable<String> {
     }
 
     private transient String _text = null;
+    private transient TextSearchEngine _searchEngine = null;
 
     /**
      * Gets the text from Document.
@@ -223,113 +231,60 @@ public class TextInputControlSearchable extends Searchable<String> {
     @Override
     public int findFirst(String s) {
         if (_node instanceof TextInputControl) {
-            String text = getDocumentText();
-            if (isCaseSensitive()) {
-                return text.indexOf(s);
-            }
-            else {
-                return indexOf(text, s, 0);
-            }
+            return getSearchEngine(s).indexOf(0);
         }
         else {
             return super.findFirst(s);
         }
     }
 
-    static int lastIndexOf(String source, String target, int fromIndex) {
-        int sourceCount = source.length();
-        int targetCount = target.length();
-        int rightIndex = sourceCount - targetCount;
-        if (fromIndex < 0) {
-            return -1;
-        }
-        if (fromIndex > rightIndex) {
-            fromIndex = rightIndex;
-        }
-        /* Empty string always matches. */
-        if (targetCount == 0) {
-            return fromIndex;
+    /**
+     * Gets the engine to search the searching text in the snapshot of the text. The engine is reused as long as the
+     * text, the searching text and the case sensitivity stay the same.
+     *
+     * @param s the searching text
+     * @return the search engine.
+     */
+    protected TextSearchEngine getSearchEngine(String s) {
+        String text = getDocumentText();
+        if (_searchEngine == null || !_searchEngine.isFor(text, s, isCaseSensitive())) {
+            _searchEngine = new TextSearchEngine(text, s, isCaseSensitive());
         }
-        char[] lowerTarget = target.toLowerCase().toCharArray();
-        char[] upperTarget = target.toUpperCase().toCharArray();
-
-        int strLastIndex = targetCount - 1;
-        int min = targetCount - 1;
-        int i = min + fromIndex;
+        return _searchEngine;
+    }
 
-        while (i >= min) {
-            while (i >= min && source.charAt(i) != lowerTarget[strLastIndex] && source.charAt(i) != upperTarget[strLastIndex]) {
-                i--;
-            }
-            if (i < min) {
-                break;
-            }
-            int j = i - 1;
-            int start = j - (targetCount - 1);
-            int k = strLastIndex - 1;
-
-            while (j > start) {
-                char ch = source.charAt(j);
-                if (ch != lowerTarget[k] && ch != upperTarget[k]) {
-                    i--;
-                    break;
-                }
-                j--;
-                k--;
-            }
-            if (j <= start) {
-                return start + 1;
+    /**
+     * Finds all the occurrences of the searching text in one pass over the text, instead of comparing a substring at
+     * each offset.
+     *
+     * @param s the searching string.
+     * @return the list of indices.
+     */
+    @Override
+    public List<Integer> findAll(String s) {
+        if (_node instanceof TextInputControl && s.length() > 0) {
+            long startTime = searchStarted();
+            int[] indices = getSearchEngine(s).findAll();
+            List<Integer> list = new ArrayList<>(indices.length);
+            for (int index : indices) {
+                list.add(index);
             }
+            searchFinished("findAll", s, startTime); //NON-NLS
+            return list;
+        }
+        else {
+            return super.findAll(s);
         }
-        return -1;
     }
 
-    private static int indexOf(String source, String target, int fromIndex) {
-        int sourceCount = source.length();
-        int targetCount = target.length();
-        if (fromIndex >= sourceCount) {
-            return (targetCount == 0 ? sourceCount : -1);
-        }
-        if (fromIndex < 0) {
-            fromIndex = 0;
-        }
-        if (targetCount == 0) {
-            return fromIndex;
+    @Override
+    public int[] findAllParallel(String s) {
+        if (_node instanceof TextInputControl && s.length() > 0) {
+            return getSearchEngine(s).findAll();
         }
-        char[] lowerTarget = target.toLowerCase().toCharArray();
-        char[] upperTarget = target.toUpperCase().toCharArray();
-
-        int max = sourceCount - targetCount;
-
-        for (int i = fromIndex; i <= max; i++) {
-            /* Look for first character. */
-            char c = source.charAt(i);
-            if (c != lowerTarget[0] && c != upperTarget[0]) {
-                i++;
-                while (i <= max && source.charAt(i) != lowerTarget[0] && source.charAt(i) != upperTarget[0]) {
-                    i++;
-                }
-            }
-
-            /* Found first character, now look at the rest of v2 */
-            if (i <= max) {
-                int j = i + 1;
-                int end = j + targetCount - 1;
-                for (int k = 1; j < end; j++) {
-                    char ch = source.charAt(j);
-                    if (ch != lowerTarget[k] && ch != upperTarget[k]) {
-                        break;
-                    }
-                    k++;
-                }
-
-                if (j == end) {
-                    /* Found whole string. */
-                    return i;
-                }
-            }
+        else {
+            return super.findAllParallel(s);
         }
-        return -1;
     }
 
     @Override
@@ -339,7 +294,6 @@ public class TextInputControlSearchable extends Searchable<String> {
         }
 
         if (_node instanceof TextInputControl) {
-            String text = getDocumentText();
             int selectedIndex = (getCursor() != -1 ? getCursor() : getSelectedIndex());
             if (selectedIndex < 0)
                 selectedIndex = 0;
@@ -348,11 +302,11 @@ public class TextInputControlSearchable extends Searchable<String> {
                 return s.length() > 0 ? -1 : 0;
 
             // find from cursor
-            int found = isCaseSensitive() ? text.indexOf(s, selectedIndex) : indexOf(text, s, selectedIndex);
+            int found = getSearchEngine(s).indexOf(selectedIndex);
 
             // if not found, start over from the beginning
             if (found == -1) {
-                found = isCaseSensitive() ? text.indexOf(s, 0) : indexOf(text, s, 0);
+                found = getSearchEngine(s).indexOf(0);
                 if (found >= selectedIndex) {
                     found = -1;
                 }
@@ -381,11 +335,11 @@ public class TextInputControlSearchable extends Searchable<String> {
                 return s.length() > 0 ? -1 : 0;
 
             // find from cursor
-            int found = isCaseSensitive() ? text.lastIndexOf(s, selectedIndex) : lastIndexOf(text, s, selectedIndex);
+            int found = getSearchEngine(s).lastIndexOf(selectedIndex);
 
             // if not found, start over from the end
             if (found == -1) {
-                found = isCaseSensitive() ? text.lastIndexOf(s, text.length() - 1) : lastIndexOf(text, s, text.length() - 1);
+                found = getSearchEngine(s).lastIndexOf(text.length() - 1);
                 if (found <= selectedIndex) {
                     found = -1;
                 }
@@ -401,7 +355,6 @@ public class TextInputControlSearchable extends Searchable<String> {
     @Override
     public int findNext(String s) {
         if (_node instanceof TextInputControl) {
-            String text = getDocumentText();
             int selectedIndex = (getCursor() != -1 ? getCursor() : getSelectedIndex());
             if (selectedIndex < 0)
                 selectedIndex = 0;
@@ -410,11 +363,11 @@ public class TextInputControlSearchable extends Searchable<String> {
                 return s.length() > 0 ? -1 : 0;
 
             // find from cursor
-            int found = isCaseSensitive() ? text.indexOf(s, selectedIndex + 1) : indexOf(text, s, selectedIndex + 1);
+            int found = getSearchEngine(s).indexOf(selectedIndex + 1);
 
             // if not found, start over from the beginning
             if (found == -1 && isRepeats()) {
-                found = isCaseSensitive() ? text.indexOf(s, 0) : indexOf(text, s, 0);
+                found = getSearchEngine(s).indexOf(0);
                 if (found > selectedIndex) {
                     found = -1;
                 }
@@ -430,7 +383,6 @@ public class TextInputControlSearchable extends Searchable<String> {
     @Override
     public int findPrevious(String s) {
         if (_node instanceof TextInputControl) {
-            String text = getDocumentText();
             int selectedIndex = (getCursor() != -1 ? getCursor() : getSelectedIndex());
             if (selectedIndex < 0)
                 selectedIndex = 0;
@@ -439,11 +391,11 @@ public class TextInputControlSearchable extends Searchable<String> {
                 return s.length() > 0 ? -1 : 0;
 
             // find from cursor
-            int found = isCaseSensitive() ? text.lastIndexOf(s, selectedIndex - 1) : lastIndexOf(text, s, selectedIndex - 1);
+            int found = getSearchEngine(s).lastIndexOf(selectedIndex - 1);
 
             // if not found, start over from the beginning
             if (found == -1 && isRepeats()) {
-                found = isCaseSensitive() ? text.lastIndexOf(s, count - 1) : lastIndexOf(text, s, count - 1);
+                found = getSearchEngine(s).lastIndexOf(count - 1);
                 if (found < selectedIndex) {
                     found = -1;
                 }
@@ -456,6 +408,97 @@ public class TextInputControlSearchable extends Searchable<String> {
         }
     }
 
+    private transient int[] _lineStarts = null;
+
+    /**
+     * Gets the range of the characters that are visible in a TextArea. It is estimated from the scroll top and the line
+     * height, so it is only available when the text is not wrapped.
+     *
+     * @return an array of the first and the last visible character indices. Null if not a TextArea or if the text is
+     *         wrapped.
+     */
+    @Override
+    protected int[] getVisibleRange() {
+        if (!(_node instanceof TextArea) || ((TextArea) _node).isWrapText()) {
+            return null;
+        }
+        TextArea textArea = (TextArea) _node;
+        String text = getDocumentText();
+        int[] lineStarts = getLineStarts(text);
+        Text measure = new Text("X"); //NON-NLS
+        measure.setFont(textArea.getFont());
+        double lineHeight = Math.max(1, measure.getLayoutBounds().getHeight());
+        int firstLine = Math.min(lineStarts.length - 1, Math.max(0, (int) (textArea.getScrollTop() / lineHeight)));
+        int lastLine = Math.min(lineStarts.length - 1, Math.max(firstLine, (int) ((textArea.getScrollTop() + textArea.getHeight()) / lineHeight)));
+        int last = lastLine + 1 < lineStarts.length ? lineStarts[lastLine + 1] - 1 : text.length() - 1;
+        return new int[]{lineStarts[firstLine], Math.max(lineStarts[firstLine], last)};
+    }
+
+    private int[] getLineStarts(String text) {
+        if (_lineStarts == null) {
+            int[] lineStarts = new int[16];
+            int count = 1;
+            for (int i = text.indexOf('\n'); i != -1; i = text.indexOf('\n', i + 1)) {
+                if (count == lineStarts.length) {
+                    lineStarts = Arrays.copyOf(lineStarts, count * 2);
+                }
+                lineStarts[count++] = i + 1;
+            }
+            _lineStarts = Arrays.copyOf(lineStarts, count);
+        }
+        return _lineStarts;
+    }
+
+    @Override
+    protected void addVisibleRangeListener(InvalidationListener listener) {
+        if (_node instanceof TextArea) {
+            ((TextArea) _node).scrollTopProperty().addListener(listener);
+            _node.layoutBoundsProperty().addListener(listener);
+        }
+        else {
+            super.addVisibleRangeListener(listener);
+        }
+    }
+
+    @Override
+    protected void removeVisibleRangeListener(InvalidationListener listener) {
+        if (_node instanceof TextArea) {
+            ((TextArea) _node).scrollTopProperty().removeListener(listener);
+            _node.layoutBoundsProperty().removeListener(listener);
+        }
+        else {
+            super.removeVisibleRangeListener(listener);
+        }
+    }
+
+    @Override
+    protected void highlightRange(int from, int to, String s) {
+        if (_node instanceof TextInputControl && s.length() > 0) {
+            TextSearchEngine engine = getSearchEngine(s);
+            for (int i = engine.indexOf(from, to); i != -1; i = engine.indexOf(i + 1, to)) {
+                highlight(i);
+            }
+        }
+        else {
+            super.highlightRange(from, to, s);
+        }
+    }
+
+    @Override
+    protected int countMatches(int from, int to, String s) {
+        if (_node instanceof TextInputControl && s.length() > 0) {
+            TextSearchEngine engine = getSearchEngine(s);
+            int count = 0;
+            for (int i = engine.indexOf(from, to); i != -1; i = engine.indexOf(i + 1, to)) {
+                count++;
+            }
+            return count;
+        }
+        else {
+            return super.countMatches(from, to, s);
+        }
+    }
+
     private transient boolean _oldEditable = false;
 
     private void switchToNonEditable() {
@@ -486,6 +529,8 @@ public class TextInputControlSearchable extends Searchable<String> {
         super.hidePopup();
         _selectedIndex = -1;
         _text = null;
+        _searchEngine = null;
+        _lineStarts = null;
         switchToEditable();
     }
 }
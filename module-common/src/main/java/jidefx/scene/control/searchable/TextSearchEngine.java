@@ -0,0 +1,135 @@
+/*
+ * @(#)TextSearchEngine.java 10/18/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+
+package jidefx.scene.control.searchable;
+
+import jidefx.utils.CommonUtils;
+
+import java.util.Arrays;
+
+/**
+ * {@code TextSearchEngine} searches a searching text in a snapshot of a large text such as the text of a TextArea. It
+ * uses the Boyer-Moore-Horspool algorithm in both directions and in both case modes, so no substring is created and
+ * most characters of the text are skipped when the searching text is longer than a few characters. In the case
+ * insensitive mode, characters are folded the way {@link String#equalsIgnoreCase(String)} does.
+ * <p>
+ * The engine is immutable. The folded pattern and the skip tables are computed once in the constructor so the same
+ * engine can be used for all the searches of the same searching text.
+ */
+public class TextSearchEngine {
+    private final CharSequence _text;
+    private final String _searchingText;
+    private final boolean _caseSensitive;
+    private final char[] _pattern;
+    private final int[] _skip;
+    private final int[] _reverseSkip;
+
+    /**
+     * Creates a TextSearchEngine.
+     *
+     * @param text          the text to search in
+     * @param searchingText the searching text
+     * @param caseSensitive true to match the case. Otherwise the case is ignored.
+     */
+    public TextSearchEngine(CharSequence text, String searchingText, boolean caseSensitive) {
+        _text = text;
+        _searchingText = searchingText;
+        _caseSensitive = caseSensitive;
+        _pattern = SearchMatcher.fold(searchingText, caseSensitive);
+        _skip = SearchMatcher.createSkipTable(_pattern);
+        _reverseSkip = createReverseSkipTable(_pattern);
+    }
+
+    private static int[] createReverseSkipTable(char[] pattern) {
+        int[] skip = new int[256];
+        int length = pattern.length;
+        Arrays.fill(skip, Math.max(length, 1));
+        for (int i = length - 1; i > 0; i--) {
+            skip[pattern[i] & 0xFF] = i;
+        }
+        return skip;
+    }
+
+    /**
+     * Checks if this engine was created for the same text, searching text and case mode so that it can be reused.
+     *
+     * @param text          the text to search in
+     * @param searchingText the searching text
+     * @param caseSensitive true to match the case.
+     * @return true if the engine can be reused.
+     */
+    public boolean isFor(CharSequence text, String searchingText, boolean caseSensitive) {
+        return _text == text && _caseSensitive == caseSensitive && _searchingText.equals(searchingText);
+    }
+
+    /**
+     * Finds the first occurrence at or after the specified index.
+     *
+     * @param fromIndex the index to start from
+     * @return the index of the occurrence. -1 if not found.
+     */
+    public int indexOf(int fromIndex) {
+        return SearchMatcher.indexOf(_text, fromIndex, _pattern, _skip, _caseSensitive);
+    }
+
+    /**
+     * Finds the first occurrence that starts at or after the from index and before the to index. The text after the
+     * range is only read as far as the occurrence needs.
+     *
+     * @param fromIndex the index to start from
+     * @param toIndex   the index the occurrence must start before
+     * @return the index of the occurrence. -1 if not found.
+     */
+    public int indexOf(int fromIndex, int toIndex) {
+        return SearchMatcher.indexOf(_text, fromIndex, toIndex, _pattern, _skip, _caseSensitive);
+    }
+
+    /**
+     * Finds the last occurrence that starts at or before the specified index.
+     *
+     * @param fromIndex the index to start from backward
+     * @return the index of the occurrence. -1 if not found.
+     */
+    public int lastIndexOf(int fromIndex) {
+        int length = _pattern.length;
+        int i = Math.min(fromIndex, _text.length() - length);
+        if (length == 0) {
+            return i >= 0 ? i : -1;
+        }
+        char firstChar = _pattern[0];
+        while (i >= 0) {
+            char c = _text.charAt(i);
+            if (!_caseSensitive) {
+                c = CommonUtils.foldCase(c);
+            }
+            if (c == firstChar && SearchMatcher.regionMatches(_text, i, _pattern, _caseSensitive)) {
+                return i;
+            }
+            i -= _reverseSkip[c & 0xFF];
+        }
+        return -1;
+    }
+
+    /**
+     * Finds all the occurrences in one pass. Overlapping occurrences are all included.
+     *
+     * @return the indices of the occurrences in ascending order.
+     */
+    public int[] findAll() {
+        if (_pattern.length == 0) {
+            return new int[0];
+        }
+        int[] indices = new int[16];
+        int count = 0;
+        for (int i = indexOf(0); i != -1; i = indexOf(i + 1)) {
+            if (count == indices.length) {
+                indices = Arrays.copyOf(indices, count * 2);
+            }
+            indices[count++] = i;
+        }
+        return Arrays.copyOf(indices, count);
+    }
+}
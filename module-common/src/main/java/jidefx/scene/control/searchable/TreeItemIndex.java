@@ -0,0 +1,192 @@
+/*
+ * @(#)TreeItemIndex.java 10/18/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+
+package jidefx.scene.control.searchable;
+
+import javafx.event.EventHandler;
+import javafx.scene.control.TreeItem;
+
+import java.util.ArrayDeque;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Set;
+
+/**
+ * {@code TreeItemIndex} keeps all the TreeItems under a root TreeItem, including the collapsed ones, flattened in the
+ * depth first order. It is used by {@link TreeViewSearchable} when it is recursive.
+ * <p>
+ * The index listens to the children modification events of the root which are fired for the changes at any level of
+ * the tree. A change only marks the TreeItem whose children changed. The marked TreeItems are applied together in one
+ * pass the next time the index is read, where only the descendants of the marked TreeItems are flattened again and the
+ * rest of the tree is copied from the previous index. All traversals are iterative, so a deep tree will not overflow the
+ * stack.
+ *
+ * @param <T> the value type of the TreeItems.
+ */
+@SuppressWarnings("Convert2Lambda")
+public class TreeItemIndex<T> {
+    private final TreeItem<T> _root;
+    private List<TreeItem<T>> _items = new ArrayList<>();
+    private int[] _depths = new int[16];
+    private final Set<TreeItem<T>> _changedItems = Collections.newSetFromMap(new IdentityHashMap<TreeItem<T>, Boolean>());
+    private final List<TreeItem<T>> _itemsView = new AbstractList<TreeItem<T>>() {
+        @Override
+        public TreeItem<T> get(int index) {
+            updateItems();
+            return _items.get(index);
+        }
+
+        @Override
+        public int size() {
+            updateItems();
+            return _items.size();
+        }
+    };
+    private EventHandler<TreeItem.TreeModificationEvent<T>> _childrenModificationHandler;
+
+    /**
+     * Creates a TreeItemIndex.
+     *
+     * @param root the root TreeItem. It could be null.
+     */
+    public TreeItemIndex(TreeItem<T> root) {
+        _root = root;
+    }
+
+    /**
+     * Flattens the tree and starts to listen to the changes of the tree.
+     */
+    public void install() {
+        if (_root == null) {
+            return;
+        }
+        if (_childrenModificationHandler == null) {
+            _childrenModificationHandler = new EventHandler<TreeItem.TreeModificationEvent<T>>() {
+                @Override
+                public void handle(TreeItem.TreeModificationEvent<T> event) {
+                    childrenChanged(event.getTreeItem());
+                }
+            };
+            _root.addEventHandler(TreeItem.<T>childrenModificationEvent(), _childrenModificationHandler);
+        }
+        _changedItems.clear();
+        List<TreeItem<T>> items = new ArrayList<>();
+        _depths = flatten(_root, 0, true, items);
+        _items = items;
+    }
+
+    /**
+     * Stops listening to the changes of the tree and clears the index.
+     */
+    public void dispose() {
+        if (_childrenModificationHandler != null) {
+            _root.removeEventHandler(TreeItem.<T>childrenModificationEvent(), _childrenModificationHandler);
+            _childrenModificationHandler = null;
+        }
+        _changedItems.clear();
+        _items = new ArrayList<>();
+    }
+
+    /**
+     * Gets the flattened TreeItems in the depth first order.
+     *
+     * @return an unmodifiable list of the TreeItems. It reflects the changes of the tree.
+     */
+    public List<TreeItem<T>> getItems() {
+        return _itemsView;
+    }
+
+    private void childrenChanged(TreeItem<T> item) {
+        _changedItems.add(item);
+    }
+
+    /**
+     * Applies the pending changes in one pass. The items that are not under a changed TreeItem are copied with their
+     * depths. A changed TreeItem is copied too, but its old descendants are skipped and its current descendants are
+     * flattened instead. A changed TreeItem that is no longer in the tree is simply not reached, its removal is covered
+     * by the change of its parent.
+     */
+    private void updateItems() {
+        if (_changedItems.isEmpty()) {
+            return;
+        }
+        int size = _items.size();
+        List<TreeItem<T>> items = new ArrayList<>(size);
+        int[] depths = new int[Math.max(size, 16)];
+        int i = 0;
+        while (i < size) {
+            TreeItem<T> item = _items.get(i);
+            int depth = _depths[i];
+            depths = add(items, depths, item, depth);
+            i++;
+            if (_changedItems.contains(item)) {
+                while (i < size && _depths[i] > depth) {
+                    i++;
+                }
+                List<TreeItem<T>> descendants = new ArrayList<>();
+                int[] descendantDepths = flatten(item, depth, false, descendants);
+                for (int k = 0, count = descendants.size(); k < count; k++) {
+                    depths = add(items, depths, descendants.get(k), descendantDepths[k]);
+                }
+            }
+        }
+        _changedItems.clear();
+        _items = items;
+        _depths = depths;
+    }
+
+    private static <T> int[] add(List<TreeItem<T>> items, int[] depths, TreeItem<T> item, int depth) {
+        if (items.size() == depths.length) {
+            depths = Arrays.copyOf(depths, depths.length * 2);
+        }
+        depths[items.size()] = depth;
+        items.add(item);
+        return depths;
+    }
+
+    /**
+     * Flattens the TreeItem in the depth first order without recursion.
+     *
+     * @param item        the TreeItem
+     * @param depth       the depth of the TreeItem
+     * @param includeSelf true to include the TreeItem itself. Otherwise only the descendants are included.
+     * @param items       the list to receive the TreeItems
+     * @return the depths of the TreeItems added to the list.
+     */
+    private static <T> int[] flatten(TreeItem<T> item, int depth, boolean includeSelf, List<TreeItem<T>> items) {
+        int[] depths = new int[16];
+        Deque<ListIterator<TreeItem<T>>> stack = new ArrayDeque<>();
+        if (includeSelf) {
+            items.add(item);
+            depths[0] = depth;
+        }
+        stack.push(item.getChildren().listIterator());
+        while (!stack.isEmpty()) {
+            Iterator<TreeItem<T>> iterator = stack.peek();
+            if (!iterator.hasNext()) {
+                stack.pop();
+                continue;
+            }
+            TreeItem<T> child = iterator.next();
+            if (items.size() == depths.length) {
+                depths = Arrays.copyOf(depths, depths.length * 2);
+            }
+            depths[items.size()] = depth + stack.size();
+            items.add(child);
+            if (!child.isLeaf()) {
+                stack.push(child.getChildren().listIterator());
+            }
+        }
+        return depths;
+    }
+}
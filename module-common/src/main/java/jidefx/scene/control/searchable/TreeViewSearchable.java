@@ -10,11 +10,9 @@ import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
-import javafx.collections.ObservableList;
 import javafx.scene.control.TreeItem;
 import javafx.scene.control.TreeView;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -53,6 +51,7 @@ public class TreeViewSearchable<T> extends Searchable<TreeItem<T>> {
     private BooleanProperty _recursiveProperty;
 
     private transient List<TreeItem> _treeItems;
+    private transient TreeItemIndex<T> _treeItemIndex;
     private ChangeListener _rootChangeListener;
 
     public TreeViewSearchable(TreeView<T> treeView) {
@@ -88,6 +87,7 @@ public class TreeViewSearchable<T> extends Searchable<TreeItem<T>> {
             ((TreeView<T>) _node).rootProperty().removeListener(_rootChangeListener);
             _rootChangeListener = null;
         }
+        resetTreeItems();
         super.uninstallListeners();
     }
 
@@ -131,7 +131,9 @@ public class TreeViewSearchable<T> extends Searchable<TreeItem<T>> {
             else {
                 treeView.getSelectionModel().clearAndSelect(index);
             }
-            treeView.scrollTo(index);
+            if (index != -1) {
+                treeView.scrollTo(index);
+            }
         }
         else {
             TreeItem<T> item = getElementAt(index);
@@ -148,6 +150,20 @@ public class TreeViewSearchable<T> extends Searchable<TreeItem<T>> {
         }
     }
 
+    @Override
+    protected void addSelectedIndex(int index) {
+        TreeView<T> treeView = (TreeView<T>) _node;
+        if (!isRecursive()) {
+            treeView.getSelectionModel().select(index);
+        }
+        else {
+            TreeItem<T> item = getElementAt(index);
+            if (item != null) {
+                treeView.getSelectionModel().select(item);
+            }
+        }
+    }
+
     @Override
     protected int getSelectedIndex() {
         return ((TreeView<T>) _node).getSelectionModel().getSelectedIndex();
@@ -166,6 +182,12 @@ public class TreeViewSearchable<T> extends Searchable<TreeItem<T>> {
         }
     }
 
+    @Override
+    protected int[] getVisibleRange() {
+        // the element index is not the row index in the recursive mode
+        return isRecursive() ? null : super.getVisibleRange();
+    }
+
     @Override
     protected int getElementCount() {
         if (!isRecursive()) {
@@ -177,22 +199,18 @@ public class TreeViewSearchable<T> extends Searchable<TreeItem<T>> {
     }
 
     /**
-     * Recursively go through the tree to populate the tree paths into a list and cache them.
+     * Go through the tree to populate the tree paths into a list and cache them. The list is kept in sync with the tree
+     * by a {@link TreeItemIndex} until {@link #resetTreeItems()} is called.
      * <p>
      * Tree paths list is only used when recursive attribute is true.
      */
     protected void populateTreePaths() {
-        _treeItems = new ArrayList<>();
-        TreeItem root = ((TreeView<T>) _node).getRoot();
-        populateTreePaths0(root);
-    }
-
-    private void populateTreePaths0(TreeItem item) {
-        _treeItems.add(item);
-        ObservableList<TreeItem> children = item.getChildren();
-        for (TreeItem child : children) {
-            populateTreePaths0(child);
+        if (_treeItemIndex != null) {
+            _treeItemIndex.dispose();
         }
+        _treeItemIndex = new TreeItemIndex<>(((TreeView<T>) _node).getRoot());
+        _treeItemIndex.install();
+        _treeItems = (List) _treeItemIndex.getItems();
     }
 
     /**
@@ -201,6 +219,10 @@ public class TreeViewSearchable<T> extends Searchable<TreeItem<T>> {
      * Tree paths list is only used when recursive attributes true.
      */
     protected void resetTreeItems() {
+        if (_treeItemIndex != null) {
+            _treeItemIndex.dispose();
+            _treeItemIndex = null;
+        }
         _treeItems = null;
     }
 
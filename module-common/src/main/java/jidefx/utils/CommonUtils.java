@@ -156,6 +156,85 @@ public class CommonUtils {
         return Character.toLowerCase(a);
     }
 
+    /**
+     * Folds the case of the character so that two characters that are equal ignoring case will fold to the same
+     * character. It uses the same rule as {@link String#equalsIgnoreCase(String)}, i.e. upper case first, then lower
+     * case, so it is locale independent.
+     *
+     * @param a the character to be folded.
+     * @return the case folded character.
+     */
+    public static char foldCase(char a) {
+        return toLowerCase(toUpperCase(a));
+    }
+
+    /**
+     * Compares the two char sequences lexicographically after folding the case of each character using {@link
+     * #foldCase(char)}. No new string will be created during the comparison.
+     *
+     * @param s1 the first char sequence
+     * @param s2 the second char sequence
+     * @return a negative integer, zero, or a positive integer as the first char sequence is less than, equal to, or
+     *         greater than the second char sequence, ignoring case.
+     */
+    public static int compareIgnoreCase(CharSequence s1, CharSequence s2) {
+        int length1 = s1.length();
+        int length2 = s2.length();
+        int min = Math.min(length1, length2);
+        for (int i = 0; i < min; i++) {
+            char c1 = s1.charAt(i);
+            char c2 = s2.charAt(i);
+            if (c1 != c2) {
+                c1 = foldCase(c1);
+                c2 = foldCase(c2);
+                if (c1 != c2) {
+                    return c1 - c2;
+                }
+            }
+        }
+        return length1 - length2;
+    }
+
+    /**
+     * Compares the beginning of the char sequence with the prefix, ignoring case. It is consistent with {@link
+     * #compareIgnoreCase(CharSequence, CharSequence)} so it can be used to binary search a range of char sequences
+     * sorted by that method that start with the prefix.
+     *
+     * @param s      the char sequence
+     * @param prefix the prefix
+     * @return zero if the char sequence starts with the prefix ignoring case. Otherwise, a negative integer or a positive
+     *         integer as the char sequence sorts before or after all the char sequences that start with the prefix.
+     */
+    public static int comparePrefixIgnoreCase(CharSequence s, CharSequence prefix) {
+        int length = s.length();
+        int prefixLength = prefix.length();
+        int min = Math.min(length, prefixLength);
+        for (int i = 0; i < min; i++) {
+            char c1 = s.charAt(i);
+            char c2 = prefix.charAt(i);
+            if (c1 != c2) {
+                c1 = foldCase(c1);
+                c2 = foldCase(c2);
+                if (c1 != c2) {
+                    return c1 - c2;
+                }
+            }
+        }
+        return length < prefixLength ? -1 : 0;
+    }
+
+    /**
+     * Checks if the char sequence starts with the prefix, ignoring case. No new string will be created during the
+     * comparison.
+     *
+     * @param s      the char sequence
+     * @param prefix the prefix
+     * @return true if the char sequence starts with the prefix ignoring case.
+     */
+    public static boolean startsWithIgnoreCase(CharSequence s, CharSequence prefix) {
+        return s.length() >= prefix.length() && comparePrefixIgnoreCase(s, prefix) == 0;
+    }
+
     /**
      * Ignore the exception. This method does nothing. However it's a good practice to use this method so that we can
      * easily find out the place that ignoring exception. In development phase, we can log a message in this method so
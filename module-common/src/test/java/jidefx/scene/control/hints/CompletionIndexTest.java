@@ -0,0 +1,67 @@
+/*
+ * @(#)CompletionIndexTest.java 10/18/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+
+package jidefx.scene.control.hints;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class CompletionIndexTest {
+
+    private CompletionIndex<String> _index;
+
+    @Before
+    public void setUp() throws Exception {
+        _index = new CompletionIndex<>(Arrays.asList("beta", "Alpha", "alpine", "ALPS", "gamma", "alpha")); //NON-NLS
+    }
+
+    @Test
+    public void testSorted() throws Exception {
+        Assert.assertEquals(6, _index.size());
+        Assert.assertFalse(_index.isCaseSensitive());
+        // the same strings ignoring the case keep their original order
+        Assert.assertEquals(Arrays.asList("Alpha", "alpha", "alpine", "ALPS", "beta", "gamma"), _index.getItems()); //NON-NLS
+    }
+
+    @Test
+    public void testFind() throws Exception {
+        Assert.assertEquals(Arrays.asList("Alpha", "alpha", "alpine", "ALPS"), _index.find("alp", false)); //NON-NLS
+        Assert.assertEquals(Arrays.asList("alpha", "alpine"), _index.find("alp", true)); //NON-NLS
+        Assert.assertEquals(Arrays.asList("Alpha", "alpha"), _index.find("ALP", false, 2)); //NON-NLS
+        Assert.assertEquals(Collections.<String>emptyList(), _index.find("delta", false)); //NON-NLS
+        Assert.assertEquals(6, _index.find("", false).size());
+        Assert.assertEquals(4, _index.count("alp", false)); //NON-NLS
+        Assert.assertEquals(2, _index.count("alp", true)); //NON-NLS
+        Assert.assertEquals(1, _index.count("ALPS", true)); //NON-NLS
+    }
+
+    @Test
+    public void testCaseSensitive() throws Exception {
+        CompletionIndex<String> index = new CompletionIndex<>(Arrays.asList("beta", "Alpha", "alpine", "ALPS", "alpha"), true); //NON-NLS
+        Assert.assertEquals(Arrays.asList("ALPS", "Alpha", "alpha", "alpine", "beta"), index.getItems()); //NON-NLS
+        Assert.assertEquals(Arrays.asList("alpha", "alpine"), index.find("alp", true)); //NON-NLS
+        Assert.assertEquals(Arrays.asList("ALPS", "Alpha", "alpha", "alpine"), index.find("alp", false)); //NON-NLS
+        Assert.assertEquals(4, index.count("AL", false)); //NON-NLS
+    }
+
+    @Test
+    public void testUsage() throws Exception {
+        Map<String, Integer> frequencies = new HashMap<>();
+        frequencies.put("ALPS", 5); //NON-NLS
+        frequencies.put("alpine", 2); //NON-NLS
+        CompletionIndex<String> index = _index.withUsage(frequencies, Arrays.asList("alpha")); //NON-NLS
+        Assert.assertEquals(Arrays.asList("alpha", "ALPS", "alpine", "Alpha"), index.find("al", false)); //NON-NLS
+        Assert.assertEquals(Arrays.asList("alpha", "ALPS"), index.find("al", false, 2)); //NON-NLS
+        Assert.assertEquals(Arrays.asList("alpha", "alpine"), index.find("al", true)); //NON-NLS
+        Assert.assertEquals(Arrays.asList("beta"), index.find("b", false)); //NON-NLS
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * @(#)FuzzyMatcherTest.java 10/18/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+
+package jidefx.scene.control.searchable;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Random;
+
+public class FuzzyMatcherTest {
+
+    @Test
+    public void testMatches() throws Exception {
+        FuzzyMatcher matcher = new FuzzyMatcher("fzm", false); //NON-NLS
+        Assert.assertTrue(matcher.matches("FuzzyMatcher")); //NON-NLS
+        Assert.assertTrue(matcher.matches("fzm")); //NON-NLS
+        Assert.assertFalse(matcher.matches("mzf")); //NON-NLS
+        Assert.assertFalse(matcher.matches("fz")); //NON-NLS
+        Assert.assertEquals(FuzzyMatcher.NO_MATCH, matcher.score("fz")); //NON-NLS
+
+        matcher = new FuzzyMatcher("fzm", true); //NON-NLS
+        Assert.assertFalse(matcher.matches("FuzzyMatcher")); //NON-NLS
+        Assert.assertTrue(matcher.matches("fuzzym")); //NON-NLS
+    }
+
+    @Test
+    public void testScore() throws Exception {
+        FuzzyMatcher matcher = new FuzzyMatcher("fm", false); //NON-NLS
+        // the beginning of a word, the consecutive characters and the early match are better
+        Assert.assertTrue(matcher.score("FuzzyMatcher") > matcher.score("fuzzymatcher")); //NON-NLS
+        Assert.assertTrue(matcher.score("fmx") > matcher.score("fxm")); //NON-NLS
+        Assert.assertTrue(matcher.score("fm") > matcher.score("xxxxfm")); //NON-NLS
+    }
+
+    @Test
+    public void testTopK() throws Exception {
+        FuzzyMatcher.TopK topK = new FuzzyMatcher.TopK(3);
+        topK.offer(FuzzyMatcher.TopK.encode(5, 0));
+        topK.offer(FuzzyMatcher.TopK.encode(-3, 1));
+        topK.offer(FuzzyMatcher.TopK.encode(9, 2));
+        topK.offer(FuzzyMatcher.TopK.encode(5, 3));
+        topK.offer(FuzzyMatcher.TopK.encode(1, 4));
+        long[] matches = topK.toSortedArray();
+        Assert.assertEquals(3, matches.length);
+        Assert.assertEquals(2, FuzzyMatcher.TopK.decodeIndex(matches[0]));
+        Assert.assertEquals(0, FuzzyMatcher.TopK.decodeIndex(matches[1])); // the smaller index wins a tie
+        Assert.assertEquals(3, FuzzyMatcher.TopK.decodeIndex(matches[2]));
+
+        FuzzyMatcher.TopK empty = new FuzzyMatcher.TopK(0);
+        empty.offer(FuzzyMatcher.TopK.encode(1, 0));
+        Assert.assertEquals(0, empty.toSortedArray().length);
+    }
+
+    @Test
+    public void testTopKRandom() throws Exception {
+        Random random = new Random(36);
+        int[] scores = new int[1000];
+        long[] matches = new long[scores.length];
+        for (int i = 0; i < scores.length; i++) {
+            scores[i] = random.nextInt(200) - 100;
+            matches[i] = FuzzyMatcher.TopK.encode(scores[i], i);
+        }
+        FuzzyMatcher.TopK first = new FuzzyMatcher.TopK(10);
+        FuzzyMatcher.TopK second = new FuzzyMatcher.TopK(10);
+        for (int i = 0; i < matches.length; i++) {
+            (i % 2 == 0 ? first : second).offer(matches[i]);
+        }
+        first.offerAll(second.toArray()); // merges the partial results like the parallel search
+
+        long[] best = first.toSortedArray();
+        Assert.assertEquals(10, best.length);
+        int previousScore = Integer.MAX_VALUE;
+        int previousIndex = -1;
+        for (long match : best) {
+            int index = FuzzyMatcher.TopK.decodeIndex(match);
+            Assert.assertTrue(scores[index] < previousScore || scores[index] == previousScore && index > previousIndex);
+            previousScore = scores[index];
+            previousIndex = index;
+        }
+        int better = 0;
+        for (int i = 0; i < scores.length; i++) {
+            if (scores[i] > previousScore || scores[i] == previousScore && i < previousIndex) {
+                better++;
+            }
+        }
+        Assert.assertEquals(9, better); // nothing is better than the last one except the others kept
+    }
+}
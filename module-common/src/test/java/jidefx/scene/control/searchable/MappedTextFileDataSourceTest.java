@@ -0,0 +1,119 @@
+/*
+ * @(#)MappedTextFileDataSourceTest.java 10/18/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+
+package jidefx.scene.control.searchable;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+
+public class MappedTextFileDataSourceTest {
+
+    private Path _file;
+    private MappedTextFileDataSource _dataSource;
+
+    @Before
+    public void setUp() throws Exception {
+        _file = Files.createTempFile("MappedTextFileDataSourceTest", ".txt"); //NON-NLS
+        Files.write(_file, "a\nbb\r\n\nccc\ndd\r\ne\nf".getBytes(StandardCharsets.UTF_8)); //NON-NLS
+        _dataSource = new MappedTextFileDataSource(_file, StandardCharsets.UTF_8, 3);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        _dataSource.close();
+        Files.deleteIfExists(_file);
+    }
+
+    @Test
+    public void testLines() throws Exception {
+        Assert.assertEquals(7, _dataSource.getSize());
+        Assert.assertEquals(3, _dataSource.getPageSize());
+        Assert.assertEquals("a", _dataSource.getLine(0)); //NON-NLS
+        Assert.assertEquals("bb", _dataSource.getLine(1)); //NON-NLS
+        Assert.assertEquals("", _dataSource.getLine(2));
+        Assert.assertEquals("dd", _dataSource.getLine(4)); //NON-NLS
+        Assert.assertEquals("f", _dataSource.getLine(6)); //NON-NLS
+    }
+
+    @Test
+    public void testPages() throws Exception {
+        Assert.assertEquals(Arrays.asList("a", "bb", ""), Arrays.asList(_dataSource.getPage(0))); //NON-NLS
+        Assert.assertEquals(Arrays.asList("ccc", "dd", "e"), Arrays.asList(_dataSource.getPageAsync(1).get())); //NON-NLS
+        Assert.assertEquals(Arrays.asList("f"), Arrays.asList(_dataSource.getPage(2))); //NON-NLS
+        Assert.assertEquals(0, _dataSource.getPage(3).length);
+    }
+
+    @Test
+    public void testReader() throws Exception {
+        SearchDataSourceReader reader = new SearchDataSourceReader(_dataSource);
+        Assert.assertEquals(Arrays.asList("bb", "", "ccc", "dd", "e", "f"), Arrays.asList(reader.getTexts(1, 7))); //NON-NLS
+        for (int i = 0; i < _dataSource.getSize(); i++) {
+            Assert.assertEquals(_dataSource.getLine(i), reader.getTextAt(i));
+        }
+        for (int i = _dataSource.getSize() - 1; i >= 0; i--) {
+            Assert.assertEquals(_dataSource.getLine(i), reader.getTextAt(i));
+        }
+    }
+
+    @Test
+    public void testFailedPage() throws Exception {
+        SearchDataSourceReader reader = new SearchDataSourceReader(new SearchDataSource() {
+            @Override
+            public int getSize() {
+                return 6;
+            }
+
+            @Override
+            public int getPageSize() {
+                return 3;
+            }
+
+            @Override
+            public String[] getPage(int pageIndex) {
+                if (pageIndex == 1) {
+                    throw new IllegalStateException("page 1"); //NON-NLS
+                }
+                return new String[]{"x", "y", "z"}; //NON-NLS
+            }
+        });
+        Assert.assertEquals("y", reader.getTextAt(1)); //NON-NLS
+        Assert.assertNull(reader.getTextAt(4));
+        Assert.assertEquals(Arrays.asList("z", null, null, null), Arrays.asList(reader.getTexts(2, 6))); //NON-NLS
+    }
+
+    @Test
+    public void testSlowPage() throws Exception {
+        final CompletableFuture<String[]> slowPage = new CompletableFuture<>();
+        SearchDataSourceReader reader = new SearchDataSourceReader(new SearchDataSource() {
+            @Override
+            public int getSize() {
+                return 3;
+            }
+
+            @Override
+            public int getPageSize() {
+                return 3;
+            }
+
+            @Override
+            public CompletableFuture<String[]> getPageAsync(int pageIndex) {
+                return slowPage;
+            }
+        });
+        Assert.assertNull(reader.getTextAt(0));
+        Assert.assertNull(reader.getTextAt(1));
+        slowPage.complete(new String[]{"x", "y", "z"}); //NON-NLS
+        Assert.assertEquals("y", reader.getTextAt(1)); //NON-NLS
+    }
+}
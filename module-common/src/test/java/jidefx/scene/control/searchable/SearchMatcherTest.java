@@ -0,0 +1,118 @@
+/*
+ * @(#)SearchMatcherTest.java 10/18/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+
+package jidefx.scene.control.searchable;
+
+import jidefx.utils.WildcardSupport;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SearchMatcherTest {
+
+    private WildcardSupport _wildcardSupport;
+
+    @Before
+    public void setUp() throws Exception {
+        _wildcardSupport = new WildcardSupport() {
+        };
+    }
+
+    @Test
+    public void testLiteral() throws Exception {
+        SearchMatcher matcher = SearchMatcher.compile("abc", true, false, null); //NON-NLS
+        Assert.assertTrue(matcher instanceof SearchMatcher.ContainsMatcher);
+        Assert.assertTrue(matcher.matches("xxabcxx")); //NON-NLS
+        Assert.assertFalse(matcher.matches("xxABCxx")); //NON-NLS
+        Assert.assertFalse(matcher.matches("ab")); //NON-NLS
+
+        matcher = SearchMatcher.compile("abc", true, false, _wildcardSupport); //NON-NLS
+        Assert.assertTrue(matcher instanceof SearchMatcher.ContainsMatcher);
+    }
+
+    @Test
+    public void testPrefix() throws Exception {
+        SearchMatcher matcher = SearchMatcher.compile("abc", true, true, null); //NON-NLS
+        Assert.assertTrue(matcher instanceof SearchMatcher.PrefixMatcher);
+        Assert.assertTrue(matcher.matches("abcdef")); //NON-NLS
+        Assert.assertFalse(matcher.matches("xabc")); //NON-NLS
+
+        matcher = SearchMatcher.compile("abc*", true, true, _wildcardSupport); //NON-NLS
+        Assert.assertTrue(matcher instanceof SearchMatcher.PrefixMatcher);
+        Assert.assertTrue(matcher.matches("abcdef")); //NON-NLS
+        Assert.assertFalse(matcher.matches("xabc")); //NON-NLS
+    }
+
+    @Test
+    public void testSuffix() throws Exception {
+        SearchMatcher matcher = SearchMatcher.compile("*abc", true, true, _wildcardSupport); //NON-NLS
+        Assert.assertTrue(matcher instanceof SearchMatcher.ContainsMatcher);
+        Assert.assertTrue(matcher.matches("xxabc")); //NON-NLS
+        Assert.assertFalse(matcher.matches("xxab")); //NON-NLS
+    }
+
+    @Test
+    public void testSegments() throws Exception {
+        SearchMatcher matcher = SearchMatcher.compile("ab*cd+ef", true, true, _wildcardSupport); //NON-NLS
+        Assert.assertTrue(matcher instanceof SearchMatcher.SegmentsMatcher);
+        Assert.assertTrue(matcher.matches("abcdxef")); //NON-NLS
+        Assert.assertTrue(matcher.matches("abxxcdxxef")); //NON-NLS
+        Assert.assertFalse(matcher.matches("abcdef")); // '+' needs at least one character
+        Assert.assertFalse(matcher.matches("xabcdxef")); // from start
+        Assert.assertFalse(matcher.matches("abefcdx")); // order matters
+    }
+
+    @Test
+    public void testRegex() throws Exception {
+        SearchMatcher matcher = SearchMatcher.compile("a?c", true, false, _wildcardSupport); //NON-NLS
+        Assert.assertFalse(matcher instanceof SearchMatcher.SegmentsMatcher);
+        Assert.assertFalse(matcher instanceof SearchMatcher.ContainsMatcher);
+        Assert.assertTrue(matcher.matches("xxabcxx")); //NON-NLS
+        Assert.assertFalse(matcher.matches("xxabbcxx")); //NON-NLS
+    }
+
+    @Test
+    public void testCaseFolding() throws Exception {
+        Assert.assertTrue(SearchMatcher.compile("abc", false, false, null).matches("xxABCxx")); //NON-NLS
+        Assert.assertTrue(SearchMatcher.compile("ABC", false, true, null).matches("abcdef")); //NON-NLS
+        Assert.assertTrue(SearchMatcher.compile("a*C", false, true, _wildcardSupport).matches("AxxxcX")); //NON-NLS
+        Assert.assertTrue(SearchMatcher.compile("a?C", false, true, _wildcardSupport).matches("AxcX")); //NON-NLS
+
+        // the final sigma folds the same way as in String.equalsIgnoreCase
+        Assert.assertTrue(SearchMatcher.compile("\u03c3", false, false, null).matches("\u03c2")); //NON-NLS
+        Assert.assertTrue(SearchMatcher.compile("\u03a3", false, false, null).matches("\u03c2")); //NON-NLS
+
+        // supplementary characters are compared on code points
+        SearchMatcher matcher = SearchMatcher.compile("\ud801\udc00", false, false, null); //NON-NLS
+        Assert.assertTrue(matcher instanceof SearchMatcher.CodePointMatcher);
+        Assert.assertTrue(matcher.matches("x\ud801\udc28")); //NON-NLS
+    }
+
+    @Test
+    public void testCache() throws Exception {
+        Assert.assertSame(SearchMatcher.compile("ab*cd", false, true, _wildcardSupport), SearchMatcher.compile("ab*cd", false, true, _wildcardSupport)); //NON-NLS
+        Assert.assertNotSame(SearchMatcher.compile("ab*cd", false, true, _wildcardSupport), SearchMatcher.compile("ab*cd", true, true, _wildcardSupport)); //NON-NLS
+
+        // a different WildcardSupport class with the same quantifiers doesn't share the cached matchers
+        WildcardSupport other = new WildcardSupport() {
+        };
+        Assert.assertNotSame(SearchMatcher.compile("ab*cd", false, true, _wildcardSupport), SearchMatcher.compile("ab*cd", false, true, other)); //NON-NLS
+    }
+
+    @Test
+    public void testConvertOverridden() throws Exception {
+        WildcardSupport digits = new WildcardSupport() {
+            @Override
+            public String convert(String s) {
+                return s.replace("#", "[0-9]"); //NON-NLS
+            }
+        };
+        SearchMatcher matcher = SearchMatcher.compile("a#c*", true, true, digits); //NON-NLS
+        Assert.assertFalse(matcher instanceof SearchMatcher.PrefixMatcher);
+        Assert.assertTrue(matcher.matches("a1c*")); //NON-NLS
+        Assert.assertFalse(matcher.matches("a#c")); //NON-NLS
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * @(#)SearchablePrefixIndexTest.java 10/18/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+
+package jidefx.scene.control.searchable;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.Group;
+import jidefx.utils.CommonUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+public class SearchablePrefixIndexTest {
+
+    private static final String[] PREFIXES = {"", "a", "A", "ab", "b", "Ba", "abc", "zz"}; //NON-NLS
+
+    private ObservableList<String> _items;
+    private SearchablePrefixIndex<String> _index;
+    private Random _random;
+
+    @Before
+    public void setUp() throws Exception {
+        _random = new Random(26);
+        _items = FXCollections.observableArrayList();
+        for (int i = 0; i < 200; i++) {
+            _items.add(randomText());
+        }
+        Searchable<String> searchable = new Searchable<String>(new Group()) {
+            @Override
+            protected int getSelectedIndex() {
+                return -1;
+            }
+
+            @Override
+            protected void setSelectedIndex(int index, boolean incremental) {
+            }
+
+            @Override
+            protected int getElementCount() {
+                return _items.size();
+            }
+
+            @Override
+            protected String getElementAt(int index) {
+                return _items.get(index);
+            }
+
+            @Override
+            protected String convertElementToString(String element) {
+                return element;
+            }
+        };
+        _index = new SearchablePrefixIndex<>(searchable, _items);
+        _index.setPatchLimit(Integer.MAX_VALUE); // patch all the changes, a rebuild would run in the background
+        _index.install(false);
+    }
+
+    private String randomText() {
+        char[] chars = new char[1 + _random.nextInt(4)];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = "abAB".charAt(_random.nextInt(4)); //NON-NLS
+        }
+        return new String(chars);
+    }
+
+    private void assertIndex() {
+        for (String prefix : PREFIXES) {
+            for (boolean caseSensitive : new boolean[]{true, false}) {
+                List<Integer> expected = new ArrayList<>();
+                for (int i = 0; i < _items.size(); i++) {
+                    String text = _items.get(i);
+                    if (caseSensitive ? text.startsWith(prefix) : CommonUtils.startsWithIgnoreCase(text, prefix)) {
+                        expected.add(i);
+                    }
+                }
+                List<Integer> actual = new ArrayList<>();
+                for (int index : _index.findAll(prefix, caseSensitive)) {
+                    actual.add(index);
+                }
+                Assert.assertEquals(expected, actual);
+            }
+        }
+        Assert.assertEquals(_items, Arrays.asList(_index.getTexts()));
+    }
+
+    @Test
+    public void testBuild() throws Exception {
+        Assert.assertTrue(_index.isReady());
+        assertIndex();
+    }
+
+    @Test
+    public void testSmallChanges() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            switch (_random.nextInt(3)) {
+                case 0:
+                    _items.add(_random.nextInt(_items.size() + 1), randomText());
+                    break;
+                case 1:
+                    _items.remove(_random.nextInt(_items.size()));
+                    break;
+                default:
+                    _items.set(_random.nextInt(_items.size()), randomText());
+                    break;
+            }
+            assertIndex();
+        }
+    }
+
+    @Test
+    public void testBulkChanges() throws Exception {
+        for (int i = 0; i < 20; i++) {
+            int from = _random.nextInt(_items.size() - 50);
+            switch (_random.nextInt(4)) {
+                case 0:
+                    List<String> added = new ArrayList<>();
+                    for (int j = 0; j < 50; j++) {
+                        added.add(randomText());
+                    }
+                    _items.addAll(from, added);
+                    break;
+                case 1:
+                    _items.remove(from, from + 40);
+                    break;
+                case 2:
+                    List<String> replaced = new ArrayList<>(_items);
+                    for (int j = from; j < from + 30; j++) {
+                        replaced.set(j, randomText());
+                    }
+                    _items.setAll(replaced);
+                    break;
+                default:
+                    FXCollections.sort(_items);
+                    break;
+            }
+            assertIndex();
+        }
+    }
+}
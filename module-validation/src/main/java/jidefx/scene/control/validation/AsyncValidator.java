@@ -0,0 +1,26 @@
+/*
+ * @(#)AsyncValidator.java 10/18/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+
+package jidefx.scene.control.validation;
+
+import javafx.util.Callback;
+
+import java.util.concurrent.CompletionStage;
+
+/**
+ * {@code AsyncValidator} is a callback that takes an {@code ValidationObject} and returns a {@code CompletionStage} of
+ * the {@code ValidationEvent}. Use it instead of a {@link Validator} when the validation is slow, for example when it
+ * queries a database, so that the JavaFX application thread is not blocked. The callback itself is called on the
+ * JavaFX application thread, so it should only start the work, for example using {@link
+ * java.util.concurrent.CompletableFuture#supplyAsync(java.util.function.Supplier)}, and return.
+ * <p>
+ * The validator is installed using the {@code installAsync} methods of {@link ValidationUtils}. If the value changes
+ * again before the result is ready, the pending validation is cancelled and its result is discarded. The result of
+ * the latest validation is fired on the JavaFX application thread. While a validation is pending, the target node has
+ * the "validating" pseudo-class.
+ */
+public interface AsyncValidator extends Callback<ValidationObject, CompletionStage<ValidationEvent>> {
+}
@@ -0,0 +1,47 @@
+/*
+ * @(#)DependentValidator.java 10/18/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+
+package jidefx.scene.control.validation;
+
+import javafx.beans.Observable;
+
+/**
+ * {@code DependentValidator} is a {@code Validator} whose result depends not only on the value being validated but
+ * also on some other observables. For example, a validator that checks if the end date is after the start date depends
+ * on the value of the start date field.
+ * <p>
+ * When the memoization is enabled using {@link ValidationUtils#setMemoizationEnabled(javafx.scene.Node, boolean)}, the
+ * remembered result of the validator is dropped as soon as any of the dependencies changes.
+ */
+public interface DependentValidator extends Validator {
+    /**
+     * Gets the observables, other than the value being validated, that the validation result depends on.
+     *
+     * @return the dependencies.
+     */
+    Observable[] getDependencies();
+
+    /**
+     * Creates a DependentValidator that calls the validator.
+     *
+     * @param validator    the validator
+     * @param dependencies the observables that the validation result depends on
+     * @return the DependentValidator.
+     */
+    static DependentValidator create(final Validator validator, final Observable... dependencies) {
+        return new DependentValidator() {
+            @Override
+            public Observable[] getDependencies() {
+                return dependencies;
+            }
+
+            @Override
+            public ValidationEvent call(ValidationObject param) {
+                return validator.call(param);
+            }
+        };
+    }
+}
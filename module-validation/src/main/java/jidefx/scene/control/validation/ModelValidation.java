@@ -0,0 +1,572 @@
+/*
+ * @(#)ModelValidation.java 10/18/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+
+package jidefx.scene.control.validation;
+
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.WeakInvalidationListener;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.event.EventType;
+import javafx.scene.control.IndexedCell;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.Tooltip;
+import javafx.util.Callback;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * {@code ModelValidation} validates all the items of a {@code TableView}, a {@code ListView} or an {@code
+ * ObservableList}, not only the ones shown in the cells. The cells of a table or a list are virtualized, so the
+ * validators installed on the cells only validate the visible rows. This class validates the values of the items
+ * directly, in chunks on the fork-join pool, and keeps the results in a {@link ValidationStatusStore}. The cells read
+ * their validation results from the store when they are shown.
+ * <pre>{@code
+ * ModelValidation<Person> validation = new ModelValidation<>(tableView);
+ * validation.addValidator(emailColumn, object -> isValidEmail(object.getNewValue()) ? ValidationEvent.OK
+ *         : new ValidationEvent(ValidationEvent.VALIDATION_ERROR, 0, "Invalid email"));
+ * validation.setAutoValidate(true);
+ * validation.validateAll().thenAccept(valid -> ...);
+ * }</pre>
+ * The validators and the value extractors are called on the worker threads, so they must be thread-safe and must not
+ * read or change the scene graph. The cell values of a {@code TableColumn} are different, they are read from the cell
+ * value factory on the JavaFX application thread when the validation starts. The {@code ValidationObject} passed to
+ * the validators is a {@link TableValidationObject} with the row and the column of the value, or a {@link
+ * ListValidationObject} with the row for a {@code ListView}. All the other methods must be called on the JavaFX
+ * application thread.
+ *
+ * @param <S> the type of the items
+ */
+@SuppressWarnings("Convert2Lambda")
+public class ModelValidation<S> {
+    private static final int CHUNK_SIZE = 1024;
+    private static final String PROPERTY_CELL_DECORATION = "ModelValidation.CellDecoration"; //NON-NLS
+
+    private static final byte STATUS_UNKNOWN = 0;
+    private static final byte STATUS_OK = 1;
+    private static final byte STATUS_INFO = 2;
+    private static final byte STATUS_WARNING = 3;
+    private static final byte STATUS_ERROR = 4;
+
+    private final Object _source;
+    private final ObservableValue<ObservableList<S>> _itemsProperty;
+    private ObservableList<S> _items;
+    private final List<Callback<S, ?>> _extractors = new ArrayList<>();
+    private final List<TableColumn<S, ?>> _tableColumns = new ArrayList<>(); // null if the column uses an extractor
+    private final List<Validator> _validators = new ArrayList<>();
+    private final ValidationStatusStore _statusStore = new ValidationStatusStore();
+    private final ListChangeListener<S> _itemsListener;
+    private boolean _autoValidate;
+    private volatile long _generation;
+    private int _pendingChunks;
+    private final List<int[]> _dirtyRanges = new ArrayList<>(); // the rows changed while chunks are pending
+
+    /**
+     * The result of a chunk of rows, calculated on a worker thread.
+     */
+    private static class ChunkResult {
+        private final int _from;
+        private final byte[] _status; // (row - from) * column count + column
+        private final Map<Integer, String> _messages = new HashMap<>();
+        private boolean _hasError;
+
+        ChunkResult(int from, int cellCount) {
+            _from = from;
+            _status = new byte[cellCount];
+        }
+    }
+
+    /**
+     * A call of {@link #validateAll()} or of the automatic validation.
+     */
+    private static class ValidationRun {
+        private final long _generation;
+        private final CompletableFuture<Boolean> _result = new CompletableFuture<>();
+        private int _remainingChunks;
+        private boolean _valid = true;
+
+        ValidationRun(long generation, int remainingChunks) {
+            _generation = generation;
+            _remainingChunks = remainingChunks;
+        }
+    }
+
+    /**
+     * Creates a ModelValidation for the items of the TableView.
+     *
+     * @param tableView the TableView
+     */
+    public ModelValidation(TableView<S> tableView) {
+        this(tableView, tableView.itemsProperty());
+    }
+
+    /**
+     * Creates a ModelValidation for the items of the ListView.
+     *
+     * @param listView the ListView
+     */
+    public ModelValidation(ListView<S> listView) {
+        this(listView, listView.itemsProperty());
+    }
+
+    /**
+     * Creates a ModelValidation for the items.
+     *
+     * @param items the items
+     */
+    public ModelValidation(ObservableList<S> items) {
+        this(items, null);
+    }
+
+    private ModelValidation(Object source, ObservableValue<ObservableList<S>> itemsProperty) {
+        _source = source;
+        _itemsProperty = itemsProperty;
+        _itemsListener = new ListChangeListener<S>() {
+            @Override
+            public void onChanged(Change<? extends S> change) {
+                itemsChanged(change);
+            }
+        };
+        if (itemsProperty != null) {
+            _items = itemsProperty.getValue();
+            itemsProperty.addListener(new ChangeListener<ObservableList<S>>() {
+                @Override
+                public void changed(ObservableValue<? extends ObservableList<S>> observable, ObservableList<S> oldValue, ObservableList<S> newValue) {
+                    if (oldValue != null && _autoValidate) {
+                        oldValue.removeListener(_itemsListener);
+                    }
+                    _items = newValue;
+                    if (newValue != null && _autoValidate) {
+                        newValue.addListener(_itemsListener);
+                    }
+                    _statusStore.clear();
+                    if (_autoValidate) {
+                        validateAll();
+                    }
+                    else {
+                        cancel();
+                    }
+                }
+            });
+        }
+        else {
+            @SuppressWarnings("unchecked")
+            ObservableList<S> items = (ObservableList<S>) source;
+            _items = items;
+        }
+    }
+
+    /**
+     * Gets the store that keeps the validation results.
+     *
+     * @return the status store.
+     */
+    public ValidationStatusStore getStatusStore() {
+        return _statusStore;
+    }
+
+    /**
+     * Adds a validator for the values that the extractor gets from the items. For example, the extractor could return
+     * the email of a person.
+     *
+     * @param valueExtractor the callback to get the value from an item. It is called on the worker threads.
+     * @param validator      the validator
+     * @return the column of the validation results in the status store.
+     */
+    public int addValidator(Callback<S, ?> valueExtractor, Validator validator) {
+        return addValidator(valueExtractor, null, validator);
+    }
+
+    private int addValidator(Callback<S, ?> valueExtractor, TableColumn<S, ?> column, Validator validator) {
+        _extractors.add(valueExtractor);
+        _tableColumns.add(column);
+        _validators.add(validator);
+        return _validators.size() - 1;
+    }
+
+    /**
+     * Adds a validator for the cell values of the table column. The values are the ones returned by the cell value
+     * factory of the column. The cell value factory is not thread-safe, so it is called for the rows to be validated
+     * on the JavaFX application thread when the validation starts, and only the validator is called on the worker
+     * threads. The cell factory of the column is also wrapped so that the cells show the validation results in the
+     * status store using the validation pseudo-classes and a tooltip for the message.
+     *
+     * @param column    the table column
+     * @param validator the validator
+     * @param <T>       the type of the cell values
+     * @return the column of the validation results in the status store.
+     */
+    public <T> int addValidator(final TableColumn<S, T> column, Validator validator) {
+        final int index = addValidator(null, column, validator); // the cell values are read by readCellValues
+
+        final Callback<TableColumn<S, T>, TableCell<S, T>> cellFactory = column.getCellFactory();
+        column.setCellFactory(new Callback<TableColumn<S, T>, TableCell<S, T>>() {
+            @Override
+            public TableCell<S, T> call(TableColumn<S, T> param) {
+                return decorateCell(cellFactory.call(param), index);
+            }
+        });
+        return index;
+    }
+
+    /**
+     * Wraps the cell factory of the ListView so that the cells show the most severe validation result of the row. It
+     * only works if the ModelValidation was created for a ListView.
+     */
+    public void decorateListCells() {
+        if (!(_source instanceof ListView)) {
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        ListView<S> listView = (ListView<S>) _source;
+        final Callback<ListView<S>, ListCell<S>> cellFactory = listView.getCellFactory();
+        listView.setCellFactory(new Callback<ListView<S>, ListCell<S>>() {
+            @Override
+            public ListCell<S> call(ListView<S> param) {
+                ListCell<S> cell = cellFactory != null ? cellFactory.call(param) : new ListCell<S>() {
+                    @Override
+                    protected void updateItem(S item, boolean empty) {
+                        super.updateItem(item, empty);
+                        setText(empty || item == null ? null : item.toString());
+                    }
+                };
+                return decorateCell(cell, -1);
+            }
+        });
+    }
+
+    private <C extends IndexedCell<?>> C decorateCell(final C cell, final int column) {
+        final Tooltip tooltip = new Tooltip();
+        InvalidationListener listener = new InvalidationListener() {
+            @Override
+            public void invalidated(Observable observable) {
+                updateCell(cell, column, tooltip);
+            }
+        };
+        cell.indexProperty().addListener(listener);
+        cell.emptyProperty().addListener(listener);
+        _statusStore.revisionProperty().addListener(new WeakInvalidationListener(listener));
+        cell.getProperties().put(PROPERTY_CELL_DECORATION, listener); // keeps the weak listener alive with the cell
+        return cell;
+    }
+
+    private void updateCell(IndexedCell<?> cell, int column, Tooltip tooltip) {
+        int row = cell.getIndex();
+        EventType<ValidationEvent> type = ValidationEvent.VALIDATION_UNKNOWN;
+        String message = null;
+        if (!cell.isEmpty() && row >= 0) {
+            type = column < 0 ? _statusStore.getRowStatus(row) : _statusStore.getStatus(row, column);
+            message = column < 0 ? _statusStore.getRowMessage(row) : _statusStore.getMessage(row, column);
+        }
+
+        cell.pseudoClassStateChanged(ValidationUtils.PSEUDO_CLASS_VALIDATION_OK, type == ValidationEvent.VALIDATION_OK);
+        cell.pseudoClassStateChanged(ValidationUtils.PSEUDO_CLASS_VALIDATION_INFO, type == ValidationEvent.VALIDATION_INFO);
+        cell.pseudoClassStateChanged(ValidationUtils.PSEUDO_CLASS_VALIDATION_WARNING, type == ValidationEvent.VALIDATION_WARNING);
+        cell.pseudoClassStateChanged(ValidationUtils.PSEUDO_CLASS_VALIDATION_ERROR, type == ValidationEvent.VALIDATION_ERROR);
+
+        if (message != null) {
+            tooltip.setText(message);
+            cell.setTooltip(tooltip);
+        }
+        else if (cell.getTooltip() == tooltip) {
+            cell.setTooltip(null);
+        }
+    }
+
+    /**
+     * Sets the flag if the items are validated again automatically when they change. If only some items are replaced
+     * or updated, only those rows are validated again, after the running validation if there is one. If items are
+     * added or removed, all the rows are validated again.
+     *
+     * @param autoValidate true or false.
+     */
+    public void setAutoValidate(boolean autoValidate) {
+        if (_autoValidate == autoValidate) {
+            return;
+        }
+        _autoValidate = autoValidate;
+        if (_items != null) {
+            if (autoValidate) {
+                _items.addListener(_itemsListener);
+            }
+            else {
+                _items.removeListener(_itemsListener);
+            }
+        }
+    }
+
+    /**
+     * Checks if the items are validated again automatically when they change.
+     *
+     * @return true or false.
+     */
+    public boolean isAutoValidate() {
+        return _autoValidate;
+    }
+
+    private void itemsChanged(ListChangeListener.Change<? extends S> change) {
+        int from = Integer.MAX_VALUE;
+        int to = -1;
+        boolean structural = false;
+        while (change.next()) {
+            if (change.wasPermutated() || change.getAddedSize() != change.getRemovedSize()) {
+                structural = true;
+            }
+            from = Math.min(from, change.getFrom());
+            to = Math.max(to, change.getTo());
+        }
+
+        if (structural) {
+            validateAll(); // the rows moved
+        }
+        else if (to > from) {
+            if (_pendingChunks > 0) {
+                _dirtyRanges.add(new int[]{from, to}); // the running validation may have read the old items
+            }
+            else {
+                validate(from, to, false);
+            }
+        }
+    }
+
+    /**
+     * Validates the rows changed while the chunks were pending, merging the ranges that overlap or touch.
+     */
+    private void validateDirtyRanges() {
+        List<int[]> ranges = new ArrayList<>(_dirtyRanges);
+        _dirtyRanges.clear();
+        Collections.sort(ranges, new Comparator<int[]>() {
+            @Override
+            public int compare(int[] o1, int[] o2) {
+                return Integer.compare(o1[0], o2[0]);
+            }
+        });
+        int size = _items == null ? 0 : _items.size();
+        int from = -1;
+        int to = -1;
+        for (int[] range : ranges) {
+            if (range[0] > to) {
+                if (to > from) {
+                    validate(from, Math.min(to, size), false);
+                }
+                from = range[0];
+            }
+            to = Math.max(to, range[1]);
+        }
+        if (to > from) {
+            validate(from, Math.min(to, size), false);
+        }
+    }
+
+    /**
+     * Validates all the items. The validation runs in chunks on the fork-join pool and the results are put into the
+     * status store on the JavaFX application thread as soon as each chunk is done. If the items are validated again
+     * before it is done, the rest of the results are discarded.
+     *
+     * @return a CompletionStage that completes with true if there is no validation error, after all the results are
+     *         in the status store. It is cancelled if another validation starts first.
+     */
+    public CompletionStage<Boolean> validateAll() {
+        return validate(0, _items == null ? 0 : _items.size(), true);
+    }
+
+    /**
+     * Cancels the running validation. The results that are already in the status store are kept.
+     */
+    public void cancel() {
+        _generation++;
+        _pendingChunks = 0;
+        _dirtyRanges.clear();
+    }
+
+    /**
+     * Validates the rows from {@code from} to {@code to}. If {@code all} is true, the running validation is cancelled
+     * and the rows are all the items. Otherwise the chunks run along with the pending ones.
+     */
+    private CompletionStage<Boolean> validate(final int from, final int to, boolean all) {
+        if (all) {
+            cancel();
+        }
+        final List<S> items = from >= to ? Collections.<S>emptyList() : new ArrayList<>(_items.subList(from, to)); // the worker threads don't read the observable list
+        final List<Callback<S, ?>> extractors = new ArrayList<>(_extractors);
+        final Validator[] validators = _validators.toArray(new Validator[_validators.size()]);
+        final Object[][] cellValues = readCellValues(items);
+        if (all) {
+            _statusStore.truncate(items.size());
+        }
+
+        int chunkCount = (to - from + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        final ValidationRun run = new ValidationRun(_generation, chunkCount);
+        if (chunkCount == 0 || validators.length == 0) {
+            _statusStore.fireChanged();
+            run._result.complete(true);
+            return run._result;
+        }
+
+        _pendingChunks += chunkCount;
+        for (int start = from; start < to; start += CHUNK_SIZE) {
+            final int chunkFrom = start;
+            final int chunkTo = Math.min(start + CHUNK_SIZE, to);
+            CompletableFuture.supplyAsync(new Supplier<ChunkResult>() {
+                @Override
+                public ChunkResult get() {
+                    return validateChunk(run, items, chunkFrom, chunkTo, from, extractors, cellValues, validators);
+                }
+            }, ForkJoinPool.commonPool()).whenComplete(new BiConsumer<ChunkResult, Throwable>() {
+                @Override
+                public void accept(final ChunkResult result, final Throwable throwable) {
+                    Platform.runLater(new Runnable() {
+                        @Override
+                        public void run() {
+                            applyChunk(run, result, throwable, validators.length);
+                        }
+                    });
+                }
+            });
+        }
+        return run._result;
+    }
+
+    /**
+     * Reads the cell values of the table columns on the JavaFX application thread, because the cell value factories
+     * could create or bind the observable values and are not safe to call on the worker threads.
+     *
+     * @return the cell values of each column, in the order of the items. Null for the columns using an extractor.
+     */
+    private Object[][] readCellValues(List<S> items) {
+        Object[][] cellValues = new Object[_tableColumns.size()][];
+        for (int column = 0; column < cellValues.length; column++) {
+            TableColumn<S, ?> tableColumn = _tableColumns.get(column);
+            if (tableColumn == null) {
+                continue;
+            }
+            Object[] values = new Object[items.size()];
+            for (int i = 0; i < values.length; i++) {
+                S item = items.get(i);
+                ObservableValue<?> value = item == null ? null : tableColumn.getCellObservableValue(item);
+                values[i] = value == null ? null : value.getValue();
+            }
+            cellValues[column] = values;
+        }
+        return cellValues;
+    }
+
+    /**
+     * Validates the rows from {@code from} to {@code to}. The items and the cell values start at the row {@code
+     * offset}.
+     */
+    private ChunkResult validateChunk(ValidationRun run, List<S> items, int from, int to, int offset, List<Callback<S, ?>> extractors, Object[][] cellValues, Validator[] validators) {
+        int columnCount = validators.length;
+        ChunkResult result = new ChunkResult(from, (to - from) * columnCount);
+        for (int row = from; row < to; row++) {
+            if (run._generation != _generation) {
+                return null; // stale, stop early
+            }
+            S item = items.get(row - offset);
+            for (int column = 0; column < columnCount; column++) {
+                Object value;
+                if (cellValues[column] != null) {
+                    value = cellValues[column][row - offset];
+                }
+                else {
+                    value = item == null ? null : extractors.get(column).call(item);
+                }
+                ValidationObject object = _source instanceof ListView ? new ListValidationObject(_source, value, value, row)
+                        : new TableValidationObject(_source, value, value, row, column);
+                ValidationEvent event = validators[column].call(object);
+                int cell = (row - from) * columnCount + column;
+                result._status[cell] = toStatus(event == null ? null : event.getEventType());
+                if (event != null && event.getMessage() != null && event.getMessage().length() > 0) {
+                    result._messages.put(cell, event.getMessage());
+                }
+                if (result._status[cell] == STATUS_ERROR) {
+                    result._hasError = true;
+                }
+            }
+        }
+        return result;
+    }
+
+    private void applyChunk(ValidationRun run, ChunkResult result, Throwable throwable, int columnCount) {
+        if (run._generation != _generation) {
+            run._result.cancel(false);
+            return;
+        }
+        if (throwable != null || result == null) {
+            cancel();
+            run._result.completeExceptionally(throwable != null ? throwable : new IllegalStateException("The validation is cancelled")); //NON-NLS
+            return;
+        }
+
+        int rowCount = result._status.length / columnCount;
+        for (int row = 0; row < rowCount; row++) {
+            for (int column = 0; column < columnCount; column++) {
+                int cell = row * columnCount + column;
+                _statusStore.set(result._from + row, column, toEventType(result._status[cell]), result._messages.get(cell));
+            }
+        }
+        _statusStore.fireChanged();
+
+        _pendingChunks--;
+        run._remainingChunks--;
+        run._valid &= !result._hasError;
+        if (run._remainingChunks == 0) {
+            run._result.complete(run._valid);
+        }
+        if (_pendingChunks == 0 && !_dirtyRanges.isEmpty()) {
+            validateDirtyRanges();
+        }
+    }
+
+    private static byte toStatus(EventType<ValidationEvent> type) {
+        if (ValidationEvent.VALIDATION_ERROR.equals(type)) {
+            return STATUS_ERROR;
+        }
+        else if (ValidationEvent.VALIDATION_WARNING.equals(type)) {
+            return STATUS_WARNING;
+        }
+        else if (ValidationEvent.VALIDATION_INFO.equals(type)) {
+            return STATUS_INFO;
+        }
+        else if (ValidationEvent.VALIDATION_OK.equals(type)) {
+            return STATUS_OK;
+        }
+        return STATUS_UNKNOWN;
+    }
+
+    private static EventType<ValidationEvent> toEventType(byte status) {
+        switch (status) {
+            case STATUS_ERROR:
+                return ValidationEvent.VALIDATION_ERROR;
+            case STATUS_WARNING:
+                return ValidationEvent.VALIDATION_WARNING;
+            case STATUS_INFO:
+                return ValidationEvent.VALIDATION_INFO;
+            case STATUS_OK:
+                return ValidationEvent.VALIDATION_OK;
+            default:
+                return ValidationEvent.VALIDATION_UNKNOWN;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+/*
+ * @(#)PureValidator.java 10/18/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+
+package jidefx.scene.control.validation;
+
+/**
+ * {@code PureValidator} is a {@code Validator} whose result depends only on the old and new values of the {@code
+ * ValidationObject}. It doesn't read or change the source node or anything else in the scene graph, so it can be
+ * called on any thread. When {@link ValidationUtils#validateOnDemand(javafx.scene.Node, boolean)} is called with
+ * parallel set to true, the pure validators run in parallel on the fork-join pool.
+ * <p>
+ * To mark a validator as pure, simply declare it as a {@code PureValidator}.
+ * <pre>{@code
+ * PureValidator validator = object -> isValidEmail(object.getNewValue()) ? ValidationEvent.OK : new ValidationEvent(ValidationEvent.VALIDATION_ERROR, 0, "Invalid email");
+ * ValidationUtils.install(emailField, validator, ValidationMode.ON_DEMAND);
+ * }</pre>
+ */
+public interface PureValidator extends Validator {
+}
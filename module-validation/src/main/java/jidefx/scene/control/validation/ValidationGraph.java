@@ -0,0 +1,330 @@
+/*
+ * @(#)ValidationGraph.java 10/18/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+
+package jidefx.scene.control.validation;
+
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.beans.value.ObservableValue;
+import javafx.event.EventHandler;
+import javafx.scene.Node;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * {@code ValidationGraph} validates the rules that read more than one value, such as "the end date is after the start
+ * date" or "the total equals the sum of the line items". Each rule is added with the value it validates and the other
+ * observables it reads. When any of them changes, only the rules that read it are validated again, instead of the
+ * whole form.
+ * <p>
+ * The result of a rule is also an observable, see {@link Rule#resultProperty()}, so a rule can depend on the results of
+ * the rules added before it. For example, a "submit is allowed" rule can read the results of all the field rules. The
+ * rules are always validated in the order they were added, which is a topological order because a rule can only
+ * depend on the rules added before it. When the result of a rule has the same event type and message as before, the
+ * previous result is kept, so the rules that depend on it are not validated again.
+ * <p>
+ * The validation events are fired on the target nodes after all the affected rules are validated, even if a validator
+ * throws an exception, in which case the rule is validated again the next time. Use {@link
+ * #runBatch(Runnable)} to change several values at once and validate the affected rules only once.
+ * <pre>{@code
+ * ValidationGraph graph = new ValidationGraph();
+ * graph.add(endDatePicker, endDatePicker.valueProperty(), object -> {
+ *     LocalDate start = startDatePicker.getValue();
+ *     LocalDate end = (LocalDate) object.getNewValue();
+ *     return start == null || end == null || end.isAfter(start) ? ValidationEvent.OK
+ *             : new ValidationEvent(ValidationEvent.VALIDATION_ERROR, 0, "The end date must be after the start date");
+ * }, startDatePicker.valueProperty());
+ * }</pre>
+ * The graph must be used on the JavaFX application thread.
+ */
+@SuppressWarnings("Convert2Lambda")
+public class ValidationGraph {
+    private final List<Rule> _rules = new ArrayList<>();
+    private final Map<Observable, List<Rule>> _readers = new HashMap<>();
+    private final TreeSet<Rule> _dirtyRules = new TreeSet<>(new Comparator<Rule>() {
+        @Override
+        public int compare(Rule o1, Rule o2) {
+            return Long.compare(o1._order, o2._order);
+        }
+    });
+    private final InvalidationListener _listener;
+    private long _nextOrder;
+    private int _batchDepth;
+    private boolean _validating;
+
+    /**
+     * A rule in the graph.
+     */
+    public static class Rule {
+        private final Node _targetNode;
+        private final ObservableValue<?> _value;
+        private final Validator _validator;
+        private final Observable[] _dependencies;
+        private final EventHandler<ValidationEvent> _eventFilter;
+        private final long _order;
+        private final ReadOnlyObjectWrapper<ValidationEvent> _result = new ReadOnlyObjectWrapper<>(this, "result", ValidationEvent.UNKNOWN); //NON-NLS
+        private Object _oldValue;
+
+        Rule(Node targetNode, ObservableValue<?> value, Validator validator, Observable[] dependencies, EventHandler<ValidationEvent> eventFilter, long order) {
+            _targetNode = targetNode;
+            _value = value;
+            _validator = validator;
+            _dependencies = dependencies;
+            _eventFilter = eventFilter;
+            _order = order;
+            _oldValue = value.getValue();
+        }
+
+        /**
+         * Gets the node where the validation events are fired.
+         *
+         * @return the target node.
+         */
+        public Node getTargetNode() {
+            return _targetNode;
+        }
+
+        /**
+         * Gets the validator.
+         *
+         * @return the validator.
+         */
+        public Validator getValidator() {
+            return _validator;
+        }
+
+        /**
+         * The result of the latest validation of the rule. It is {@link ValidationEvent#UNKNOWN} until the rule is
+         * validated for the first time. Other rules can depend on it.
+         *
+         * @return the result property.
+         */
+        public ReadOnlyObjectProperty<ValidationEvent> resultProperty() {
+            return _result.getReadOnlyProperty();
+        }
+
+        /**
+         * Gets the result of the latest validation of the rule.
+         *
+         * @return the validation event.
+         */
+        public ValidationEvent getResult() {
+            return _result.get();
+        }
+    }
+
+    /**
+     * Creates an empty ValidationGraph.
+     */
+    public ValidationGraph() {
+        _listener = new InvalidationListener() {
+            @Override
+            public void invalidated(Observable observable) {
+                List<Rule> rules = _readers.get(observable);
+                if (rules != null) {
+                    _dirtyRules.addAll(rules);
+                    if (!_validating && _batchDepth == 0) {
+                        validate();
+                    }
+                }
+            }
+        };
+    }
+
+    /**
+     * Adds a rule that uses the dependencies declared by the validator. A default event handler will be installed on
+     * the node to display the validation result.
+     *
+     * @param targetNode the node where the validation events are fired
+     * @param value      the value to be validated
+     * @param validator  the validator
+     * @return the rule.
+     */
+    public Rule add(Node targetNode, ObservableValue<?> value, DependentValidator validator) {
+        return add(targetNode, value, validator, ValidationUtils.createDefaultValidationEventHandler(targetNode), validator.getDependencies());
+    }
+
+    /**
+     * Adds a rule. A default event handler will be installed on the node to display the validation result.
+     *
+     * @param targetNode   the node where the validation events are fired
+     * @param value        the value to be validated
+     * @param validator    the validator
+     * @param dependencies the other observables that the validator reads. They can be the result properties of the
+     *                     rules that were added before.
+     * @return the rule.
+     */
+    public Rule add(Node targetNode, ObservableValue<?> value, Validator validator, Observable... dependencies) {
+        return add(targetNode, value, validator, ValidationUtils.createDefaultValidationEventHandler(targetNode), dependencies);
+    }
+
+    /**
+     * Adds a rule.
+     *
+     * @param targetNode   the node where the validation events are fired
+     * @param value        the value to be validated
+     * @param validator    the validator
+     * @param eventFilter  the event handler. It will be added to the target node. When there is a validation event,
+     *                     this handler will response to it and display the validation result. It could be null.
+     * @param dependencies the other observables that the validator reads. They can be the result properties of the
+     *                     rules that were added before.
+     * @return the rule.
+     */
+    public Rule add(Node targetNode, ObservableValue<?> value, Validator validator, EventHandler<ValidationEvent> eventFilter, Observable... dependencies) {
+        Observable[] inputs = dependencies == null ? new Observable[0] : dependencies.clone();
+        Rule rule = new Rule(targetNode, value, validator, inputs, eventFilter, _nextOrder++);
+        if (eventFilter != null) {
+            targetNode.addEventFilter(ValidationEvent.ANY, eventFilter);
+        }
+        _rules.add(rule);
+        addReader(value, rule);
+        for (Observable dependency : inputs) {
+            addReader(dependency, rule);
+        }
+        return rule;
+    }
+
+    /**
+     * Removes a rule. The rules that depend on its result are not removed, but they will not be validated again
+     * because of it.
+     *
+     * @param rule the rule
+     */
+    public void remove(Rule rule) {
+        if (!_rules.remove(rule)) {
+            return;
+        }
+        removeReader(rule._value, rule);
+        for (Observable dependency : rule._dependencies) {
+            removeReader(dependency, rule);
+        }
+        _dirtyRules.remove(rule);
+        if (rule._eventFilter != null) {
+            rule._targetNode.removeEventFilter(ValidationEvent.ANY, rule._eventFilter);
+        }
+    }
+
+    private void addReader(Observable observable, Rule rule) {
+        List<Rule> rules = _readers.get(observable);
+        if (rules == null) {
+            rules = new ArrayList<>(1);
+            _readers.put(observable, rules);
+            observable.addListener(_listener);
+        }
+        if (!rules.contains(rule)) {
+            rules.add(rule);
+        }
+        if (observable instanceof ObservableValue) {
+            ((ObservableValue) observable).getValue(); // validate it so that the next change is notified
+        }
+    }
+
+    private void removeReader(Observable observable, Rule rule) {
+        List<Rule> rules = _readers.get(observable);
+        if (rules != null && rules.remove(rule) && rules.isEmpty()) {
+            _readers.remove(observable);
+            observable.removeListener(_listener);
+        }
+    }
+
+    /**
+     * Changes several values and validates the affected rules once at the end.
+     *
+     * @param runnable the code that changes the values
+     */
+    public void runBatch(Runnable runnable) {
+        _batchDepth++;
+        try {
+            runnable.run();
+        }
+        finally {
+            _batchDepth--;
+        }
+        if (_batchDepth == 0) {
+            validate();
+        }
+    }
+
+    /**
+     * Validates all the rules, no matter if their values changed or not.
+     *
+     * @return true if there is no validation error. Otherwise false.
+     */
+    public boolean validateAll() {
+        _dirtyRules.addAll(_rules);
+        validate();
+
+        for (Rule rule : _rules) {
+            if (ValidationEvent.VALIDATION_ERROR.equals(rule.getResult().getEventType())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Validates the rules whose values or dependencies changed, in the order they were added. If the result of a rule
+     * changes, the rules that depend on it are validated as well. The validation events are fired after all of them
+     * are validated.
+     */
+    public void validate() {
+        if (_validating || _dirtyRules.isEmpty()) {
+            return;
+        }
+
+        List<Rule> validated = new ArrayList<>();
+        _validating = true;
+        try {
+            Rule rule;
+            while ((rule = _dirtyRules.pollFirst()) != null) {
+                for (Observable dependency : rule._dependencies) {
+                    if (dependency instanceof ObservableValue) {
+                        ((ObservableValue) dependency).getValue(); // validate it so that the next change is notified
+                    }
+                }
+
+                Object newValue = rule._value.getValue();
+                ValidationEvent event;
+                try {
+                    event = rule._validator.call(new ValidationObject(rule._targetNode, rule._oldValue, newValue));
+                }
+                catch (RuntimeException | Error e) {
+                    _dirtyRules.add(rule); // validate it again next time
+                    throw e;
+                }
+                if (!ValidationEvent.VALIDATION_ERROR.equals(event.getEventType())) {
+                    rule._oldValue = newValue;
+                }
+                if (!isSameResult(rule.getResult(), event)) {
+                    rule._result.set(event); // the rules that depend on it are marked dirty
+                }
+                validated.add(rule);
+            }
+        }
+        finally {
+            _validating = false;
+
+            // the events of the rules validated before an exception are fired too
+            for (Rule rule : validated) {
+                rule._targetNode.fireEvent(rule.getResult());
+            }
+        }
+    }
+
+    private static boolean isSameResult(ValidationEvent oldEvent, ValidationEvent newEvent) {
+        return oldEvent == newEvent || oldEvent != null && newEvent != null
+                && oldEvent.getEventType().equals(newEvent.getEventType())
+                && Objects.equals(oldEvent.getMessage(), newEvent.getMessage());
+    }
+}
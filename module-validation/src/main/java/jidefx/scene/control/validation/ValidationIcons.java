@@ -7,6 +7,10 @@
 package jidefx.scene.control.validation;
 
 import javafx.event.EventType;
+import javafx.scene.image.Image;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A class to provide all the icons for the validation results.
@@ -20,6 +24,8 @@ public class ValidationIcons {
     public static final String ICON_ERROR = "/jidefx/scene/control/decoration/overlay_error.png"; //NON-NLS
     private static ValidationIcons INSTANCE = null;
 
+    private final Map<String, Image> _images = new ConcurrentHashMap<>();
+
     /**
      * Gets a new instance which will be used globally to get the validation icons.
      *
@@ -64,4 +70,24 @@ public class ValidationIcons {
             return ICON_CORRECT;
         }
     }
+
+    /**
+     * Gets the image of the icon returned by {@link #getValidationResultIcon(EventType)}. Each icon is loaded only once
+     * and the same image is returned for all the later calls, so it can be shared by all the validation results.
+     *
+     * @param type the event type
+     * @return the image. Null if there is no icon for the event type.
+     */
+    public Image getValidationResultImage(EventType<ValidationEvent> type) {
+        String icon = getValidationResultIcon(type);
+        if (icon == null) {
+            return null;
+        }
+        Image image = _images.get(icon);
+        if (image == null) {
+            image = new Image(icon);
+            _images.put(icon, image);
+        }
+        return image;
+    }
 }
@@ -0,0 +1,289 @@
+/*
+ * @(#)ValidationStatistics.java 10/18/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+
+package jidefx.scene.control.validation;
+
+import javafx.event.EventType;
+import javafx.scene.Node;
+import javafx.util.Duration;
+
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@code ValidationStatistics} is a snapshot of the invocations of one validator in one {@link ValidationMode}. It has
+ * the number of invocations, a histogram of the latencies and the number of each validation event type. The statistics
+ * are only recorded when the instrumentation is enabled using {@link ValidationUtils#setInstrumentationEnabled(boolean)},
+ * and the snapshots are returned by {@link ValidationUtils#getValidationStatistics()}.
+ * <p>
+ * For an {@link AsyncValidator}, the latency is the time from the call of the validator to the completion of the
+ * returned stage.
+ */
+public class ValidationStatistics {
+    /**
+     * The upper bounds of the latency histogram buckets in nanoseconds. The last bucket has no upper bound. The
+     * 16-millisecond bucket is about one frame at 60 fps.
+     */
+    private static final long[] LATENCY_BUCKETS = {
+            100_000L, 500_000L, 1_000_000L, 5_000_000L, 16_000_000L, 50_000_000L, 100_000_000L, Long.MAX_VALUE
+    };
+
+    private final Object _validator;
+    private final ValidationMode _mode;
+    private final long _invocationCount;
+    private final long _fxThreadInvocationCount;
+    private final long _totalLatency;
+    private final long _maxLatency;
+    private final long[] _histogram;
+    private final long _okCount;
+    private final long _infoCount;
+    private final long _warningCount;
+    private final long _errorCount;
+    private final long _unknownCount;
+    private final long _overBudgetCount;
+
+    /**
+     * A listener to be notified when a validator takes longer than the latency budget on the JavaFX application
+     * thread. See {@link ValidationUtils#setLatencyBudget(Duration, LatencyBudgetListener)}.
+     */
+    public interface LatencyBudgetListener {
+        /**
+         * Called on the JavaFX application thread after a validator took longer than the budget.
+         *
+         * @param targetNode the node that was validated
+         * @param validator  the validator
+         * @param mode       the validation mode
+         * @param latency    how long the validator took
+         */
+        void budgetExceeded(Node targetNode, Object validator, ValidationMode mode, Duration latency);
+    }
+
+    private ValidationStatistics(Recorder recorder) {
+        _validator = recorder._validator.get();
+        _mode = recorder._mode;
+        _invocationCount = recorder._invocationCount.sum();
+        _fxThreadInvocationCount = recorder._fxThreadInvocationCount.sum();
+        _totalLatency = recorder._totalLatency.sum();
+        _maxLatency = recorder._maxLatency;
+        _histogram = new long[LATENCY_BUCKETS.length];
+        for (int i = 0; i < _histogram.length; i++) {
+            _histogram[i] = recorder._histogram[i].sum();
+        }
+        _okCount = recorder._okCount.sum();
+        _infoCount = recorder._infoCount.sum();
+        _warningCount = recorder._warningCount.sum();
+        _errorCount = recorder._errorCount.sum();
+        _unknownCount = recorder._unknownCount.sum();
+        _overBudgetCount = recorder._overBudgetCount.sum();
+    }
+
+    /**
+     * Gets the validator. It is either a {@link Validator} or an {@link AsyncValidator}.
+     *
+     * @return the validator. Null if it is already garbage collected.
+     */
+    public Object getValidator() {
+        return _validator;
+    }
+
+    /**
+     * Gets the validation mode.
+     *
+     * @return the validation mode.
+     */
+    public ValidationMode getMode() {
+        return _mode;
+    }
+
+    /**
+     * Gets the number of invocations.
+     *
+     * @return the number of invocations.
+     */
+    public long getInvocationCount() {
+        return _invocationCount;
+    }
+
+    /**
+     * Gets the number of invocations on the JavaFX application thread. The others are the pure validators called in
+     * parallel by {@link ValidationUtils#validateOnDemand(Node, boolean)}.
+     *
+     * @return the number of invocations on the JavaFX application thread.
+     */
+    public long getFxThreadInvocationCount() {
+        return _fxThreadInvocationCount;
+    }
+
+    /**
+     * Gets the number of invocations on the JavaFX application thread that took longer than the latency budget.
+     *
+     * @return the number of invocations over the budget.
+     */
+    public long getOverBudgetCount() {
+        return _overBudgetCount;
+    }
+
+    /**
+     * Gets the total latency of all the invocations.
+     *
+     * @return the total latency.
+     */
+    public Duration getTotalLatency() {
+        return toDuration(_totalLatency);
+    }
+
+    /**
+     * Gets the average latency.
+     *
+     * @return the average latency. Duration.ZERO if the validator was never called.
+     */
+    public Duration getAverageLatency() {
+        return _invocationCount == 0 ? Duration.ZERO : toDuration(_totalLatency / _invocationCount);
+    }
+
+    /**
+     * Gets the longest latency.
+     *
+     * @return the longest latency.
+     */
+    public Duration getMaxLatency() {
+        return toDuration(_maxLatency);
+    }
+
+    /**
+     * Gets the number of invocations in each bucket of the latency histogram. See {@link
+     * #getHistogramUpperBound(int)} for the buckets.
+     *
+     * @return the histogram.
+     */
+    public long[] getHistogram() {
+        return _histogram.clone();
+    }
+
+    /**
+     * Gets the upper bound of a bucket of the latency histogram. The buckets are 0.1ms, 0.5ms, 1ms, 5ms, 16ms, 50ms,
+     * 100ms and more than that.
+     *
+     * @param bucket the index of the bucket
+     * @return the upper bound. Duration.INDEFINITE for the last bucket.
+     */
+    public static Duration getHistogramUpperBound(int bucket) {
+        return LATENCY_BUCKETS[bucket] == Long.MAX_VALUE ? Duration.INDEFINITE : toDuration(LATENCY_BUCKETS[bucket]);
+    }
+
+    /**
+     * Gets the number of the invocations that returned the validation event type.
+     *
+     * @param type VALIDATION_OK, VALIDATION_INFO, VALIDATION_WARNING, VALIDATION_ERROR or VALIDATION_UNKNOWN. An
+     *             AsyncValidator that failed is counted as VALIDATION_UNKNOWN.
+     * @return the number of invocations.
+     */
+    public long getEventCount(EventType<ValidationEvent> type) {
+        if (ValidationEvent.VALIDATION_OK.equals(type)) {
+            return _okCount;
+        }
+        else if (ValidationEvent.VALIDATION_INFO.equals(type)) {
+            return _infoCount;
+        }
+        else if (ValidationEvent.VALIDATION_WARNING.equals(type)) {
+            return _warningCount;
+        }
+        else if (ValidationEvent.VALIDATION_ERROR.equals(type)) {
+            return _errorCount;
+        }
+        else if (ValidationEvent.VALIDATION_UNKNOWN.equals(type)) {
+            return _unknownCount;
+        }
+        return 0;
+    }
+
+    private static Duration toDuration(long nanos) {
+        return Duration.millis(nanos / 1_000_000.0);
+    }
+
+    @Override
+    public String toString() {
+        return "ValidationStatistics{" + //NON-NLS
+                "validator=" + _validator + //NON-NLS
+                ", mode=" + _mode + //NON-NLS
+                ", invocations=" + _invocationCount + //NON-NLS
+                ", average=" + getAverageLatency() + //NON-NLS
+                ", max=" + getMaxLatency() + //NON-NLS
+                ", errors=" + _errorCount + //NON-NLS
+                '}';
+    }
+
+    /**
+     * Records the invocations of one validator in one mode. It can be called from any thread.
+     */
+    static class Recorder {
+        private final WeakReference<Object> _validator; // the recorders are weakly keyed by the validators
+        private final ValidationMode _mode;
+        private final LongAdder _invocationCount = new LongAdder();
+        private final LongAdder _fxThreadInvocationCount = new LongAdder();
+        private final LongAdder _totalLatency = new LongAdder();
+        private volatile long _maxLatency;
+        private final LongAdder[] _histogram = new LongAdder[LATENCY_BUCKETS.length];
+        private final LongAdder _okCount = new LongAdder();
+        private final LongAdder _infoCount = new LongAdder();
+        private final LongAdder _warningCount = new LongAdder();
+        private final LongAdder _errorCount = new LongAdder();
+        private final LongAdder _unknownCount = new LongAdder();
+        private final LongAdder _overBudgetCount = new LongAdder();
+
+        Recorder(Object validator, ValidationMode mode) {
+            _validator = new WeakReference<>(validator);
+            _mode = mode;
+            for (int i = 0; i < _histogram.length; i++) {
+                _histogram[i] = new LongAdder();
+            }
+        }
+
+        void record(long latency, EventType<?> type, boolean fxThread, boolean overBudget) {
+            _invocationCount.increment();
+            if (fxThread) {
+                _fxThreadInvocationCount.increment();
+            }
+            if (overBudget) {
+                _overBudgetCount.increment();
+            }
+            _totalLatency.add(latency);
+            if (latency > _maxLatency) {
+                synchronized (this) {
+                    if (latency > _maxLatency) {
+                        _maxLatency = latency;
+                    }
+                }
+            }
+            for (int i = 0; i < LATENCY_BUCKETS.length; i++) {
+                if (latency <= LATENCY_BUCKETS[i]) {
+                    _histogram[i].increment();
+                    break;
+                }
+            }
+
+            if (ValidationEvent.VALIDATION_OK.equals(type)) {
+                _okCount.increment();
+            }
+            else if (ValidationEvent.VALIDATION_INFO.equals(type)) {
+                _infoCount.increment();
+            }
+            else if (ValidationEvent.VALIDATION_WARNING.equals(type)) {
+                _warningCount.increment();
+            }
+            else if (ValidationEvent.VALIDATION_ERROR.equals(type)) {
+                _errorCount.increment();
+            }
+            else {
+                _unknownCount.increment();
+            }
+        }
+
+        ValidationStatistics snapshot() {
+            return new ValidationStatistics(this);
+        }
+    }
+}
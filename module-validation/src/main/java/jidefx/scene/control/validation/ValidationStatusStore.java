@@ -0,0 +1,277 @@
+/*
+ * @(#)ValidationStatusStore.java 10/18/2026
+ *
+ * Copyright 2002 - 2026 JIDE Software Inc. All rights reserved.
+ */
+
+package jidefx.scene.control.validation;
+
+import javafx.beans.property.ReadOnlyIntegerProperty;
+import javafx.beans.property.ReadOnlyIntegerWrapper;
+import javafx.event.EventType;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code ValidationStatusStore} keeps the validation results of the cells of a table or a list in a compact form. For
+ * each column, there is one bit set for each event type and a sparse map for the messages, so that it can hold the
+ * results of millions of cells. A cell is addressed by the row and the column, and a list has only one column.
+ * <p>
+ * The store is filled by {@link ModelValidation} and read by the cells when they are shown. It must be used on the
+ * JavaFX application thread. The {@link #revisionProperty()} changes after each update so that the visible cells can
+ * show the new results.
+ */
+public class ValidationStatusStore {
+    private final List<ColumnStatus> _columns = new ArrayList<>();
+    private final ReadOnlyIntegerWrapper _revisionProperty = new ReadOnlyIntegerWrapper(this, "revision"); //NON-NLS
+
+    private static class ColumnStatus {
+        private final BitSet _validated = new BitSet();
+        private final BitSet _infos = new BitSet();
+        private final BitSet _warnings = new BitSet();
+        private final BitSet _errors = new BitSet();
+        private final Map<Integer, String> _messages = new HashMap<>();
+
+        BitSet getBits(EventType<ValidationEvent> type) {
+            if (ValidationEvent.VALIDATION_ERROR.equals(type)) {
+                return _errors;
+            }
+            else if (ValidationEvent.VALIDATION_WARNING.equals(type)) {
+                return _warnings;
+            }
+            else if (ValidationEvent.VALIDATION_INFO.equals(type)) {
+                return _infos;
+            }
+            else if (ValidationEvent.VALIDATION_OK.equals(type)) {
+                BitSet ok = (BitSet) _validated.clone();
+                ok.andNot(_errors);
+                ok.andNot(_warnings);
+                ok.andNot(_infos);
+                return ok;
+            }
+            return null;
+        }
+
+        EventType<ValidationEvent> getStatus(int row) {
+            if (_errors.get(row)) {
+                return ValidationEvent.VALIDATION_ERROR;
+            }
+            else if (_warnings.get(row)) {
+                return ValidationEvent.VALIDATION_WARNING;
+            }
+            else if (_infos.get(row)) {
+                return ValidationEvent.VALIDATION_INFO;
+            }
+            else if (_validated.get(row)) {
+                return ValidationEvent.VALIDATION_OK;
+            }
+            return ValidationEvent.VALIDATION_UNKNOWN;
+        }
+    }
+
+    /**
+     * Creates an empty ValidationStatusStore.
+     */
+    public ValidationStatusStore() {
+    }
+
+    /**
+     * Gets the number of columns that have validation results.
+     *
+     * @return the number of columns.
+     */
+    public int getColumnCount() {
+        return _columns.size();
+    }
+
+    /**
+     * The revision of the store. It is increased after each update.
+     *
+     * @return the revision property.
+     */
+    public ReadOnlyIntegerProperty revisionProperty() {
+        return _revisionProperty.getReadOnlyProperty();
+    }
+
+    /**
+     * Gets the validation result of the cell.
+     *
+     * @param row    the row
+     * @param column the column
+     * @return VALIDATION_ERROR, VALIDATION_WARNING, VALIDATION_INFO, VALIDATION_OK, or VALIDATION_UNKNOWN if the cell
+     *         is not validated.
+     */
+    public EventType<ValidationEvent> getStatus(int row, int column) {
+        if (row < 0 || column < 0 || column >= _columns.size()) {
+            return ValidationEvent.VALIDATION_UNKNOWN;
+        }
+        return _columns.get(column).getStatus(row);
+    }
+
+    /**
+     * Gets the most severe validation result of all the cells in the row.
+     *
+     * @param row the row
+     * @return VALIDATION_ERROR, VALIDATION_WARNING, VALIDATION_INFO, VALIDATION_OK, or VALIDATION_UNKNOWN if no cell in
+     *         the row is validated.
+     */
+    public EventType<ValidationEvent> getRowStatus(int row) {
+        EventType<ValidationEvent> status = ValidationEvent.VALIDATION_UNKNOWN;
+        for (int column = 0; column < _columns.size(); column++) {
+            EventType<ValidationEvent> type = getStatus(row, column);
+            if (getSeverity(type) > getSeverity(status)) {
+                status = type;
+            }
+        }
+        return status;
+    }
+
+    /**
+     * Gets the message of the most severe validation result of all the cells in the row.
+     *
+     * @param row the row
+     * @return the message. Null if there is no message.
+     */
+    public String getRowMessage(int row) {
+        String message = null;
+        int severity = -1;
+        for (int column = 0; column < _columns.size(); column++) {
+            String columnMessage = getMessage(row, column);
+            int columnSeverity = getSeverity(getStatus(row, column));
+            if (columnMessage != null && columnSeverity > severity) {
+                message = columnMessage;
+                severity = columnSeverity;
+            }
+        }
+        return message;
+    }
+
+    private static int getSeverity(EventType<ValidationEvent> type) {
+        if (ValidationEvent.VALIDATION_ERROR.equals(type)) {
+            return 4;
+        }
+        else if (ValidationEvent.VALIDATION_WARNING.equals(type)) {
+            return 3;
+        }
+        else if (ValidationEvent.VALIDATION_INFO.equals(type)) {
+            return 2;
+        }
+        else if (ValidationEvent.VALIDATION_OK.equals(type)) {
+            return 1;
+        }
+        return 0;
+    }
+
+    /**
+     * Gets the validation message of the cell.
+     *
+     * @param row    the row
+     * @param column the column
+     * @return the message. Null if there is no message.
+     */
+    public String getMessage(int row, int column) {
+        if (row < 0 || column < 0 || column >= _columns.size()) {
+            return null;
+        }
+        return _columns.get(column)._messages.get(row);
+    }
+
+    /**
+     * Gets the number of the cells that have the validation result.
+     *
+     * @param type VALIDATION_ERROR, VALIDATION_WARNING, VALIDATION_INFO or VALIDATION_OK
+     * @return the number of cells.
+     */
+    public int getCount(EventType<ValidationEvent> type) {
+        int count = 0;
+        for (ColumnStatus column : _columns) {
+            BitSet bits = column.getBits(type);
+            if (bits != null) {
+                count += bits.cardinality();
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Finds the next row that has a cell with the validation result, for example to go to the next error.
+     *
+     * @param type    VALIDATION_ERROR, VALIDATION_WARNING or VALIDATION_INFO
+     * @param fromRow the row to start with
+     * @return the row. -1 if not found.
+     */
+    public int nextRow(EventType<ValidationEvent> type, int fromRow) {
+        int next = -1;
+        for (ColumnStatus column : _columns) {
+            BitSet bits = column.getBits(type);
+            int row = bits == null ? -1 : bits.nextSetBit(Math.max(fromRow, 0));
+            if (row != -1 && (next == -1 || row < next)) {
+                next = row;
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Sets the validation result of the cell. The revision is not changed until {@link #fireChanged()} is called.
+     *
+     * @param row     the row
+     * @param column  the column
+     * @param type    the event type
+     * @param message the message. It could be null.
+     */
+    void set(int row, int column, EventType<ValidationEvent> type, String message) {
+        while (_columns.size() <= column) {
+            _columns.add(new ColumnStatus());
+        }
+        ColumnStatus status = _columns.get(column);
+        status._validated.set(row, type != null && !ValidationEvent.VALIDATION_UNKNOWN.equals(type));
+        status._errors.set(row, ValidationEvent.VALIDATION_ERROR.equals(type));
+        status._warnings.set(row, ValidationEvent.VALIDATION_WARNING.equals(type));
+        status._infos.set(row, ValidationEvent.VALIDATION_INFO.equals(type));
+        if (message != null && message.length() > 0) {
+            status._messages.put(row, message);
+        }
+        else {
+            status._messages.remove(row);
+        }
+    }
+
+    /**
+     * Removes the results of the rows starting from the row, for example after the rows are removed.
+     *
+     * @param fromRow the first row to be removed
+     */
+    void truncate(int fromRow) {
+        int from = Math.max(fromRow, 0);
+        for (ColumnStatus status : _columns) {
+            int to = Math.max(status._validated.length(), from);
+            status._validated.clear(from, to);
+            status._errors.clear(from, to);
+            status._warnings.clear(from, to);
+            status._infos.clear(from, to);
+            for (Iterator<Integer> iterator = status._messages.keySet().iterator(); iterator.hasNext(); ) {
+                if (iterator.next() >= from) {
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    void fireChanged() {
+        _revisionProperty.set(_revisionProperty.get() + 1);
+    }
+
+    /**
+     * Removes all the validation results.
+     */
+    public void clear() {
+        truncate(0);
+        fireChanged();
+    }
+}
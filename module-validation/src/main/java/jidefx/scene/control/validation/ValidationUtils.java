@@ -6,29 +6,52 @@
 
 package jidefx.scene.control.validation;
 
+import javafx.animation.PauseTransition;
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
+import javafx.beans.WeakInvalidationListener;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableValue;
 import javafx.collections.ObservableMap;
 import javafx.css.PseudoClass;
+import javafx.event.ActionEvent;
 import javafx.event.EventHandler;
+import javafx.event.EventType;
 import javafx.geometry.Insets;
 import javafx.geometry.Point2D;
 import javafx.geometry.Pos;
 import javafx.scene.Node;
+import javafx.scene.Parent;
 import javafx.scene.control.*;
+import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.Region;
+import javafx.util.Duration;
 import jidefx.animation.AnimationType;
 import jidefx.scene.control.decoration.DecorationUtils;
 import jidefx.scene.control.decoration.Decorator;
 import jidefx.scene.control.popup.TooltipEx;
 import jidefx.utils.CommonUtils;
-import jidefx.utils.FXUtils;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
 
 @SuppressWarnings({"UnusedDeclaration", "Convert2Lambda"})
 public class ValidationUtils {
@@ -41,19 +64,39 @@ public class ValidationUtils {
     private static final String PROPERTY_ON_FLY_OBSERVABLE_VALUE = "Validation.On.Fly.ObservableValue"; //NON-NLS
     private static final String PROPERTY_ON_FLY_LISTENER = "Validation.On.Fly.Listener"; //NON-NLS
     private static final String PROPERTY_ON_FLY_EVENT_FILTER = "Validation.On.Fly.EventFilter"; //NON-NLS
+    private static final String PROPERTY_ON_FLY_DEBOUNCE = "Validation.On.Fly.Debounce"; //NON-NLS
 
     private static final String PROPERTY_ON_FOCUS_LOST_VALIDATOR = "Validation.On.FocusLost.Validator"; //NON-NLS
     private static final String PROPERTY_ON_FOCUS_LOST_LISTENER = "Validation.On.FocusLost.Listener"; //NON-NLS
     private static final String PROPERTY_ON_FOCUS_LOST_EVENT_FILTER = "Validation.On.FocusLost.EventFilter"; //NON-NLS
     private static final String PROPERTY_ON_FOCUS_LOST_OBJECT = "Validation.On.FocusLost.Object"; //NON-NLS
 
+    private static final String PROPERTY_ASYNC_VALIDATION = "Validation.Async.Pending"; //NON-NLS
+    private static final String PROPERTY_MEMO = "Validation.Memo"; //NON-NLS
+
     private static final String PROPERTY_VALIDATION_RESULT = "Validation.Result";
     private static final String PROPERTY_VALIDATION_RESULT_MESSAGE = "Validation.Result.Message";
 
-    private static final String PSEUDO_CLASS_VALIDATION_ERROR = "validation-error"; //NON-NLS
-    private static final String PSEUDO_CLASS_VALIDATION_WARNING = "validation-warning"; //NON-NLS
-    private static final String PSEUDO_CLASS_VALIDATION_INFO = "validation-info"; //NON-NLS
-    private static final String PSEUDO_CLASS_VALIDATION_OK = "validation-ok"; //NON-NLS
+    /**
+     * All the nodes that have validators or ON_FLY debounce settings, so that validateOnDemand doesn't have to look
+     * for them in the scene graph. The nodes are weakly referenced in case they are not uninstalled.
+     */
+    private static final Set<Node> VALIDATION_TARGETS = Collections.synchronizedSet(Collections.newSetFromMap(new WeakHashMap<Node, Boolean>()));
+
+    /**
+     * The statistics recorders of the validators when the instrumentation is enabled, one for each validation mode.
+     * They are weakly keyed by the validators.
+     */
+    private static final Map<Object, ValidationStatistics.Recorder[]> STATISTICS = Collections.synchronizedMap(new WeakHashMap<Object, ValidationStatistics.Recorder[]>());
+    private static volatile boolean _instrumentationEnabled = false;
+    private static volatile long _latencyBudget = 0; // in nanoseconds, 0 means no budget
+    private static volatile ValidationStatistics.LatencyBudgetListener _latencyBudgetListener;
+
+    static final PseudoClass PSEUDO_CLASS_VALIDATION_ERROR = PseudoClass.getPseudoClass("validation-error"); //NON-NLS
+    static final PseudoClass PSEUDO_CLASS_VALIDATION_WARNING = PseudoClass.getPseudoClass("validation-warning"); //NON-NLS
+    static final PseudoClass PSEUDO_CLASS_VALIDATION_INFO = PseudoClass.getPseudoClass("validation-info"); //NON-NLS
+    static final PseudoClass PSEUDO_CLASS_VALIDATION_OK = PseudoClass.getPseudoClass("validation-ok"); //NON-NLS
+    private static final PseudoClass PSEUDO_CLASS_VALIDATING = PseudoClass.getPseudoClass("validating"); //NON-NLS
 
     /**
      * Installs a validator to a target node using the ON_FLY validation mode. If there is an old validator, it will be
@@ -162,6 +205,91 @@ public class ValidationUtils {
      *         the observable value and the validator are not null.
      */
     public static <T> boolean install(Node targetNode, ObservableValue<T> observableValue, Validator validator, ValidationMode mode, EventHandler<ValidationEvent> eventFilter) {
+        return installValidator(targetNode, observableValue, validator, mode, eventFilter);
+    }
+
+    /**
+     * Installs an asynchronous validator to a target node using the ON_FLY validation mode. If there is an old
+     * validator, it will be uninstalled first. A default observable value will be used for the give node, the same as
+     * {@link #install(Node, Validator)}. A default event handler will be installed on the node to display the
+     * validation result.
+     *
+     * @param targetNode the target node where the validator will be installed
+     * @param validator  the asynchronous validator
+     * @param <T>        the date type of the observable value.
+     *
+     * @return true or false. True if the validator is installed correctly. It actually always return true as long as
+     *         the observable value and the validator are not null.
+     */
+    public static <T> boolean installAsync(Node targetNode, AsyncValidator validator) {
+        return installAsync(targetNode, getDefaultObservableValue(targetNode), validator, getDefaultMode(), createDefaultValidationEventHandler(targetNode));
+    }
+
+    /**
+     * Installs an asynchronous validator to a target node. If there is an old validator, it will be uninstalled first.
+     * A default observable value will be used for the give node, the same as {@link #install(Node, Validator,
+     * ValidationMode)}. A default event handler will be installed on the node to display the validation result.
+     *
+     * @param targetNode the target node where the validator will be installed
+     * @param validator  the asynchronous validator
+     * @param mode       the validation mode
+     * @param <T>        the date type of the observable value.
+     *
+     * @return true or false. True if the validator is installed correctly. It actually always return true as long as
+     *         the observable value and the validator are not null.
+     */
+    public static <T> boolean installAsync(Node targetNode, AsyncValidator validator, ValidationMode mode) {
+        return installAsync(targetNode, getDefaultObservableValue(targetNode), validator, mode, createDefaultValidationEventHandler(targetNode));
+    }
+
+    /**
+     * Installs an asynchronous validator to a target node. If there is an old validator, it will be uninstalled first.
+     * A default event handler will be installed on the node to display the validation result.
+     *
+     * @param targetNode      the target node where the validator will be installed
+     * @param observableValue the observable value to listen to if the validation mode is ON_FLY. In the other two
+     *                        modes, there is where the value to be validated is retrieved
+     * @param validator       the asynchronous validator
+     * @param mode            the validation mode
+     * @param <T>             the date type of the observable value.
+     *
+     * @return true or false. True if the validator is installed correctly. It actually always return true as long as
+     *         the observable value and the validator are not null.
+     */
+    public static <T> boolean installAsync(Node targetNode, ObservableValue<T> observableValue, AsyncValidator validator, ValidationMode mode) {
+        return installAsync(targetNode, observableValue, validator, mode, createDefaultValidationEventHandler(targetNode));
+    }
+
+    /**
+     * Installs an asynchronous validator to a target node. If there is an old validator, it will be uninstalled first.
+     * <p>
+     * The validator is called on the JavaFX application thread and returns a {@code CompletionStage} of the validation
+     * event. The event is fired on the JavaFX application thread when the stage completes. If another validation of
+     * the same node starts before that, for example because the user keeps typing, the pending stage is cancelled and
+     * its result is discarded. While a validation is pending, the node has the "validating" pseudo-class so that you
+     * can use css file to show it. If the stage completes exceptionally, a {@link ValidationEvent#UNKNOWN} event is
+     * fired.
+     *
+     * @param targetNode      the target node where the validator will be installed
+     * @param observableValue the observable value to listen to if the validation mode is ON_FLY. In the other two
+     *                        modes, there is where the value to be validated is retrieved
+     * @param validator       the asynchronous validator
+     * @param mode            the validation mode
+     * @param eventFilter     the event handler. It will be added to the target node. When there is a validation event,
+     *                        this handler will response to it and display the validation result.
+     * @param <T>             the date type of the observable value.
+     *
+     * @return true or false. True if the validator is installed correctly. It actually always return true as long as
+     *         the observable value and the validator are not null.
+     */
+    public static <T> boolean installAsync(Node targetNode, ObservableValue<T> observableValue, AsyncValidator validator, ValidationMode mode, EventHandler<ValidationEvent> eventFilter) {
+        return installValidator(targetNode, observableValue, validator, mode, eventFilter);
+    }
+
+    /**
+     * Installs a Validator or an AsyncValidator.
+     */
+    private static <T> boolean installValidator(Node targetNode, ObservableValue<T> observableValue, Object validator, ValidationMode mode, EventHandler<ValidationEvent> eventFilter) {
         if (observableValue == null || validator == null) {
             return false;
         }
@@ -212,15 +340,19 @@ public class ValidationUtils {
         return ValidationMode.ON_FLY;
     }
 
-    private static <T> boolean setOnFlyValidation(Node targetNode, Validator validator, ObservableValue<T> targetProperty, EventHandler<ValidationEvent> eventFilter) {
+    private static <T> boolean setOnFlyValidation(Node targetNode, Object validator, ObservableValue<T> targetProperty, EventHandler<ValidationEvent> eventFilter) {
         uninstall(targetNode, ValidationMode.ON_FLY);
 
         ChangeListener<T> listener = new ChangeListener<T>() {
             @Override
             public void changed(ObservableValue<? extends T> observable, T oldValue, T newValue) {
+                Object debounce = targetNode.getProperties().get(PROPERTY_ON_FLY_DEBOUNCE);
+                if (debounce instanceof OnFlyDebounce) {
+                    ((OnFlyDebounce) debounce).valueChanged(oldValue);
+                    return;
+                }
                 ValidationObject validationObject = new ValidationObject(targetNode, oldValue, newValue);
-                ValidationEvent event = validator.call(validationObject);
-                targetNode.fireEvent(event);
+                validate(targetNode, validator, validationObject, ValidationMode.ON_FLY);
             }
         };
         targetProperty.addListener(listener);
@@ -231,11 +363,12 @@ public class ValidationUtils {
         targetNode.getProperties().put(PROPERTY_ON_FLY_OBSERVABLE_VALUE, targetProperty);
         targetNode.getProperties().put(PROPERTY_ON_FLY_EVENT_FILTER, eventFilter);
         targetNode.getProperties().put(PROPERTY_ON_FLY_LISTENER, listener);
+        VALIDATION_TARGETS.add(targetNode);
 
         return true;
     }
 
-    private static <T> boolean setOnFocusLostValidation(Node targetNode, Validator validator, ObservableValue<T> targetProperty, EventHandler<ValidationEvent> eventFilter) {
+    private static <T> boolean setOnFocusLostValidation(Node targetNode, Object validator, ObservableValue<T> targetProperty, EventHandler<ValidationEvent> eventFilter) {
         uninstall(targetNode, ValidationMode.ON_FOCUS_LOST);
 
         ChangeListener<Boolean> listener = new ChangeListener<Boolean>() {
@@ -249,8 +382,7 @@ public class ValidationUtils {
                     T newValidationValue = targetProperty.getValue();
                     if (!CommonUtils.equals(oldValidationValue, newValidationValue)) {
                         ValidationObject validationObject = new ValidationObject(targetNode, oldValidationValue, newValidationValue);
-                        ValidationEvent event = validator.call(validationObject);
-                        targetNode.fireEvent(event);
+                        validate(targetNode, validator, validationObject, ValidationMode.ON_FOCUS_LOST);
                     }
                 }
             }
@@ -262,12 +394,12 @@ public class ValidationUtils {
         targetNode.getProperties().put(PROPERTY_ON_FOCUS_LOST_VALIDATOR, validator);
         targetNode.getProperties().put(PROPERTY_ON_FOCUS_LOST_LISTENER, listener);
         targetNode.getProperties().put(PROPERTY_ON_FOCUS_LOST_EVENT_FILTER, eventFilter);
-        targetNode.getProperties().put(PROPERTY_ON_FOCUS_LOST_LISTENER, listener);
+        VALIDATION_TARGETS.add(targetNode);
 
         return true;
     }
 
-    private static <T> boolean setOnDemandValidation(Node targetNode, Validator validator, ObservableValue<T> targetProperty, EventHandler<ValidationEvent> eventFilter) {
+    private static <T> boolean setOnDemandValidation(Node targetNode, Object validator, ObservableValue<T> targetProperty, EventHandler<ValidationEvent> eventFilter) {
         uninstall(targetNode, ValidationMode.ON_DEMAND);
 
         targetNode.addEventFilter(ValidationEvent.ANY, eventFilter);
@@ -276,6 +408,7 @@ public class ValidationUtils {
         targetNode.getProperties().put(PROPERTY_ON_DEMAND_OBSERVABLE_VALUE, targetProperty);
         targetNode.getProperties().put(PROPERTY_ON_DEMAND_EVENT_FILTER, eventFilter);
         targetNode.getProperties().put(PROPERTY_ON_DEMAND_OBJECT, targetProperty.getValue()); // save old value
+        VALIDATION_TARGETS.add(targetNode);
         return true;
     }
 
@@ -287,7 +420,7 @@ public class ValidationUtils {
      * @return true if uninstalled successfully. Otherwise false.
      */
     public static boolean uninstall(Node targetNode) {
-        return uninstall(targetNode, ValidationMode.ON_FLY) && uninstall(targetNode, ValidationMode.ON_FOCUS_LOST) && uninstall(targetNode, ValidationMode.ON_DEMAND);
+        return uninstall(targetNode, ValidationMode.ON_FLY) & uninstall(targetNode, ValidationMode.ON_FOCUS_LOST) & uninstall(targetNode, ValidationMode.ON_DEMAND);
     }
 
     /**
@@ -308,6 +441,14 @@ public class ValidationUtils {
         if (removeMode == null) {
             removeMode = getDefaultMode();
         }
+        cancelAsyncValidation(targetNode, removeMode);
+        boolean uninstalled = uninstallValidator(targetNode, removeMode);
+        unregisterIfUnused(targetNode);
+        return uninstalled;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean uninstallValidator(Node targetNode, ValidationMode removeMode) {
         switch (removeMode) {
             case ON_DEMAND: {
                 Object eventFilter = targetNode.getProperties().get(PROPERTY_ON_DEMAND_EVENT_FILTER);
@@ -317,6 +458,7 @@ public class ValidationUtils {
 
                 Object remove = targetNode.getProperties().remove(PROPERTY_ON_DEMAND_VALIDATOR);
                 if (remove != null) {
+                    forgetMemoizedEvent(targetNode, remove);
                     targetNode.getProperties().remove(PROPERTY_ON_DEMAND_OBSERVABLE_VALUE);
                     targetNode.getProperties().remove(PROPERTY_ON_DEMAND_EVENT_FILTER);
                 }
@@ -331,11 +473,11 @@ public class ValidationUtils {
 
                 Object remove = targetNode.getProperties().remove(PROPERTY_ON_FOCUS_LOST_VALIDATOR);
                 if (remove != null) {
-                    targetNode.getProperties().remove(PROPERTY_ON_FOCUS_LOST_LISTENER);
+                    forgetMemoizedEvent(targetNode, remove);
+                    Object listener = targetNode.getProperties().remove(PROPERTY_ON_FOCUS_LOST_LISTENER);
                     targetNode.getProperties().remove(PROPERTY_ON_FOCUS_LOST_EVENT_FILTER);
                     targetNode.getProperties().remove(PROPERTY_ON_FOCUS_LOST_OBJECT);
 
-                    Object listener = targetNode.getProperties().get(PROPERTY_ON_FOCUS_LOST_LISTENER);
                     if (listener instanceof ChangeListener) {
                         targetNode.focusedProperty().removeListener((ChangeListener) listener);
                     }
@@ -346,6 +488,11 @@ public class ValidationUtils {
             break;
             case ON_FLY:
             default: {
+                Object debounce = targetNode.getProperties().get(PROPERTY_ON_FLY_DEBOUNCE);
+                if (debounce instanceof OnFlyDebounce) {
+                    ((OnFlyDebounce) debounce).cancel();
+                }
+
                 Object eventFilter = targetNode.getProperties().get(PROPERTY_ON_FLY_EVENT_FILTER);
                 if (eventFilter instanceof EventHandler) {
                     targetNode.removeEventFilter(ValidationEvent.ANY, (EventHandler<ValidationEvent>) eventFilter);
@@ -353,12 +500,11 @@ public class ValidationUtils {
 
                 Object remove = targetNode.getProperties().remove(PROPERTY_ON_FLY_VALIDATOR);
                 if (remove != null) {
-                    targetNode.getProperties().remove(PROPERTY_ON_FLY_OBSERVABLE_VALUE);
-                    targetNode.getProperties().remove(PROPERTY_ON_FLY_LISTENER);
+                    forgetMemoizedEvent(targetNode, remove);
+                    Object onFlyValue = targetNode.getProperties().remove(PROPERTY_ON_FLY_OBSERVABLE_VALUE);
+                    Object onFlyListener = targetNode.getProperties().remove(PROPERTY_ON_FLY_LISTENER);
                     targetNode.getProperties().remove(PROPERTY_ON_FLY_EVENT_FILTER);
 
-                    Object onFlyValue = targetNode.getProperties().get(PROPERTY_ON_FLY_OBSERVABLE_VALUE);
-                    Object onFlyListener = targetNode.getProperties().get(PROPERTY_ON_FLY_LISTENER);
                     if (onFlyValue instanceof ObservableValue && onFlyListener instanceof ChangeListener) {
                         ((ObservableValue) onFlyValue).removeListener((ChangeListener) onFlyListener);
                     }
@@ -387,19 +533,21 @@ public class ValidationUtils {
             case ON_FLY:
                 validator = validateNode.getProperties().get(PROPERTY_ON_FLY_VALIDATOR);
                 observableValue = (ObservableValue) validateNode.getProperties().get(PROPERTY_ON_FLY_OBSERVABLE_VALUE);
-                if (validator instanceof Validator) {
+                Object debounce = validateNode.getProperties().get(PROPERTY_ON_FLY_DEBOUNCE);
+                if (debounce instanceof OnFlyDebounce) {
+                    ((OnFlyDebounce) debounce).cancel();
+                }
+                if (isValidator(validator)) {
                     ValidationObject object = new ValidationObject(validateNode, null, observableValue.getValue());
-                    ValidationEvent event = ((Validator) validator).call(object);
-                    validateNode.fireEvent(event);
+                    validate(validateNode, validator, object, mode);
                 }
                 break;
             case ON_FOCUS_LOST:
                 validator = validateNode.getProperties().get(PROPERTY_ON_FLY_VALIDATOR);
                 observableValue = (ObservableValue) validateNode.getProperties().get(PROPERTY_ON_FOCUS_LOST_OBJECT);
-                if (validator instanceof Validator) {
+                if (isValidator(validator)) {
                     ValidationObject object = new ValidationObject(validateNode, null, observableValue);
-                    ValidationEvent event = ((Validator) validator).call(object);
-                    validateNode.fireEvent(event);
+                    validate(validateNode, validator, object, mode);
                 }
                 break;
         }
@@ -408,6 +556,9 @@ public class ValidationUtils {
     /**
      * Validates the Region. It will call the validators that were installed on any children using ON_DEMAND validation
      * mode.
+     * <p>
+     * The asynchronous validators are started but their results are not waited for, so they are not counted in the
+     * returned value. Use {@link #validateOnDemandAsync(Node)} if there are asynchronous validators.
      *
      * @param targetRegionOrNode the node or the region to be validated.
      *
@@ -417,42 +568,146 @@ public class ValidationUtils {
         if (targetRegionOrNode == null) {
             return false;
         }
+        return validateOnDemand(targetRegionOrNode, null, false);
+    }
+
+    /**
+     * Validates the Region. It will call the validators that were installed on any children using ON_DEMAND validation
+     * mode.
+     * <p>
+     * If parallel is true, the validation is done in two phases. First the values of all the children are read on the
+     * JavaFX application thread and the {@link PureValidator}s are called in parallel on the fork-join pool. Then the
+     * other validators are called and all the validation events are fired on the JavaFX application thread, followed
+     * by one layout request. It is faster for a large form with many pure validators on a multi-core machine.
+     *
+     * @param targetRegionOrNode the node or the region to be validated.
+     * @param parallel           true to call the pure validators in parallel.
+     *
+     * @return the true or false. True if there is no validation errors. False is there is an error.
+     */
+    public static boolean validateOnDemand(Node targetRegionOrNode, boolean parallel) {
+        if (targetRegionOrNode == null) {
+            return false;
+        }
+        return validateOnDemand(targetRegionOrNode, null, parallel);
+    }
 
-        final List<Node> nodes = new ArrayList<>();
-        FXUtils.setRecursively(targetRegionOrNode, new FXUtils.Handler<Node>() {
+    /**
+     * Validates the Region and waits for the asynchronous validators. It will call the validators that were installed
+     * on any children using ON_DEMAND validation mode.
+     *
+     * @param targetRegionOrNode the node or the region to be validated.
+     *
+     * @return a CompletionStage of true or false. True if there is no validation errors. False is there is an error, or
+     *         an asynchronous validation failed or was cancelled because the value changed again.
+     */
+    public static CompletionStage<Boolean> validateOnDemandAsync(Node targetRegionOrNode) {
+        if (targetRegionOrNode == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+
+        final List<CompletableFuture<ValidationEvent>> results = new ArrayList<>();
+        final boolean valid = validateOnDemand(targetRegionOrNode, results, false);
+        if (results.isEmpty()) {
+            return CompletableFuture.completedFuture(valid);
+        }
+        return CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[results.size()])).handle(new BiFunction<Void, Throwable, Boolean>() {
             @Override
-            public boolean condition(Node c) {
-                return c.getProperties().get(PROPERTY_ON_DEMAND_VALIDATOR) instanceof Validator;
+            public Boolean apply(Void v, Throwable throwable) {
+                if (!valid || throwable != null) {
+                    return false;
+                }
+                for (CompletableFuture<ValidationEvent> result : results) {
+                    if (ValidationEvent.VALIDATION_ERROR.equals(result.join().getEventType())) {
+                        return false;
+                    }
+                }
+                return true;
             }
+        });
+    }
 
-            @Override
-            public void action(Node c) {
+    private static boolean validateOnDemand(Node targetRegionOrNode, List<CompletableFuture<ValidationEvent>> asyncResults, boolean parallel) {
+        List<Node> nodes = new ArrayList<>();
+        List<OnFlyDebounce> debounces = new ArrayList<>();
+        for (Node c : getValidationTargets(targetRegionOrNode)) {
+            Object debounce = c.getProperties().get(PROPERTY_ON_FLY_DEBOUNCE);
+            if (debounce instanceof OnFlyDebounce) {
+                debounces.add((OnFlyDebounce) debounce);
+            }
+            if (isValidator(c.getProperties().get(PROPERTY_ON_DEMAND_VALIDATOR))) {
                 nodes.add(c);
             }
-        });
+        }
 
-        boolean valid = true;
+        // the pending ON_FLY validations are done first so that the form is validated with the latest values
+        for (OnFlyDebounce debounce : debounces) {
+            debounce.flush();
+        }
 
-        for (Node validateNode : nodes) {
-            ObservableMap<Object, Object> properties = validateNode.getProperties();
+        // read the values first
+        int count = nodes.size();
+        Validator[] validators = new Validator[count];
+        ValidationObject[] objects = new ValidationObject[count];
+        ValidationEvent[] events = new ValidationEvent[count];
+        int pureCount = 0;
+        for (int i = 0; i < count; i++) {
+            Node validateNode = nodes.get(i);
+            final ObservableMap<Object, Object> properties = validateNode.getProperties();
 
-            if (properties.get(PROPERTY_ON_DEMAND_VALIDATOR) instanceof Validator && properties.get(PROPERTY_ON_DEMAND_OBSERVABLE_VALUE) instanceof ObservableValue) {
-                Validator validator = (Validator) properties.get(PROPERTY_ON_DEMAND_VALIDATOR);
+            Object validator = properties.get(PROPERTY_ON_DEMAND_VALIDATOR);
+            if (isValidator(validator) && properties.get(PROPERTY_ON_DEMAND_OBSERVABLE_VALUE) instanceof ObservableValue) {
                 ObservableValue observableValue = (ObservableValue) properties.get(PROPERTY_ON_DEMAND_OBSERVABLE_VALUE);
                 Object oldValue = properties.get(PROPERTY_ON_DEMAND_OBJECT);
-                ValidationObject object = new ValidationObject(validateNode, oldValue, observableValue.getValue());
-                ValidationEvent event = validator.call(object);
-                validateNode.fireEvent(event);
-
-                if (ValidationEvent.VALIDATION_ERROR.equals(event.getEventType())) {
-                    valid = false;
+                final ValidationObject object = new ValidationObject(validateNode, oldValue, observableValue.getValue());
+                if (validator instanceof AsyncValidator) {
+                    CompletableFuture<ValidationEvent> result = validateAsync(validateNode, (AsyncValidator) validator, object, ValidationMode.ON_DEMAND);
+                    result.thenAccept(new Consumer<ValidationEvent>() {
+                        @Override
+                        public void accept(ValidationEvent event) {
+                            if (!ValidationEvent.VALIDATION_ERROR.equals(event.getEventType())) {
+                                properties.put(PROPERTY_ON_DEMAND_OBJECT, object.getNewValue());
+                            }
+                        }
+                    });
+                    if (asyncResults != null) {
+                        asyncResults.add(result);
+                    }
+                    continue;
                 }
-                else { // if valid, we will store the current value as the old value so that it can be used next time
-                    properties.put(PROPERTY_ON_DEMAND_OBJECT, object);
+
+                validators[i] = (Validator) validator;
+                objects[i] = object;
+                events[i] = getMemoizedEvent(validateNode, validator, object.getNewValue());
+                if (events[i] == null && validator instanceof PureValidator) {
+                    pureCount++;
                 }
             }
         }
 
+        // call the pure validators in parallel
+        if (parallel && pureCount > 1) {
+            ForkJoinPool.commonPool().invoke(new PureValidationTask(validators, objects, events, 0, count));
+        }
+
+        // call the other validators and fire the events
+        boolean valid = true;
+        for (int i = 0; i < count; i++) {
+            if (validators[i] == null) {
+                continue;
+            }
+            ValidationEvent event = events[i] != null ? events[i] : callValidator(nodes.get(i), validators[i], objects[i], ValidationMode.ON_DEMAND);
+            memoizeEvent(nodes.get(i), validators[i], objects[i].getNewValue(), event);
+            fireValidationEvent(nodes.get(i), event);
+
+            if (ValidationEvent.VALIDATION_ERROR.equals(event.getEventType())) {
+                valid = false;
+            }
+            else { // if valid, we will store the current value as the old value so that it can be used next time
+                nodes.get(i).getProperties().put(PROPERTY_ON_DEMAND_OBJECT, objects[i].getNewValue());
+            }
+        }
+
         if (targetRegionOrNode instanceof Region) {
             ((Region) targetRegionOrNode).requestLayout();
         }
@@ -460,6 +715,620 @@ public class ValidationUtils {
         return valid;
     }
 
+    /**
+     * Delays the ON_FLY validation of the node until its value stops changing. When the value changes, the validation
+     * waits for the quiet period. If the value changes again during that time, the wait starts over, so many changes in
+     * a short time, such as setting the value in a loop, lead to only one validation of the latest value. The maximum
+     * wait makes sure that a value that keeps changing is still validated from time to time.
+     * <p>
+     * The pending validation is done at once when the node loses focus, when {@link #validateOnDemand(Node)} is called
+     * on the node or its ancestors, or when {@link #flushOnFlyValidation(Node)} is called.
+     * <p>
+     * The setting belongs to the node, so it can be set before or after the validator is installed.
+     *
+     * @param targetNode  the node to be validated.
+     * @param quietPeriod how long the value must stay unchanged before it is validated. Null or Duration.ZERO to
+     *                    validate on each change, which is the default.
+     * @param maxWait     the maximum time from the first change to the validation. Null or Duration.INDEFINITE if
+     *                    there is no maximum.
+     */
+    public static void setOnFlyDebounce(Node targetNode, Duration quietPeriod, Duration maxWait) {
+        Object old = targetNode.getProperties().remove(PROPERTY_ON_FLY_DEBOUNCE);
+        if (old instanceof OnFlyDebounce) {
+            ((OnFlyDebounce) old).dispose();
+        }
+        if (quietPeriod != null && quietPeriod.greaterThan(Duration.ZERO)) {
+            targetNode.getProperties().put(PROPERTY_ON_FLY_DEBOUNCE, new OnFlyDebounce(targetNode, quietPeriod, maxWait));
+            VALIDATION_TARGETS.add(targetNode);
+        }
+        else {
+            unregisterIfUnused(targetNode);
+        }
+    }
+
+    /**
+     * Validates the node at once if there is a pending ON_FLY validation delayed by {@link #setOnFlyDebounce(Node,
+     * Duration, Duration)}.
+     *
+     * @param targetNode the node to be validated.
+     */
+    public static void flushOnFlyValidation(Node targetNode) {
+        Object debounce = targetNode.getProperties().get(PROPERTY_ON_FLY_DEBOUNCE);
+        if (debounce instanceof OnFlyDebounce) {
+            ((OnFlyDebounce) debounce).flush();
+        }
+    }
+
+    /**
+     * Enables or disables the memoization of the validation results of the node. If enabled, the result of a validator
+     * is remembered along with the value that was validated. When the node is validated again with an equal value, for
+     * example by {@link #forceValidate(Node, ValidationMode)}, on focus lost without any change, or by {@link
+     * #validateOnDemand(Node)} again, the remembered result is fired and the validator is not called.
+     * <p>
+     * Only the new value is compared, so the memoization should be enabled only if the validators don't depend on the
+     * old value. If the result depends on anything else, use a {@link DependentValidator} so that the remembered result
+     * is dropped as soon as any of its dependencies changes. Or call {@link #clearMemoizedEvents(Node)}.
+     *
+     * @param targetNode the node to be validated.
+     * @param enabled    true to enable the memoization.
+     */
+    public static void setMemoizationEnabled(Node targetNode, boolean enabled) {
+        if (enabled) {
+            if (!(targetNode.getProperties().get(PROPERTY_MEMO) instanceof ValidationMemo)) {
+                targetNode.getProperties().put(PROPERTY_MEMO, new ValidationMemo());
+            }
+        }
+        else {
+            Object memo = targetNode.getProperties().remove(PROPERTY_MEMO);
+            if (memo instanceof ValidationMemo) {
+                ((ValidationMemo) memo).clear();
+            }
+        }
+    }
+
+    /**
+     * Checks if the memoization of the validation results is enabled on the node.
+     *
+     * @param targetNode the node to be validated.
+     *
+     * @return true if enabled.
+     */
+    public static boolean isMemoizationEnabled(Node targetNode) {
+        return targetNode.getProperties().get(PROPERTY_MEMO) instanceof ValidationMemo;
+    }
+
+    /**
+     * Drops all the remembered validation results of the node so that the validators will be called next time.
+     *
+     * @param targetNode the node to be validated.
+     */
+    public static void clearMemoizedEvents(Node targetNode) {
+        Object memo = targetNode.getProperties().get(PROPERTY_MEMO);
+        if (memo instanceof ValidationMemo) {
+            ((ValidationMemo) memo).clear();
+        }
+    }
+
+    /**
+     * Enables or disables the instrumentation of the validators. If enabled, each call of a validator installed by
+     * ValidationUtils is timed, and the number of calls, a histogram of the latencies and the number of each
+     * validation event type are recorded for each validator and each validation mode. Use {@link
+     * #getValidationStatistics()} to get them. It is disabled by default, which costs nothing.
+     *
+     * @param enabled true to enable the instrumentation.
+     */
+    public static void setInstrumentationEnabled(boolean enabled) {
+        _instrumentationEnabled = enabled;
+    }
+
+    /**
+     * Checks if the instrumentation of the validators is enabled.
+     *
+     * @return true or false.
+     * @see #setInstrumentationEnabled(boolean)
+     */
+    public static boolean isInstrumentationEnabled() {
+        return _instrumentationEnabled;
+    }
+
+    /**
+     * Gets the snapshots of the statistics of all the validators that were called while the instrumentation was
+     * enabled, one for each validator and each validation mode.
+     *
+     * @return the statistics.
+     */
+    public static List<ValidationStatistics> getValidationStatistics() {
+        List<ValidationStatistics> statistics = new ArrayList<>();
+        synchronized (STATISTICS) {
+            for (ValidationStatistics.Recorder[] recorders : STATISTICS.values()) {
+                for (ValidationStatistics.Recorder recorder : recorders) {
+                    if (recorder != null) {
+                        statistics.add(recorder.snapshot());
+                    }
+                }
+            }
+        }
+        return statistics;
+    }
+
+    /**
+     * Clears the statistics of all the validators.
+     */
+    public static void resetValidationStatistics() {
+        STATISTICS.clear();
+    }
+
+    /**
+     * Sets the latency budget of the validators on the JavaFX application thread. When the instrumentation is enabled
+     * and a validator takes longer than the budget on the JavaFX application thread, the listener is notified. For an
+     * {@link AsyncValidator}, only the time to start the validation is counted because the rest doesn't block the
+     * thread.
+     *
+     * @param budget   the latency budget. Null or Duration.ZERO to remove it.
+     * @param listener the listener. It could be null if only {@link ValidationStatistics#getOverBudgetCount()} is
+     *                 needed.
+     */
+    public static void setLatencyBudget(Duration budget, ValidationStatistics.LatencyBudgetListener listener) {
+        _latencyBudget = budget == null || budget.isIndefinite() ? 0 : (long) (budget.toMillis() * 1_000_000);
+        _latencyBudgetListener = listener;
+    }
+
+    /**
+     * Calls the validator, and records the invocation if the instrumentation is enabled.
+     */
+    private static ValidationEvent callValidator(Node targetNode, Validator validator, ValidationObject validationObject, ValidationMode mode) {
+        if (!_instrumentationEnabled) {
+            return validator.call(validationObject);
+        }
+
+        long startTime = System.nanoTime();
+        ValidationEvent event = validator.call(validationObject);
+        long latency = System.nanoTime() - startTime;
+        boolean fxThread = Platform.isFxApplicationThread();
+        boolean overBudget = fxThread && checkLatencyBudget(targetNode, validator, mode, latency);
+        recordInvocation(validator, mode, latency, event != null ? event.getEventType() : null, fxThread, overBudget);
+        return event;
+    }
+
+    /**
+     * Notifies the latency budget listener if the latency is over the budget.
+     *
+     * @return true if the latency is over the budget.
+     */
+    private static boolean checkLatencyBudget(Node targetNode, Object validator, ValidationMode mode, long latency) {
+        long budget = _latencyBudget;
+        if (budget <= 0 || latency <= budget) {
+            return false;
+        }
+        ValidationStatistics.LatencyBudgetListener listener = _latencyBudgetListener;
+        if (listener != null) {
+            listener.budgetExceeded(targetNode, validator, mode, Duration.millis(latency / 1_000_000.0));
+        }
+        return true;
+    }
+
+    private static void recordInvocation(Object validator, ValidationMode mode, long latency, EventType<?> type, boolean fxThread, boolean overBudget) {
+        ValidationStatistics.Recorder recorder;
+        synchronized (STATISTICS) {
+            ValidationStatistics.Recorder[] recorders = STATISTICS.get(validator);
+            if (recorders == null) {
+                recorders = new ValidationStatistics.Recorder[ValidationMode.values().length];
+                STATISTICS.put(validator, recorders);
+            }
+            recorder = recorders[mode.ordinal()];
+            if (recorder == null) {
+                recorder = new ValidationStatistics.Recorder(validator, mode);
+                recorders[mode.ordinal()] = recorder;
+            }
+        }
+        recorder.record(latency, type, fxThread, overBudget);
+    }
+
+    private static ValidationEvent getMemoizedEvent(Node targetNode, Object validator, Object value) {
+        Object memo = targetNode.getProperties().get(PROPERTY_MEMO);
+        return memo instanceof ValidationMemo ? ((ValidationMemo) memo).get(validator, value) : null;
+    }
+
+    private static void memoizeEvent(Node targetNode, Object validator, Object value, ValidationEvent event) {
+        Object memo = targetNode.getProperties().get(PROPERTY_MEMO);
+        if (memo instanceof ValidationMemo) {
+            ((ValidationMemo) memo).put(validator, value, event);
+        }
+    }
+
+    private static void forgetMemoizedEvent(Node targetNode, Object validator) {
+        Object memo = targetNode.getProperties().get(PROPERTY_MEMO);
+        if (memo instanceof ValidationMemo) {
+            ((ValidationMemo) memo).remove(validator);
+        }
+    }
+
+    /**
+     * Checks if there is an asynchronous validation pending on the node.
+     *
+     * @param targetNode the node to be validated.
+     *
+     * @return true if the node is being validated.
+     */
+    public static boolean isValidating(Node targetNode) {
+        return targetNode != null && targetNode.getProperties().get(PROPERTY_ASYNC_VALIDATION) instanceof AsyncValidation;
+    }
+
+    /**
+     * Gets the registered validation targets that are the node or its descendants. The registry is not ordered, so the
+     * targets are sorted in the depth first order of the scene graph, a parent before its children, which is the order
+     * the nodes are validated and the events are fired.
+     */
+    private static List<Node> getValidationTargets(Node targetRegionOrNode) {
+        Node[] targets;
+        synchronized (VALIDATION_TARGETS) {
+            targets = VALIDATION_TARGETS.toArray(new Node[VALIDATION_TARGETS.size()]);
+        }
+        final Map<Node, int[]> paths = new IdentityHashMap<>();
+        List<Node> nodes = new ArrayList<>();
+        List<Integer> path = new ArrayList<>();
+        for (Node target : targets) {
+            path.clear();
+            for (Node node = target; node != null; node = node.getParent()) {
+                if (node == targetRegionOrNode) {
+                    int[] indices = new int[path.size()];
+                    for (int i = 0; i < indices.length; i++) {
+                        indices[i] = path.get(indices.length - 1 - i); // from the top to the target
+                    }
+                    paths.put(target, indices);
+                    nodes.add(target);
+                    break;
+                }
+                Parent parent = node.getParent();
+                if (parent != null) {
+                    path.add(parent.getChildrenUnmodifiable().indexOf(node));
+                }
+            }
+        }
+        Collections.sort(nodes, new Comparator<Node>() {
+            @Override
+            public int compare(Node o1, Node o2) {
+                int[] path1 = paths.get(o1);
+                int[] path2 = paths.get(o2);
+                for (int i = 0, length = Math.min(path1.length, path2.length); i < length; i++) {
+                    if (path1[i] != path2[i]) {
+                        return Integer.compare(path1[i], path2[i]);
+                    }
+                }
+                return Integer.compare(path1.length, path2.length); // a parent is before its children
+            }
+        });
+        return nodes;
+    }
+
+    private static void unregisterIfUnused(Node targetNode) {
+        ObservableMap<Object, Object> properties = targetNode.getProperties();
+        if (!isValidator(properties.get(PROPERTY_ON_FLY_VALIDATOR)) && !isValidator(properties.get(PROPERTY_ON_FOCUS_LOST_VALIDATOR))
+                && !isValidator(properties.get(PROPERTY_ON_DEMAND_VALIDATOR)) && !(properties.get(PROPERTY_ON_FLY_DEBOUNCE) instanceof OnFlyDebounce)) {
+            VALIDATION_TARGETS.remove(targetNode);
+        }
+    }
+
+    private static boolean isValidator(Object validator) {
+        return validator instanceof Validator || validator instanceof AsyncValidator;
+    }
+
+    /**
+     * Calls the validator, which is either a Validator or an AsyncValidator, and fires the validation event.
+     *
+     * @return the validation event if it is a Validator. Null if it is an AsyncValidator, whose event is fired later.
+     */
+    private static ValidationEvent validate(Node targetNode, Object validator, ValidationObject validationObject, ValidationMode mode) {
+        if (validator instanceof AsyncValidator) {
+            validateAsync(targetNode, (AsyncValidator) validator, validationObject, mode);
+            return null;
+        }
+        ValidationEvent event = getMemoizedEvent(targetNode, validator, validationObject.getNewValue());
+        if (event == null) {
+            event = callValidator(targetNode, (Validator) validator, validationObject, mode);
+            memoizeEvent(targetNode, validator, validationObject.getNewValue(), event);
+        }
+        fireValidationEvent(targetNode, event);
+        return event;
+    }
+
+    private static void fireValidationEvent(Node targetNode, ValidationEvent event) {
+        cancelAsyncValidation(targetNode, null); // latest wins
+        targetNode.fireEvent(event);
+    }
+
+    private static CompletableFuture<ValidationEvent> validateAsync(final Node targetNode, AsyncValidator validator, ValidationObject validationObject, ValidationMode mode) {
+        ValidationEvent memoizedEvent = getMemoizedEvent(targetNode, validator, validationObject.getNewValue());
+        if (memoizedEvent != null) {
+            fireValidationEvent(targetNode, memoizedEvent);
+            return CompletableFuture.completedFuture(memoizedEvent);
+        }
+
+        cancelAsyncValidation(targetNode, null); // latest wins
+
+        long startTime = _instrumentationEnabled ? System.nanoTime() : 0;
+        CompletionStage<ValidationEvent> stage = validator.call(validationObject);
+        final AsyncValidation pending = new AsyncValidation(stage, mode, validator, validationObject.getNewValue());
+        if (startTime != 0) {
+            pending._startTime = startTime;
+            pending._overBudget = checkLatencyBudget(targetNode, validator, mode, System.nanoTime() - startTime);
+        }
+        targetNode.getProperties().put(PROPERTY_ASYNC_VALIDATION, pending);
+        targetNode.pseudoClassStateChanged(PSEUDO_CLASS_VALIDATING, true);
+        stage.whenComplete(new BiConsumer<ValidationEvent, Throwable>() {
+            @Override
+            public void accept(final ValidationEvent event, final Throwable throwable) {
+                if (Platform.isFxApplicationThread()) {
+                    applyAsyncValidation(targetNode, pending, event, throwable);
+                }
+                else {
+                    Platform.runLater(new Runnable() {
+                        @Override
+                        public void run() {
+                            applyAsyncValidation(targetNode, pending, event, throwable);
+                        }
+                    });
+                }
+            }
+        });
+        return pending._result;
+    }
+
+    private static void applyAsyncValidation(Node targetNode, AsyncValidation pending, ValidationEvent event, Throwable throwable) {
+        if (targetNode.getProperties().get(PROPERTY_ASYNC_VALIDATION) != pending) {
+            return; // cancelled, or a newer validation has started
+        }
+        targetNode.getProperties().remove(PROPERTY_ASYNC_VALIDATION);
+        targetNode.pseudoClassStateChanged(PSEUDO_CLASS_VALIDATING, false);
+
+        if (pending._startTime != 0) {
+            recordInvocation(pending._validator, pending._mode, System.nanoTime() - pending._startTime, event != null && throwable == null ? event.getEventType() : null, true, pending._overBudget);
+        }
+
+        if (throwable != null || event == null) { // we don't know the result
+            targetNode.fireEvent(ValidationEvent.UNKNOWN);
+            pending._result.completeExceptionally(throwable != null ? throwable : new NullPointerException("The validation event is null")); //NON-NLS
+        }
+        else {
+            memoizeEvent(targetNode, pending._validator, pending._value, event);
+            targetNode.fireEvent(event);
+            pending._result.complete(event);
+        }
+    }
+
+    /**
+     * Cancels the pending asynchronous validation of the node.
+     *
+     * @param targetNode the node
+     * @param mode       the validation mode that started the validation. Null to cancel it no matter which mode.
+     */
+    private static void cancelAsyncValidation(Node targetNode, ValidationMode mode) {
+        Object o = targetNode.getProperties().get(PROPERTY_ASYNC_VALIDATION);
+        if (o instanceof AsyncValidation && (mode == null || ((AsyncValidation) o)._mode == mode)) {
+            AsyncValidation pending = (AsyncValidation) o;
+            targetNode.getProperties().remove(PROPERTY_ASYNC_VALIDATION);
+            targetNode.pseudoClassStateChanged(PSEUDO_CLASS_VALIDATING, false);
+            if (pending._stage instanceof Future) {
+                ((Future) pending._stage).cancel(true);
+            }
+            pending._result.cancel(false);
+        }
+    }
+
+    /**
+     * Delays the ON_FLY validation of a node until its value stops changing.
+     */
+    private static class OnFlyDebounce {
+        private final Node _targetNode;
+        private final Duration _quietPeriod;
+        private final Duration _maxWait;
+        private final PauseTransition _timer = new PauseTransition();
+        private final ChangeListener<Boolean> _focusListener;
+        private boolean _pending;
+        private Object _oldValue;
+        private long _firstChangeTime;
+
+        OnFlyDebounce(Node targetNode, Duration quietPeriod, Duration maxWait) {
+            _targetNode = targetNode;
+            _quietPeriod = quietPeriod;
+            _maxWait = maxWait == null || maxWait.isIndefinite() ? null : maxWait;
+            _timer.setOnFinished(new EventHandler<ActionEvent>() {
+                @Override
+                public void handle(ActionEvent event) {
+                    flush();
+                }
+            });
+            _focusListener = new ChangeListener<Boolean>() {
+                @Override
+                public void changed(ObservableValue<? extends Boolean> observable, Boolean oldValue, Boolean newValue) {
+                    if (!newValue) { // focus lost
+                        flush();
+                    }
+                }
+            };
+            _targetNode.focusedProperty().addListener(_focusListener);
+        }
+
+        void valueChanged(Object oldValue) {
+            long now = System.nanoTime();
+            if (!_pending) { // the old value of the first change is the old value of the validation
+                _pending = true;
+                _oldValue = oldValue;
+                _firstChangeTime = now;
+            }
+
+            Duration delay = _quietPeriod;
+            if (_maxWait != null) {
+                Duration left = _maxWait.subtract(Duration.millis((now - _firstChangeTime) / 1000000.0));
+                if (left.lessThan(delay)) {
+                    delay = left;
+                }
+            }
+            if (!delay.greaterThan(Duration.ZERO)) {
+                flush();
+                return;
+            }
+            _timer.stop();
+            _timer.setDuration(delay);
+            _timer.play();
+        }
+
+        void flush() {
+            if (!_pending) {
+                return;
+            }
+            Object oldValue = _oldValue;
+            cancel();
+
+            Object validator = _targetNode.getProperties().get(PROPERTY_ON_FLY_VALIDATOR);
+            Object observableValue = _targetNode.getProperties().get(PROPERTY_ON_FLY_OBSERVABLE_VALUE);
+            if (isValidator(validator) && observableValue instanceof ObservableValue) {
+                ValidationObject validationObject = new ValidationObject(_targetNode, oldValue, ((ObservableValue) observableValue).getValue());
+                validate(_targetNode, validator, validationObject, ValidationMode.ON_FLY);
+            }
+        }
+
+        void cancel() {
+            _timer.stop();
+            _pending = false;
+            _oldValue = null;
+        }
+
+        void dispose() {
+            flush();
+            _targetNode.focusedProperty().removeListener(_focusListener);
+        }
+    }
+
+    /**
+     * The remembered validation results of a node, one for each validator.
+     */
+    private static class ValidationMemo {
+        private final Map<Object, MemoEntry> _entries = new IdentityHashMap<>();
+
+        ValidationEvent get(Object validator, Object value) {
+            MemoEntry entry = _entries.get(validator);
+            return entry != null && CommonUtils.equals(entry._value, value) ? entry._event : null;
+        }
+
+        void put(Object validator, Object value, ValidationEvent event) {
+            MemoEntry entry = _entries.get(validator);
+            if (entry == null) {
+                entry = new MemoEntry(validator);
+                _entries.put(validator, entry);
+            }
+            entry._value = value;
+            entry._event = event;
+        }
+
+        void remove(Object validator) {
+            MemoEntry entry = _entries.remove(validator);
+            if (entry != null) {
+                entry.dispose();
+            }
+        }
+
+        void clear() {
+            for (MemoEntry entry : _entries.values()) {
+                entry.dispose();
+            }
+            _entries.clear();
+        }
+
+        private class MemoEntry {
+            private final Object _validator;
+            private final Observable[] _dependencies;
+            private final InvalidationListener _listener;
+            private final InvalidationListener _weakListener;
+            private Object _value;
+            private ValidationEvent _event;
+
+            MemoEntry(Object validator) {
+                _validator = validator;
+                _dependencies = validator instanceof DependentValidator ? ((DependentValidator) validator).getDependencies() : null;
+                _listener = new InvalidationListener() {
+                    @Override
+                    public void invalidated(Observable observable) {
+                        if (_entries.get(_validator) == MemoEntry.this) {
+                            remove(_validator);
+                        }
+                    }
+                };
+                _weakListener = new WeakInvalidationListener(_listener); // the dependencies may live longer than the node
+                if (_dependencies != null) {
+                    for (Observable dependency : _dependencies) {
+                        dependency.addListener(_weakListener);
+                        if (dependency instanceof ObservableValue) {
+                            ((ObservableValue) dependency).getValue(); // validate it so that the next change is notified
+                        }
+                    }
+                }
+            }
+
+            void dispose() {
+                if (_dependencies != null) {
+                    for (Observable dependency : _dependencies) {
+                        dependency.removeListener(_weakListener);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Calls the pure validators in a range of the arrays.
+     */
+    private static class PureValidationTask extends RecursiveAction {
+        private static final long serialVersionUID = 7318469023528614203L;
+        private static final int CHUNK_SIZE = 8;
+        private final Validator[] _validators;
+        private final ValidationObject[] _objects;
+        private final ValidationEvent[] _events;
+        private final int _from;
+        private final int _to;
+
+        PureValidationTask(Validator[] validators, ValidationObject[] objects, ValidationEvent[] events, int from, int to) {
+            _validators = validators;
+            _objects = objects;
+            _events = events;
+            _from = from;
+            _to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (_to - _from <= CHUNK_SIZE) {
+                for (int i = _from; i < _to; i++) {
+                    if (_validators[i] instanceof PureValidator && _events[i] == null) {
+                        Object source = _objects[i].getSource();
+                        _events[i] = callValidator(source instanceof Node ? (Node) source : null, _validators[i], _objects[i], ValidationMode.ON_DEMAND);
+                    }
+                }
+                return;
+            }
+
+            int middle = (_from + _to) >>> 1;
+            invokeAll(new PureValidationTask(_validators, _objects, _events, _from, middle), new PureValidationTask(_validators, _objects, _events, middle, _to));
+        }
+    }
+
+    private static class AsyncValidation {
+        private final CompletionStage<ValidationEvent> _stage;
+        private final ValidationMode _mode;
+        private final Object _validator;
+        private final Object _value;
+        private final CompletableFuture<ValidationEvent> _result = new CompletableFuture<>();
+        private long _startTime; // 0 if not instrumented
+        private boolean _overBudget;
+
+        AsyncValidation(CompletionStage<ValidationEvent> stage, ValidationMode mode, Object validator, Object value) {
+            _stage = stage;
+            _mode = mode;
+            _validator = validator;
+            _value = value;
+        }
+    }
+
     /**
      * Creates a validation event handler. This handler will install an icon decorator to the node to be validated, and
      * also set the pseudo-class as "validation-ok", "validation-info", "validation-warning", "warning-error" so that
@@ -472,6 +1341,10 @@ public class ValidationUtils {
     public static EventHandler<ValidationEvent> createDefaultValidationEventHandler(Node targetNode) {
         return new EventHandler<ValidationEvent>() {
             Decorator resultDecorator = null;
+            Label label = null;
+            ImageView graphic = null;
+            TooltipEx tooltip = null;
+            boolean tooltipInstalled = false;
 
             @Override
             public void handle(ValidationEvent event) {
@@ -481,6 +1354,9 @@ public class ValidationUtils {
                     if (event.getEventType().equals(ValidationEvent.VALIDATION_UNKNOWN)) {
                         DecorationUtils.uninstall(targetNode);
                         resultDecorator = null;
+                        // so the same result as before the unknown one is shown again
+                        targetNode.getProperties().remove(PROPERTY_VALIDATION_RESULT);
+                        targetNode.getProperties().remove(PROPERTY_VALIDATION_RESULT_MESSAGE);
                         targetNode.getParent().requestLayout();
                         return;
                     }
@@ -497,25 +1373,11 @@ public class ValidationUtils {
                         return;
                     }
 
-                    TooltipEx tooltip = null;
-                    if (event.getMessage() != null && event.getMessage().trim().length() > 0) {
-                        tooltip = new TooltipEx(event.getMessage());
-                        tooltip.setAutoHide(true);
-                        tooltip.setPos(Pos.BOTTOM_LEFT);
-                    }
-
-                    Label label;
-                    ImageView graphic = new ImageView(ValidationIcons.getInstance().getValidationResultIcon(event.getEventType()));
-                    if (resultDecorator != null && exists(targetNode, resultDecorator)) {
-                        label = (Label) resultDecorator.getNode();
-                        label.setGraphic(graphic);
-                        DecorationUtils.setAnimationPlayed(label, false);
-                        TooltipEx.install(label, tooltip);
-                    }
-                    else {
+                    // the label, the image view and the tooltip are created once and reused for the later events
+                    Image image = ValidationIcons.getInstance().getValidationResultImage(event.getEventType());
+                    if (label == null) {
+                        graphic = new ImageView(image);
                         label = new Label("", graphic);
-                        TooltipEx.install(label, tooltip);
-                        resultDecorator = createDefaultDecorator(targetNode, label);
                         label.addEventHandler(MouseEvent.MOUSE_CLICKED, new EventHandler<MouseEvent>() {
                             @Override
                             public void handle(MouseEvent event) {
@@ -527,6 +1389,17 @@ public class ValidationUtils {
                                 event.consume();
                             }
                         });
+                    }
+                    else {
+                        graphic.setImage(image);
+                    }
+                    updateTooltip(event.getMessage());
+
+                    if (resultDecorator != null && exists(targetNode, resultDecorator)) {
+                        DecorationUtils.setAnimationPlayed(label, false);
+                    }
+                    else {
+                        resultDecorator = createDefaultDecorator(targetNode, label);
                         DecorationUtils.install(targetNode, resultDecorator);
                         targetNode.getParent().requestLayout();
                     }
@@ -536,6 +1409,27 @@ public class ValidationUtils {
                 }
             }
 
+            private void updateTooltip(String message) {
+                if (message != null && message.trim().length() > 0) {
+                    if (tooltip == null) {
+                        tooltip = new TooltipEx(message);
+                        tooltip.setAutoHide(true);
+                        tooltip.setPos(Pos.BOTTOM_LEFT);
+                    }
+                    else {
+                        tooltip.setText(message);
+                    }
+                    if (!tooltipInstalled) {
+                        TooltipEx.install(label, tooltip);
+                        tooltipInstalled = true;
+                    }
+                }
+                else if (tooltipInstalled) {
+                    TooltipEx.uninstall(label, tooltip);
+                    tooltipInstalled = false;
+                }
+            }
+
             private boolean exists(Node targetNode, Decorator resultDecorator) {
                 Object o = DecorationUtils.getDecorators(targetNode);
                 if (o != null) {
@@ -549,34 +1443,34 @@ public class ValidationUtils {
             private void adjustPseudoClasses(ValidationEvent event) {
 
                 if (event.getEventType() == ValidationEvent.VALIDATION_OK) {
-                    targetNode.pseudoClassStateChanged(PseudoClass.getPseudoClass(PSEUDO_CLASS_VALIDATION_OK), true);
-                    targetNode.pseudoClassStateChanged(PseudoClass.getPseudoClass(PSEUDO_CLASS_VALIDATION_INFO), false);
-                    targetNode.pseudoClassStateChanged(PseudoClass.getPseudoClass(PSEUDO_CLASS_VALIDATION_WARNING), false);
-                    targetNode.pseudoClassStateChanged(PseudoClass.getPseudoClass(PSEUDO_CLASS_VALIDATION_ERROR), false);
+                    targetNode.pseudoClassStateChanged(PSEUDO_CLASS_VALIDATION_OK, true);
+                    targetNode.pseudoClassStateChanged(PSEUDO_CLASS_VALIDATION_INFO, false);
+                    targetNode.pseudoClassStateChanged(PSEUDO_CLASS_VALIDATION_WARNING, false);
+                    targetNode.pseudoClassStateChanged(PSEUDO_CLASS_VALIDATION_ERROR, false);
                 }
                 else if (event.getEventType() == ValidationEvent.VALIDATION_ERROR) {
-                    targetNode.pseudoClassStateChanged(PseudoClass.getPseudoClass(PSEUDO_CLASS_VALIDATION_OK), false);
-                    targetNode.pseudoClassStateChanged(PseudoClass.getPseudoClass(PSEUDO_CLASS_VALIDATION_INFO), false);
-                    targetNode.pseudoClassStateChanged(PseudoClass.getPseudoClass(PSEUDO_CLASS_VALIDATION_WARNING), false);
-                    targetNode.pseudoClassStateChanged(PseudoClass.getPseudoClass(PSEUDO_CLASS_VALIDATION_ERROR), true);
+                    targetNode.pseudoClassStateChanged(PSEUDO_CLASS_VALIDATION_OK, false);
+                    targetNode.pseudoClassStateChanged(PSEUDO_CLASS_VALIDATION_INFO, false);
+                    targetNode.pseudoClassStateChanged(PSEUDO_CLASS_VALIDATION_WARNING, false);
+                    targetNode.pseudoClassStateChanged(PSEUDO_CLASS_VALIDATION_ERROR, true);
                 }
                 else if (event.getEventType() == ValidationEvent.VALIDATION_WARNING) {
-                    targetNode.pseudoClassStateChanged(PseudoClass.getPseudoClass(PSEUDO_CLASS_VALIDATION_OK), false);
-                    targetNode.pseudoClassStateChanged(PseudoClass.getPseudoClass(PSEUDO_CLASS_VALIDATION_INFO), false);
-                    targetNode.pseudoClassStateChanged(PseudoClass.getPseudoClass(PSEUDO_CLASS_VALIDATION_WARNING), true);
-                    targetNode.pseudoClassStateChanged(PseudoClass.getPseudoClass(PSEUDO_CLASS_VALIDATION_ERROR), false);
+                    targetNode.pseudoClassStateChanged(PSEUDO_CLASS_VALIDATION_OK, false);
+                    targetNode.pseudoClassStateChanged(PSEUDO_CLASS_VALIDATION_INFO, false);
+                    targetNode.pseudoClassStateChanged(PSEUDO_CLASS_VALIDATION_WARNING, true);
+                    targetNode.pseudoClassStateChanged(PSEUDO_CLASS_VALIDATION_ERROR, false);
                 }
                 else if (event.getEventType() == ValidationEvent.VALIDATION_INFO) {
-                    targetNode.pseudoClassStateChanged(PseudoClass.getPseudoClass(PSEUDO_CLASS_VALIDATION_OK), false);
-                    targetNode.pseudoClassStateChanged(PseudoClass.getPseudoClass(PSEUDO_CLASS_VALIDATION_INFO), true);
-                    targetNode.pseudoClassStateChanged(PseudoClass.getPseudoClass(PSEUDO_CLASS_VALIDATION_WARNING), false);
-                    targetNode.pseudoClassStateChanged(PseudoClass.getPseudoClass(PSEUDO_CLASS_VALIDATION_ERROR), false);
+                    targetNode.pseudoClassStateChanged(PSEUDO_CLASS_VALIDATION_OK, false);
+                    targetNode.pseudoClassStateChanged(PSEUDO_CLASS_VALIDATION_INFO, true);
+                    targetNode.pseudoClassStateChanged(PSEUDO_CLASS_VALIDATION_WARNING, false);
+                    targetNode.pseudoClassStateChanged(PSEUDO_CLASS_VALIDATION_ERROR, false);
                 }
                 else { // UNKNOWN
-                    targetNode.pseudoClassStateChanged(PseudoClass.getPseudoClass(PSEUDO_CLASS_VALIDATION_OK), false);
-                    targetNode.pseudoClassStateChanged(PseudoClass.getPseudoClass(PSEUDO_CLASS_VALIDATION_INFO), false);
-                    targetNode.pseudoClassStateChanged(PseudoClass.getPseudoClass(PSEUDO_CLASS_VALIDATION_WARNING), false);
-                    targetNode.pseudoClassStateChanged(PseudoClass.getPseudoClass(PSEUDO_CLASS_VALIDATION_ERROR), false);
+                    targetNode.pseudoClassStateChanged(PSEUDO_CLASS_VALIDATION_OK, false);
+                    targetNode.pseudoClassStateChanged(PSEUDO_CLASS_VALIDATION_INFO, false);
+                    targetNode.pseudoClassStateChanged(PSEUDO_CLASS_VALIDATION_WARNING, false);
+                    targetNode.pseudoClassStateChanged(PSEUDO_CLASS_VALIDATION_ERROR, false);
                 }
 
             }